@@ -17,6 +17,15 @@ public final class ClientConfig implements IClientConfig {
 
 	private final Supplier<Boolean> centerSearchBarEnabled;
 	private final Supplier<Boolean> lowMemorySlowSearchEnabled;
+	private final Supplier<Boolean> asyncSearchIndexingEnabled;
+	private final Supplier<Boolean> parallelSearchIndexingEnabled;
+	private final Supplier<Boolean> searchIndexCacheEnabled;
+	private final Supplier<Boolean> parallelRecipeRegistrationEnabled;
+	private final Supplier<Boolean> lazyRecipeIndexingEnabled;
+	private final Supplier<Boolean> asyncRecipeLookupEnabled;
+	private final Supplier<Boolean> concurrentPluginRecipeRegistrationEnabled;
+	private final Supplier<Integer> recipePluginCallBudgetMillis;
+	private final Supplier<Integer> recipePluginCallTimeoutMillis;
 	private final Supplier<Boolean> catchRenderErrorsEnabled;
 	private final Supplier<Boolean> cheatToHotbarUsingHotkeysEnabled;
 	private final Supplier<Boolean> addBookmarksToFrontEnabled;
@@ -42,6 +51,55 @@ public final class ClientConfig implements IClientConfig {
 			false,
 			"Set low-memory mode (makes search very slow, but uses less RAM)"
 		);
+		asyncSearchIndexingEnabled = advanced.addBoolean(
+			"AsyncSearchIndexingEnabled",
+			false,
+			"Build the search indexes for mod names, tags and resource locations in the background, so the ingredient list is ready sooner (searches are slower until the indexes are built, only enable this if every mod's ingredient helpers can safely be called from other threads)"
+		);
+		parallelSearchIndexingEnabled = advanced.addBoolean(
+			"ParallelSearchIndexingEnabled",
+			false,
+			"Build the search indexes for names, mod names, tags and resource locations on several threads at once, so the ingredient list is ready sooner (only enable this if every mod's ingredient helpers can safely be called from other threads)"
+		);
+		searchIndexCacheEnabled = advanced.addBoolean(
+			"SearchIndexCacheEnabled",
+			false,
+			"Save the search indexes to a file in the config folder and load them on the next launch instead of rebuilding them, as long as the mods, language and ingredients have not changed."
+		);
+		parallelRecipeRegistrationEnabled = advanced.addBoolean(
+			"ParallelRecipeRegistrationEnabled",
+			false,
+			"Prepare registered recipes on several threads, so large modpacks load faster (only enable this if every mod's recipe categories can safely set up recipes from other threads)"
+		);
+		concurrentPluginRecipeRegistrationEnabled = advanced.addBoolean(
+			"ConcurrentPluginRecipeRegistrationEnabled",
+			false,
+			"Let mod plugins that declare themselves thread-safe register their recipes at the same time on worker threads"
+		);
+		lazyRecipeIndexingEnabled = advanced.addBoolean(
+			"LazyRecipeIndexingEnabled",
+			false,
+			"Index the recipes of each recipe category the first time they are looked up instead of while JEI starts, and prepare the rest on a background thread after the world loads (only enable this if every mod's recipe categories can safely set up recipes from other threads)"
+		);
+		asyncRecipeLookupEnabled = advanced.addBoolean(
+			"AsyncRecipeLookupEnabled",
+			false,
+			"Look up recipes for the recipes gui on a background thread, and show a placeholder while a slow lookup runs (only enable this if every mod's recipe categories and recipe manager plugins can safely be called from other threads)"
+		);
+		recipePluginCallBudgetMillis = advanced.addInteger(
+			"RecipePluginCallBudgetMs",
+			10,
+			1,
+			60_000,
+			"Time budget in milliseconds for one call to a mod's advanced recipe manager plugin. Calls that go over it are logged. When AsyncRecipeLookupEnabled is on, plugins that go over it several times in a row are only called from background threads until they are fast again."
+		);
+		recipePluginCallTimeoutMillis = advanced.addInteger(
+			"RecipePluginCallTimeoutMs",
+			0,
+			0,
+			60_000,
+			"Time in milliseconds to wait for one call to a mod's advanced recipe manager plugin before giving up on its results, 0 to always wait (only set this if every mod's recipe manager plugins can safely be called from other threads)"
+		);
 		catchRenderErrorsEnabled = advanced.addBoolean(
 			"CatchRenderErrorsEnabled",
 			!isDev,
@@ -108,6 +166,41 @@ public final class ClientConfig implements IClientConfig {
 		return lowMemorySlowSearchEnabled.get();
 	}
 
+	@Override
+	public boolean isAsyncSearchIndexingEnabled() {
+		return asyncSearchIndexingEnabled.get();
+	}
+
+	@Override
+	public boolean isParallelSearchIndexingEnabled() {
+		return parallelSearchIndexingEnabled.get();
+	}
+
+	@Override
+	public boolean isSearchIndexCacheEnabled() {
+		return searchIndexCacheEnabled.get();
+	}
+
+	@Override
+	public boolean isParallelRecipeRegistrationEnabled() {
+		return parallelRecipeRegistrationEnabled.get();
+	}
+
+	@Override
+	public boolean isConcurrentPluginRecipeRegistrationEnabled() {
+		return concurrentPluginRecipeRegistrationEnabled.get();
+	}
+
+	@Override
+	public boolean isLazyRecipeIndexingEnabled() {
+		return lazyRecipeIndexingEnabled.get();
+	}
+
+	@Override
+	public boolean isAsyncRecipeLookupEnabled() {
+		return asyncRecipeLookupEnabled.get();
+	}
+
 	@Override
 	public boolean isCatchRenderErrorsEnabled() {
 		return catchRenderErrorsEnabled.get();
@@ -138,6 +231,16 @@ public final class ClientConfig implements IClientConfig {
 		return giveMode.get();
 	}
 
+	@Override
+	public int getRecipePluginCallBudgetMillis() {
+		return recipePluginCallBudgetMillis.get();
+	}
+
+	@Override
+	public int getRecipePluginCallTimeoutMillis() {
+		return recipePluginCallTimeoutMillis.get();
+	}
+
 	@Override
 	public int getMaxRecipeGuiHeight() {
 		return maxRecipeGuiHeight.get();
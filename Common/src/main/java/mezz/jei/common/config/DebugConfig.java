@@ -18,6 +18,7 @@ public final class DebugConfig {
 	private final Supplier<Boolean> debugGuisEnabled;
 	private final Supplier<Boolean> debugInputsEnabled;
 	private final Supplier<Boolean> crashingTestIngredientsEnabled;
+	private final Supplier<Boolean> startupProfilerEnabled;
 
 	private DebugConfig(IConfigSchemaBuilder schema) {
 		IConfigCategoryBuilder advanced = schema.addCategory("debug");
@@ -41,6 +42,11 @@ public final class DebugConfig {
 			false,
 			"Adds ingredients to JEI that intentionally crash, to help debug JEI."
 		);
+		startupProfilerEnabled = advanced.addBoolean(
+			"StartupProfiler",
+			false,
+			"Writes a report of how long each mod plugin took to start JEI to jei-startup-profile.json and .csv in the JEI config folder."
+		);
 	}
 
 	public static boolean isDebugModeEnabled() {
@@ -70,4 +76,11 @@ public final class DebugConfig {
 		}
 		return instance.crashingTestIngredientsEnabled.get();
 	}
+
+	public static boolean isStartupProfilerEnabled() {
+		if (instance == null) {
+			return false;
+		}
+		return instance.startupProfilerEnabled.get();
+	}
 }
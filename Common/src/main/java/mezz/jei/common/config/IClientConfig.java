@@ -11,6 +11,20 @@ public interface IClientConfig {
 
 	boolean isLowMemorySlowSearchEnabled();
 
+	boolean isAsyncSearchIndexingEnabled();
+
+	boolean isParallelSearchIndexingEnabled();
+
+	boolean isSearchIndexCacheEnabled();
+
+	boolean isParallelRecipeRegistrationEnabled();
+
+	boolean isConcurrentPluginRecipeRegistrationEnabled();
+
+	boolean isLazyRecipeIndexingEnabled();
+
+	boolean isAsyncRecipeLookupEnabled();
+
 	boolean isCatchRenderErrorsEnabled();
 
 	boolean isCheatToHotbarUsingHotkeysEnabled();
@@ -23,6 +37,10 @@ public interface IClientConfig {
 
 	GiveMode getGiveMode();
 
+	int getRecipePluginCallBudgetMillis();
+
+	int getRecipePluginCallTimeoutMillis();
+
 	int getMaxRecipeGuiHeight();
 
 	List<IngredientSortStage> getIngredientSorterStages();
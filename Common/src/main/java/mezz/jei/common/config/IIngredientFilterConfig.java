@@ -20,4 +20,6 @@ public interface IIngredientFilterConfig {
 	boolean getSearchModAliases();
 
 	boolean getSearchShortModNames();
+
+	boolean getLazyTooltipIndexing();
 }
@@ -16,6 +16,7 @@ public class IngredientFilterConfig implements IIngredientFilterConfig {
 	public final Supplier<Boolean> searchModIds;
 	public final Supplier<Boolean> searchModAliases;
 	public final Supplier<Boolean> searchShortModNames;
+	public final Supplier<Boolean> lazyTooltipIndexing;
 
 	public IngredientFilterConfig(IConfigSchemaBuilder builder) {
 		IConfigCategoryBuilder search = builder.addCategory("search");
@@ -64,6 +65,11 @@ public class IngredientFilterConfig implements IIngredientFilterConfig {
 			true,
 			"Search by the shorthand first letters of a mod's name"
 		);
+		lazyTooltipIndexing = search.addBoolean(
+			"LazyTooltipIndexing",
+			false,
+			"Don't index tooltips when loading, index them in the background the first time they are searched (tooltip results appear as indexing progresses, only enable this if every mod's ingredient tooltips can safely be read from other threads)"
+		);
 	}
 
 	@Override
@@ -110,4 +116,9 @@ public class IngredientFilterConfig implements IIngredientFilterConfig {
 	public boolean getSearchShortModNames() {
 		return searchShortModNames.get();
 	}
+
+	@Override
+	public boolean getLazyTooltipIndexing() {
+		return lazyTooltipIndexing.get();
+	}
 }
@@ -1,7 +1,14 @@
 package mezz.jei.common.platform;
 
+import java.util.List;
+
 public interface IPlatformModHelper {
 	String getModNameForModId(String modId);
 
+	/**
+	 * @return the id and version of every loaded mod, formatted as "modid@version"
+	 */
+	List<String> getModVersions();
+
 	boolean isInDev();
 }
@@ -38,8 +38,18 @@ public class DeduplicatingRunner {
 		timer.schedule(task, delay.toMillis());
 	}
 
+	/**
+	 * Runs now on the calling thread if a run is waiting for its delay, instead of waiting for it.
+	 */
+	public synchronized void flush() {
+		if (task != null) {
+			doRun(task);
+		}
+	}
+
 	private synchronized void doRun(TimerTask fromTask) {
 		if (task == fromTask) {
+			fromTask.cancel();
 			runnable.run();
 			task = null;
 			if (timer != null) {
@@ -1,19 +1,44 @@
 package mezz.jei.common.util;
 
+import mezz.jei.api.constants.VanillaTypes;
 import mezz.jei.api.helpers.IStackHelper;
 import mezz.jei.api.ingredients.subtypes.ISubtypeManager;
 import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.core.collect.IdentityUidCache;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class StackHelper implements IStackHelper {
+	private static final int MAX_CACHED_UIDS = 100_000;
+
 	private final ISubtypeManager subtypeManager;
+	/**
+	 * Items don't change their registry key while the registries are loaded, so their registry names can be kept.
+	 * A new stack helper is created each time JEI starts, so they are looked up again after the registries reload.
+	 */
+	private final Map<Item, String> registryNames = new ConcurrentHashMap<>();
+	/**
+	 * Uids of stacks that have a subtype interpreter.
+	 * Most stacks that JEI works with, like ingredients and recipe inputs, are not changed after they are created.
+	 *
+	 * A stack's item never changes, so its uid only depends on its component patch.
+	 * {@link ItemStack#getComponentsPatch()} shares the stack's patch map and makes the stack copy it before its next change,
+	 * so the patch of an unchanged stack is equal to the cached one by identity, without copying or comparing the components.
+	 */
+	private final Map<UidContext, IdentityUidCache<ItemStack>> uidCaches = new EnumMap<>(UidContext.class);
 
 	public StackHelper(ISubtypeManager subtypeManager) {
 		this.subtypeManager = subtypeManager;
+		for (UidContext context : UidContext.values()) {
+			this.uidCaches.put(context, new IdentityUidCache<>(MAX_CACHED_UIDS, ItemStack::getComponentsPatch));
+		}
 	}
 
 	@Override
@@ -38,18 +63,31 @@ public class StackHelper implements IStackHelper {
 
 	@Override
 	public String getUniqueIdentifierForStack(ItemStack stack, UidContext context) {
-		String result = getRegistryNameForStack(stack);
-		String subtypeInfo = subtypeManager.getSubtypeInfo(stack, context);
-		if (!subtypeInfo.isEmpty()) {
-			result = result + ':' + subtypeInfo;
+		String registryName = getCachedRegistryName(stack);
+		if (!subtypeManager.hasSubtypeInterpreter(VanillaTypes.ITEM_STACK, stack)) {
+			return registryName;
 		}
-		return result;
+		return uidCaches.get(context).getUid(stack, s -> {
+			String subtypeInfo = subtypeManager.getSubtypeInfo(s, context);
+			if (subtypeInfo.isEmpty()) {
+				return registryName;
+			}
+			return registryName + ':' + subtypeInfo;
+		});
 	}
 
 	public static String getRegistryNameForStack(ItemStack stack) {
 		ErrorUtil.checkNotEmpty(stack, "stack");
 
-		Item item = stack.getItem();
+		return getRegistryName(stack.getItem(), stack);
+	}
+
+	private String getCachedRegistryName(ItemStack stack) {
+		ErrorUtil.checkNotEmpty(stack, "stack");
+		return registryNames.computeIfAbsent(stack.getItem(), item -> getRegistryName(item, stack));
+	}
+
+	private static String getRegistryName(Item item, ItemStack stack) {
 		ResourceLocation key = RegistryUtil
 			.getRegistry(Registries.ITEM)
 			.getKey(item);
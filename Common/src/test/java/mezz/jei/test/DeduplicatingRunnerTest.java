@@ -42,4 +42,23 @@ public class DeduplicatingRunnerTest {
 			Assertions.assertEquals(i + 1, runs.get());
 		}
 	}
+
+	/**
+	 * Flushing the de-duplicating runner should run it immediately, and only once.
+	 */
+	@Test
+	public void testFlush() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		Runnable testRunnable = runs::getAndIncrement;
+		Duration delay = Duration.ofMillis(10);
+		DeduplicatingRunner deduplicatingRunner = new DeduplicatingRunner(testRunnable, delay, "test");
+		deduplicatingRunner.run();
+		deduplicatingRunner.flush();
+		Assertions.assertEquals(1, runs.get());
+		Thread.sleep(2 * delay.toMillis());
+		Assertions.assertEquals(1, runs.get());
+
+		deduplicatingRunner.flush();
+		Assertions.assertEquals(1, runs.get());
+	}
 }
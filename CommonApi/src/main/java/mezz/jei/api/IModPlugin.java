@@ -85,6 +85,19 @@ public interface IModPlugin {
 
 	}
 
+	/**
+	 * Return true if this plugin's {@link #registerRecipes} can be called on a worker thread,
+	 * at the same time as other plugins are registering their recipes.
+	 *
+	 * This is only used when concurrent recipe registration is enabled in the JEI config.
+	 * The recipes are still added in the usual plugin order, so the results are the same as without it.
+	 *
+	 * @since 19.2.0
+	 */
+	default boolean isRecipeRegistrationThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Register recipe transfer handlers (move ingredients from the inventory into crafting GUIs).
 	 */
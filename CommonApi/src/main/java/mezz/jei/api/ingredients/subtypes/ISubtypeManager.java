@@ -28,4 +28,14 @@ public interface ISubtypeManager {
 	 * @since 9.7.0
 	 */
 	<T> String getSubtypeInfo(IIngredientTypeWithSubtypes<?, T> ingredientType, T ingredient, UidContext context);
+
+	/**
+	 * Returns true if the ingredient has a subtype interpreter.
+	 * Ingredients without one always have {@link IIngredientSubtypeInterpreter#NONE} subtype info.
+	 *
+	 * @since 19.2.0
+	 */
+	default <T> boolean hasSubtypeInterpreter(IIngredientTypeWithSubtypes<?, T> ingredientType, T ingredient) {
+		return true;
+	}
 }
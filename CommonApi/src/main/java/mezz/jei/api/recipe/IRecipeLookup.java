@@ -32,4 +32,17 @@ public interface IRecipeLookup<R> {
 	 * @since 9.5.0
 	 */
 	Stream<R> get();
+
+	/**
+	 * Get the recipe results for this lookup as a cursor, which only looks up recipes as they are needed.
+	 * Prefer this over {@link #get()} when only a part of the results will be used, like one page of them.
+	 *
+	 * The default implementation goes through the results of {@link #get()} as they are needed,
+	 * so that implementations from before this method was added keep working.
+	 *
+	 * @since 19.2.0
+	 */
+	default IRecipeLookupCursor<R> getCursor() {
+		return new IteratorRecipeLookupCursor<>(get().iterator());
+	}
 }
@@ -0,0 +1,52 @@
+package mezz.jei.api.recipe;
+
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * Gives the results of an {@link IRecipeLookup} one range at a time.
+ * Recipes are only looked up as far as they are needed, so showing the first page of
+ * a lookup with a very large number of results is quick.
+ *
+ * Create one with {@link IRecipeLookup#getCursor()}.
+ * A cursor remembers the recipes it has found, so going back to an earlier range does not look them up again.
+ *
+ * @since 19.2.0
+ */
+public interface IRecipeLookupCursor<R> {
+	/**
+	 * Get the recipes in the given range, looking up more recipes if they have not been found yet.
+	 *
+	 * @param startIndex the index of the first recipe to return
+	 * @param count      the maximum number of recipes to return
+	 * @return the recipes in the range, which has fewer than {@code count} recipes if there are no more results.
+	 *
+	 * @since 19.2.0
+	 */
+	@Unmodifiable
+	List<R> getRecipes(int startIndex, int count);
+
+	/**
+	 * @return the number of recipes that have been found so far.
+	 * This is the total number of results when {@link #isComplete()} is true.
+	 *
+	 * @since 19.2.0
+	 */
+	int getFoundCount();
+
+	/**
+	 * @return true if all the recipes for this lookup have been found.
+	 *
+	 * @since 19.2.0
+	 */
+	boolean isComplete();
+
+	/**
+	 * Get the total number of recipes for this lookup.
+	 * This looks up all the remaining recipes, prefer {@link #getFoundCount()} when an estimate is enough.
+	 *
+	 * @since 19.2.0
+	 */
+	int getRecipeCount();
+}
@@ -4,6 +4,7 @@ import mezz.jei.api.constants.RecipeTypes;
 import mezz.jei.api.gui.IRecipeLayoutDrawable;
 import mezz.jei.api.gui.ingredient.IRecipeSlotDrawable;
 import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.advanced.IRecipeManagerPlugin;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.runtime.IJeiRuntime;
 import net.minecraft.resources.ResourceLocation;
@@ -161,4 +162,16 @@ public interface IRecipeManager {
 	 * @since 11.2.3
 	 */
 	Optional<RecipeType<?>> getRecipeType(ResourceLocation uid);
+
+	/**
+	 * Get the registered recipe of the given type with the given registry name,
+	 * as returned by {@link IRecipeCategory#getRegistryName}.
+	 * Hidden recipes are not returned.
+	 * <p>
+	 * This only finds recipes that were registered with JEI,
+	 * recipes that come from an {@link IRecipeManagerPlugin} have to be found with {@link #createRecipeLookup}.
+	 *
+	 * @since 19.2.0
+	 */
+	<T> Optional<T> getRecipeByRegistryName(RecipeType<T> recipeType, ResourceLocation registryName);
 }
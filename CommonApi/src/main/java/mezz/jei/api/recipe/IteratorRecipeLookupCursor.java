@@ -0,0 +1,56 @@
+package mezz.jei.api.recipe;
+
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The cursor for {@link IRecipeLookup}s that do not have a cursor of their own, see {@link IRecipeLookup#getCursor()}.
+ */
+final class IteratorRecipeLookupCursor<R> implements IRecipeLookupCursor<R> {
+	private final Iterator<R> remainingRecipes;
+	private final List<R> foundRecipes = new ArrayList<>();
+
+	public IteratorRecipeLookupCursor(Iterator<R> recipes) {
+		this.remainingRecipes = recipes;
+	}
+
+	@Override
+	@Unmodifiable
+	public List<R> getRecipes(int startIndex, int count) {
+		if (startIndex < 0) {
+			throw new IllegalArgumentException("startIndex cannot be negative: " + startIndex);
+		}
+		if (count < 0) {
+			throw new IllegalArgumentException("count cannot be negative: " + count);
+		}
+
+		int endIndex = (int) Math.min((long) startIndex + count, Integer.MAX_VALUE);
+		while (foundRecipes.size() < endIndex && remainingRecipes.hasNext()) {
+			foundRecipes.add(remainingRecipes.next());
+		}
+		if (startIndex >= foundRecipes.size()) {
+			return List.of();
+		}
+		endIndex = Math.min(endIndex, foundRecipes.size());
+		return List.copyOf(foundRecipes.subList(startIndex, endIndex));
+	}
+
+	@Override
+	public int getFoundCount() {
+		return foundRecipes.size();
+	}
+
+	@Override
+	public boolean isComplete() {
+		return !remainingRecipes.hasNext();
+	}
+
+	@Override
+	public int getRecipeCount() {
+		remainingRecipes.forEachRemaining(foundRecipes::add);
+		return foundRecipes.size();
+	}
+}
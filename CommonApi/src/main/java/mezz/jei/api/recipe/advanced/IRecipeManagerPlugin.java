@@ -15,6 +15,12 @@ import mezz.jei.api.registration.IAdvancedRegistration;
  * Implementing your own Recipe Registry Plugin offers total control of lookups, but it must be fast.
  *
  * Add your plugin with {@link IAdvancedRegistration#addRecipeManagerPlugin(IRecipeManagerPlugin)}
+ *
+ * When the "AsyncRecipeLookupEnabled" option is turned on in JEI's config,
+ * these methods can be called from JEI's recipe lookup thread instead of the client thread,
+ * at the same time as the client thread uses the recipe manager.
+ * Plugins must be thread-safe to support that, and must not access the world or other client-only state.
+ * The lists they return must not be changed afterward.
  */
 public interface IRecipeManagerPlugin {
 	/**
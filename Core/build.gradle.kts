@@ -4,6 +4,7 @@ import org.gradle.api.tasks.testing.logging.TestLogEvent
 plugins {
     java
     `maven-publish`
+    id("me.champeau.jmh")
 }
 
 repositories {
@@ -12,6 +13,7 @@ repositories {
 
 // gradle.properties
 val jUnitVersion: String by extra
+val jmhVersion: String by extra
 val minecraftVersion: String by extra
 val modId: String by extra
 val modJavaVersion: String by extra
@@ -32,6 +34,11 @@ dependencies {
         name = "fastutil",
         version = "8.5.6"
     )
+    implementation(
+        group = "com.google.code.gson",
+        name = "gson",
+        version = "2.10.1"
+    )
     implementation(
         group = "org.apache.logging.log4j",
         name = "log4j-api",
@@ -58,6 +65,16 @@ sourceSets {
         //The test module has no resources
         resources.setSrcDirs(emptyList<String>())
     }
+    named("jmh") {
+        //The benchmarks have no resources
+        resources.setSrcDirs(emptyList<String>())
+    }
+}
+
+jmh {
+    this.jmhVersion.set(jmhVersion)
+    // reports the bytes allocated per operation, which the memory comparisons rely on
+    profilers.add("gc")
 }
 
 tasks.named<Test>("test") {
@@ -0,0 +1,154 @@
+package mezz.jei.benchmark.search;
+
+import mezz.jei.core.search.PreSortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the ingredient list for a filter query by sorting the matching elements
+ * against reading them from a {@link PreSortedList} with bit sets of sorted indexes.
+ * <p>
+ * The results of each search token are prepared up front, so this only measures combining the tokens
+ * and producing the ordered list, which is the work that is repeated on every keystroke.
+ * <p>
+ * Run with {@code ./gradlew :Core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class FilterQueryBenchmark {
+	private static final Comparator<Element> PRE_SORTED = Comparator.comparing(Element::sortedIndex);
+
+	@Param({"10000", "50000", "100000"})
+	public int elementCount;
+
+	/**
+	 * empty: no filter text, every visible element is shown.
+	 * single: one token matching about 5% of the elements.
+	 * multi: three tokens matching about 30% of the elements each, and one excluded token.
+	 */
+	@Param({"empty", "single", "multi"})
+	public String filter;
+
+	private List<Element> elements = List.of();
+	private PreSortedList<Element> preSortedList = new PreSortedList<>(List.of());
+	private List<Set<Element>> tokenSets = List.of();
+	private List<BitSet> tokenBitSets = List.of();
+	private Set<Element> excludedSet = Set.of();
+	private BitSet excludedBitSet = new BitSet();
+
+	private record Element(int sortedIndex, boolean visible) {}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(42);
+		List<Element> sorted = new ArrayList<>(elementCount);
+		for (int i = 0; i < elementCount; i++) {
+			sorted.add(new Element(i, random.nextInt(50) != 0));
+		}
+		preSortedList = new PreSortedList<>(sorted);
+
+		// the search storages return elements in no particular order
+		List<Element> shuffled = new ArrayList<>(sorted);
+		Collections.shuffle(shuffled, random);
+		elements = shuffled;
+
+		List<Set<Element>> sets = new ArrayList<>();
+		List<BitSet> bitSets = new ArrayList<>();
+		switch (filter) {
+			case "empty" -> {
+			}
+			case "single" -> addToken(sets, bitSets, random, 0.05);
+			case "multi" -> {
+				addToken(sets, bitSets, random, 0.3);
+				addToken(sets, bitSets, random, 0.3);
+				addToken(sets, bitSets, random, 0.3);
+				List<Set<Element>> excluded = new ArrayList<>();
+				List<BitSet> excludedBits = new ArrayList<>();
+				addToken(excluded, excludedBits, random, 0.1);
+				excludedSet = excluded.get(0);
+				excludedBitSet = excludedBits.get(0);
+			}
+			default -> throw new IllegalArgumentException("Unknown filter: " + filter);
+		}
+		tokenSets = sets;
+		tokenBitSets = bitSets;
+	}
+
+	private void addToken(List<Set<Element>> sets, List<BitSet> bitSets, Random random, double matchFraction) {
+		Set<Element> set = Collections.newSetFromMap(new IdentityHashMap<>());
+		BitSet bitSet = new BitSet(elementCount);
+		for (Element element : elements) {
+			if (random.nextDouble() < matchFraction) {
+				set.add(element);
+				bitSet.set(element.sortedIndex());
+			}
+		}
+		sets.add(set);
+		bitSets.add(bitSet);
+	}
+
+	/**
+	 * The previous approach: intersect identity hash sets, then sort what is left.
+	 */
+	@Benchmark
+	public List<Element> sortPerQuery() {
+		if (tokenSets.isEmpty()) {
+			return elements.parallelStream()
+				.filter(Element::visible)
+				.sorted(PRE_SORTED)
+				.toList();
+		}
+		Set<Element> smallest = tokenSets.stream()
+			.min(Comparator.comparing(Set::size))
+			.orElseThrow();
+		Set<Element> results = Collections.newSetFromMap(new IdentityHashMap<>());
+		results.addAll(smallest);
+		for (Set<Element> set : tokenSets) {
+			if (set != smallest) {
+				results.retainAll(set);
+			}
+		}
+		results.removeAll(excludedSet);
+		return results.stream()
+			.filter(Element::visible)
+			.sorted(PRE_SORTED)
+			.toList();
+	}
+
+	@Benchmark
+	public List<Element> preSorted() {
+		if (tokenBitSets.isEmpty()) {
+			return preSortedList.getElements(Element::visible);
+		}
+		BitSet results = (BitSet) tokenBitSets.get(0).clone();
+		for (int i = 1; i < tokenBitSets.size(); i++) {
+			results.and(tokenBitSets.get(i));
+		}
+		results.andNot(excludedBitSet);
+		return preSortedList.getElements(results, Element::visible);
+	}
+}
@@ -0,0 +1,117 @@
+package mezz.jei.benchmark.search;
+
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.suffixarray.GeneralizedSuffixArray;
+import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the {@link ISearchStorage} implementations on a synthetic corpus of item-name-like strings.
+ * <p>
+ * Run with {@code ./gradlew :Core:jmh}.
+ * The gc profiler is enabled, so the {@code gc.alloc.rate.norm} of {@link #build()} shows the bytes allocated to build each storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class SearchStorageBenchmark {
+	private static final String[] SYLLABLES = {
+		"iron", "gold", "copper", "tin", "dia", "mond", "ingot", "nugget", "block", "dust", "plate", "gear",
+		"oak", "birch", "spruce", "log", "plank", "slab", "stair", "wall", "fence", "gate", "door",
+		"red", "blue", "green", "stone", "brick", "glass", "pane", "wool", "carpet", "machine", "casing",
+		"ore", "raw", "crushed", "pure", "sword", "pick", "axe", "shovel", "hoe", "helmet", "boots"
+	};
+
+	@Param({"100000"})
+	public int corpusSize;
+
+	@Param({"tree", "array"})
+	public String storageType;
+
+	private List<String> corpus = List.of();
+	private ISearchStorage<Integer> storage = new GeneralizedSuffixArray<>();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		corpus = createCorpus(corpusSize);
+		storage = createStorage(storageType, corpus);
+		// trigger any lazy work before measuring
+		storage.getSearchResults("a", results -> {});
+	}
+
+	@State(Scope.Benchmark)
+	public static class SearchWord {
+		@Param({"i", "ing", "iron ingot", "zzz"})
+		public String word = "";
+	}
+
+	@Benchmark
+	public void search(SearchWord searchWord, Blackhole blackhole) {
+		storage.getSearchResults(searchWord.word, blackhole::consume);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	public ISearchStorage<Integer> build() {
+		ISearchStorage<Integer> built = createStorage(storageType, corpus);
+		built.getSearchResults("a", results -> {});
+		return built;
+	}
+
+	private static ISearchStorage<Integer> createStorage(String storageType, List<String> corpus) {
+		Supplier<ISearchStorage<Integer>> supplier = switch (storageType) {
+			case "tree" -> GeneralizedSuffixTree::new;
+			case "array" -> GeneralizedSuffixArray::new;
+			default -> throw new IllegalArgumentException("Unknown storage type: " + storageType);
+		};
+		ISearchStorage<Integer> storage = supplier.get();
+		for (int i = 0; i < corpus.size(); i++) {
+			storage.put(corpus.get(i), i);
+		}
+		return storage;
+	}
+
+	private static List<String> createCorpus(int size) {
+		Random random = new Random(42);
+		List<String> corpus = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int words = 1 + random.nextInt(4);
+			StringBuilder sb = new StringBuilder();
+			for (int w = 0; w < words; w++) {
+				if (w > 0) {
+					sb.append(' ');
+				}
+				sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+				if (random.nextInt(3) == 0) {
+					sb.append(random.nextInt(100));
+				}
+			}
+			corpus.add(sb.toString());
+		}
+		return corpus;
+	}
+}
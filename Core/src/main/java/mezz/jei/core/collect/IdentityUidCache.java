@@ -0,0 +1,49 @@
+package mezz.jei.core.collect;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.function.Function;
+
+/**
+ * Remembers the uids computed for objects that are usually not changed after they are created,
+ * like the ingredients in recipes, so that asking for the same object's uid again is quick.
+ *
+ * Objects are held weakly and compared by identity.
+ * Each entry keeps the state of its object when the uid was computed, and is only used while the object's state is still equal to it,
+ * so changing an object after its uid was cached is safe, only slower.
+ */
+public class IdentityUidCache<T> {
+	private final Cache<T, Entry> cache;
+	private final Function<T, ?> stateFunction;
+
+	private record Entry(Object state, String uid) {}
+
+	/**
+	 * @param stateFunction gets the part of an object that its uid depends on.
+	 *                      This is called on every lookup, so it should be cheap to get and to compare while the object is unchanged,
+	 *                      like an immutable view that is replaced when the object changes, so that comparing it is an identity check.
+	 */
+	public IdentityUidCache(long maximumSize, Function<T, ?> stateFunction) {
+		this.cache = CacheBuilder.newBuilder()
+			.weakKeys()
+			.maximumSize(maximumSize)
+			.build();
+		this.stateFunction = stateFunction;
+	}
+
+	public String getUid(T object, Function<T, String> uidFunction) {
+		Object state = stateFunction.apply(object);
+		Entry entry = cache.getIfPresent(object);
+		if (entry != null && entry.state().equals(state)) {
+			return entry.uid();
+		}
+		String uid = uidFunction.apply(object);
+		cache.put(object, new Entry(state, uid));
+		return uid;
+	}
+
+	public void clear() {
+		cache.invalidateAll();
+	}
+}
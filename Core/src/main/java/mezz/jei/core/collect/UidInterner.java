@@ -0,0 +1,48 @@
+package mezz.jei.core.collect;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Assigns each distinct uid a dense int id, starting from 0.
+ *
+ * Indexes that are keyed by the ids can use primitive collections,
+ * and only have to hash the uid string once per lookup.
+ *
+ * This is not thread-safe.
+ */
+public class UidInterner {
+	/**
+	 * Returned by {@link #getId} for uids that have never been interned.
+	 */
+	public static final int NO_ID = -1;
+
+	private final Object2IntMap<String> ids = new Object2IntOpenHashMap<>();
+
+	public UidInterner() {
+		this.ids.defaultReturnValue(NO_ID);
+	}
+
+	/**
+	 * @return the id for the uid, assigning it a new one if it doesn't have one yet.
+	 */
+	public int intern(String uid) {
+		int id = this.ids.getInt(uid);
+		if (id == NO_ID) {
+			id = this.ids.size();
+			this.ids.put(uid, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @return the id for the uid, or {@link #NO_ID} if it has never been interned.
+	 */
+	public int getId(String uid) {
+		return this.ids.getInt(uid);
+	}
+
+	public int size() {
+		return this.ids.size();
+	}
+}
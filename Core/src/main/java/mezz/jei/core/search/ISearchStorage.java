@@ -10,5 +10,13 @@ public interface ISearchStorage<T> {
 
 	void put(String key, T value);
 
+	/**
+	 * Called after a batch of values has been put.
+	 * Storages that index lazily should finish indexing here instead of during the next search.
+	 */
+	default void compact() {
+
+	}
+
 	String statistics();
 }
@@ -0,0 +1,29 @@
+package mezz.jei.core.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A search storage that can be saved and loaded again, so that it does not have to be rebuilt.
+ * Values are saved as integer ids, it is up to the caller to map them back to the same values when loading.
+ */
+public interface ISerializableSearchStorage<T> extends ISearchStorage<T> {
+	/**
+	 * Writes everything that has been put into this storage.
+	 *
+	 * @param valueIds gets the id to save for each value
+	 */
+	void write(DataOutput output, ToIntFunction<T> valueIds) throws IOException;
+
+	/**
+	 * Reads the data written by {@link #write} into this storage, which must be empty.
+	 * The buffer is left positioned after the data that was read.
+	 *
+	 * @param values gets the value for each saved id
+	 * @throws IOException if the data is invalid
+	 */
+	void read(ByteBuffer buffer, IntFunction<T> values) throws IOException;
+}
@@ -3,11 +3,18 @@ package mezz.jei.core.search;
 import mezz.jei.core.collect.SetMultiMap;
 import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * This is more memory-efficient than {@link GeneralizedSuffixTree}
@@ -16,8 +23,11 @@ import java.util.function.Consumer;
  * It stores a map of keys to a set of values.
  * The set values are shared with the internal {@link GeneralizedSuffixTree} to index and find them.
  * The sets values are modified directly when values with the same key are added.
+ *
+ * It is saved as its keys and values, the suffix tree is rebuilt when it is loaded.
+ * That is cheap because there are few keys.
  */
-public class LimitedStringStorage<T> implements ISearchStorage<T> {
+public class LimitedStringStorage<T> implements ISerializableSearchStorage<T> {
 	private final SetMultiMap<String, T> multiMap = new SetMultiMap<>(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
 	private final GeneralizedSuffixTree<Set<T>> generalizedSuffixTree = new GeneralizedSuffixTree<>();
 
@@ -46,6 +56,50 @@ public class LimitedStringStorage<T> implements ISearchStorage<T> {
 		}
 	}
 
+	@Override
+	public void write(DataOutput output, ToIntFunction<T> valueIds) throws IOException {
+		Set<Map.Entry<String, Set<T>>> entries = multiMap.entrySet();
+		output.writeInt(entries.size());
+		for (Map.Entry<String, Set<T>> entry : entries) {
+			String key = entry.getKey();
+			output.writeInt(key.length());
+			output.writeChars(key);
+			Set<T> values = entry.getValue();
+			output.writeInt(values.size());
+			for (T value : values) {
+				output.writeInt(valueIds.applyAsInt(value));
+			}
+		}
+	}
+
+	@Override
+	public void read(ByteBuffer buffer, IntFunction<T> values) throws IOException {
+		try {
+			int keyCount = readLength(buffer, Integer.BYTES * 2);
+			for (int i = 0; i < keyCount; i++) {
+				char[] key = new char[readLength(buffer, Character.BYTES)];
+				for (int c = 0; c < key.length; c++) {
+					key[c] = buffer.getChar();
+				}
+				String keyString = new String(key);
+				int valueCount = readLength(buffer, Integer.BYTES);
+				for (int v = 0; v < valueCount; v++) {
+					put(keyString, values.apply(buffer.getInt()));
+				}
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Saved data ends too soon.", e);
+		}
+	}
+
+	private static int readLength(ByteBuffer buffer, int elementBytes) throws IOException {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining() / elementBytes) {
+			throw new IOException("Invalid saved length: " + length);
+		}
+		return length;
+	}
+
 	@Override
 	public String statistics() {
 		return "LimitedStringStorage: " + generalizedSuffixTree.statistics();
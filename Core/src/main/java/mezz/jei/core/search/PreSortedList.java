@@ -0,0 +1,64 @@
+package mezz.jei.core.search;
+
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * All elements in their final display order.
+ * <p>
+ * Search results are kept as bit sets of positions in this list ("sorted indexes"),
+ * so reading them back in display order is a walk over the set bits instead of a sort.
+ */
+public class PreSortedList<T> {
+	private final List<T> elements;
+
+	/**
+	 * @param sortedElements all elements, already in display order.
+	 *                       The position of each element is its sorted index.
+	 */
+	public PreSortedList(List<T> sortedElements) {
+		this.elements = List.copyOf(sortedElements);
+	}
+
+	public int size() {
+		return elements.size();
+	}
+
+	public T get(int sortedIndex) {
+		return elements.get(sortedIndex);
+	}
+
+	/**
+	 * @return all the elements that pass the filter, in sorted order.
+	 */
+	@Unmodifiable
+	public List<T> getElements(Predicate<T> filter) {
+		List<T> results = new ArrayList<>();
+		for (T element : elements) {
+			if (filter.test(element)) {
+				results.add(element);
+			}
+		}
+		return Collections.unmodifiableList(results);
+	}
+
+	/**
+	 * @return the elements at the given sorted indexes that pass the filter, in sorted order.
+	 */
+	@Unmodifiable
+	public List<T> getElements(BitSet sortedIndexes, Predicate<T> filter) {
+		List<T> results = new ArrayList<>(sortedIndexes.cardinality());
+		for (int i = sortedIndexes.nextSetBit(0); i >= 0 && i < elements.size(); i = sortedIndexes.nextSetBit(i + 1)) {
+			T element = elements.get(i);
+			if (filter.test(element)) {
+				results.add(element);
+			}
+		}
+		return Collections.unmodifiableList(results);
+	}
+}
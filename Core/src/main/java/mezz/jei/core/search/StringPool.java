@@ -0,0 +1,53 @@
+package mezz.jei.core.search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates the keys that are put into search storages while they are being built,
+ * so that every storage that keeps a key shares the same instance of it.
+ * <p>
+ * Many elements share the same mod names, tag paths and tooltip lines,
+ * and the same strings often show up in more than one prefix storage.
+ * <p>
+ * The pool should be cleared after each batch of puts, so it does not keep strings alive
+ * that none of the storages kept (like keys that were copied into a {@link mezz.jei.core.search.suffixarray.GeneralizedSuffixArray}).
+ * Statistics are kept across batches.
+ * <p>
+ * This is safe to use from multiple threads.
+ */
+public class StringPool {
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder duplicates = new LongAdder();
+
+	/**
+	 * @return the pooled string that is equal to the given string.
+	 */
+	public String intern(String string) {
+		requests.increment();
+		String pooled = strings.putIfAbsent(string, string);
+		if (pooled == null) {
+			return string;
+		}
+		if (pooled != string) {
+			duplicates.increment();
+		}
+		return pooled;
+	}
+
+	public void clear() {
+		strings.clear();
+	}
+
+	/**
+	 * Only counts are reported, not bytes saved: storages like {@link mezz.jei.core.search.suffixarray.GeneralizedSuffixArray}
+	 * copy the chars of their keys, so sharing a key instance does not always save memory.
+	 */
+	public String statistics() {
+		return "StringPool:" +
+			"\nKeys interned: " + requests.sum() +
+			"\nDuplicate keys shared: " + duplicates.sum();
+	}
+}
@@ -0,0 +1,434 @@
+package mezz.jei.core.search.suffixarray;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import mezz.jei.core.search.ISerializableSearchStorage;
+import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A Generalized Suffix Array.
+ * <p>
+ * Stores the same index as {@link GeneralizedSuffixTree}, but in a few flat primitive arrays instead of a graph of
+ * nodes and edges, which uses much less memory and creates far fewer objects for the garbage collector to track.
+ * <p>
+ * All keys are stored in one shared char buffer, each followed by a terminator.
+ * The suffix array holds the offsets of every suffix in that buffer, sorted lexicographically,
+ * so all keys that contain a word can be found with two binary searches.
+ * <p>
+ * Keys are not sorted into the index when they are put.
+ * They wait in a pending list that is searched linearly, and are merged into the index by the next search
+ * once there are enough of them to be worth it.
+ * This keeps interleaved puts and searches (like ingredients being added at runtime) from re-sorting the index every time.
+ * <p>
+ * Since the index is only a few arrays, it can be saved and loaded as-is without sorting anything again.
+ */
+public class GeneralizedSuffixArray<T> implements ISerializableSearchStorage<T> {
+	private static final char TERMINATOR = '\0';
+	private static final int DEFAULT_MIN_PENDING_KEYS_TO_MERGE = 1024;
+
+	private final int minPendingKeysToMerge;
+
+	/**
+	 * All indexed keys, each followed by a {@link #TERMINATOR}.
+	 */
+	private char[] chars = new char[0];
+	/**
+	 * The offset in {@link #chars} where each indexed key starts, in ascending order.
+	 */
+	private int[] keyStarts = new int[0];
+	/**
+	 * The offset in {@link #values} where the values for each indexed key start.
+	 * The values for key i are in the range [valueStarts[i], valueStarts[i + 1]).
+	 */
+	private int[] valueStarts = new int[]{0};
+	/**
+	 * The offsets in {@link #chars} of every suffix, sorted lexicographically.
+	 */
+	private int[] suffixes = new int[0];
+	private Object[] values = new Object[0];
+
+	/**
+	 * Keys and values that have been put but not merged into the index yet.
+	 */
+	private final Object2IntMap<String> pendingKeyIndexes = new Object2IntOpenHashMap<>();
+	private final List<String> pendingKeys = new ArrayList<>();
+	private final IntArrayList pendingValueKeys = new IntArrayList();
+	private final List<T> pendingValues = new ArrayList<>();
+
+	public GeneralizedSuffixArray() {
+		this(DEFAULT_MIN_PENDING_KEYS_TO_MERGE);
+	}
+
+	/**
+	 * @param minPendingKeysToMerge the number of new keys that must be waiting before a search merges them into the index.
+	 *                              Lower values use less linear searching, higher values re-sort less often.
+	 */
+	public GeneralizedSuffixArray(int minPendingKeysToMerge) {
+		this.minPendingKeysToMerge = minPendingKeysToMerge;
+	}
+
+	@Override
+	public void getSearchResults(String word, Consumer<Collection<T>> resultsConsumer) {
+		if (word.isEmpty()) {
+			return;
+		}
+		mergePendingIfNeeded();
+
+		List<T> results = new ArrayList<>();
+
+		int start = firstSuffixAtLeast(word, false);
+		int end = firstSuffixAtLeast(word, true);
+		if (start < end) {
+			BitSet matchingKeys = new BitSet(keyStarts.length);
+			for (int i = start; i < end; i++) {
+				matchingKeys.set(getKeyIndex(suffixes[i]));
+			}
+			for (int key = matchingKeys.nextSetBit(0); key >= 0; key = matchingKeys.nextSetBit(key + 1)) {
+				for (int v = valueStarts[key]; v < valueStarts[key + 1]; v++) {
+					results.add(getValue(v));
+				}
+			}
+		}
+
+		BitSet matchingPendingKeys = new BitSet(pendingKeys.size());
+		for (int i = 0; i < pendingKeys.size(); i++) {
+			if (pendingKeys.get(i).contains(word)) {
+				matchingPendingKeys.set(i);
+			}
+		}
+		if (!matchingPendingKeys.isEmpty()) {
+			for (int i = 0; i < pendingValueKeys.size(); i++) {
+				if (matchingPendingKeys.get(pendingValueKeys.getInt(i))) {
+					results.add(pendingValues.get(i));
+				}
+			}
+		}
+
+		if (!results.isEmpty()) {
+			resultsConsumer.accept(Collections.unmodifiableList(results));
+		}
+	}
+
+	@Override
+	public void getAllElements(Consumer<Collection<T>> resultsConsumer) {
+		int valueCount = valueStarts[keyStarts.length];
+		if (valueCount > 0) {
+			@SuppressWarnings("unchecked")
+			List<T> list = (List<T>) Arrays.asList(values).subList(0, valueCount);
+			resultsConsumer.accept(Collections.unmodifiableList(list));
+		}
+		if (!pendingValues.isEmpty()) {
+			resultsConsumer.accept(Collections.unmodifiableList(pendingValues));
+		}
+	}
+
+	@Override
+	public void put(String key, T value) {
+		int keyIndex = pendingKeyIndexes.computeIfAbsent(key, k -> {
+			pendingKeys.add(key);
+			return pendingKeys.size() - 1;
+		});
+		pendingValueKeys.add(keyIndex);
+		pendingValues.add(value);
+	}
+
+	@Override
+	public void compact() {
+		if (!pendingKeys.isEmpty()) {
+			mergePending();
+		}
+	}
+
+	@Override
+	public void write(DataOutput output, ToIntFunction<T> valueIds) throws IOException {
+		compact();
+
+		output.writeInt(chars.length);
+		for (char c : chars) {
+			output.writeChar(c);
+		}
+		writeIntArray(output, keyStarts);
+		writeIntArray(output, valueStarts);
+		writeIntArray(output, suffixes);
+		output.writeInt(values.length);
+		for (int i = 0; i < values.length; i++) {
+			output.writeInt(valueIds.applyAsInt(getValue(i)));
+		}
+	}
+
+	@Override
+	public void read(ByteBuffer buffer, IntFunction<T> values) throws IOException {
+		if (keyStarts.length > 0 || !pendingKeys.isEmpty()) {
+			throw new IllegalStateException("Cannot read into a GeneralizedSuffixArray that already has keys.");
+		}
+		try {
+			char[] newChars = new char[readLength(buffer, Character.BYTES)];
+			buffer.asCharBuffer().get(newChars);
+			buffer.position(buffer.position() + newChars.length * Character.BYTES);
+			int[] newKeyStarts = readIntArray(buffer);
+			int[] newValueStarts = readIntArray(buffer);
+			int[] newSuffixes = readIntArray(buffer);
+			Object[] newValues = new Object[readLength(buffer, Integer.BYTES)];
+			for (int i = 0; i < newValues.length; i++) {
+				newValues[i] = values.apply(buffer.getInt());
+			}
+
+			if (newValueStarts.length != newKeyStarts.length + 1 || newValueStarts[newKeyStarts.length] != newValues.length) {
+				throw new IOException("Saved keys and values do not match.");
+			}
+			validate(newChars, newKeyStarts, newValueStarts, newSuffixes);
+
+			this.chars = newChars;
+			this.keyStarts = newKeyStarts;
+			this.valueStarts = newValueStarts;
+			this.suffixes = newSuffixes;
+			this.values = newValues;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Saved data ends too soon.", e);
+		}
+	}
+
+	/**
+	 * Checks that every offset in the saved data points inside the arrays it indexes,
+	 * so a damaged file fails to load instead of failing later during a search.
+	 */
+	private static void validate(char[] chars, int[] keyStarts, int[] valueStarts, int[] suffixes) throws IOException {
+		if (chars.length > 0 && chars[chars.length - 1] != TERMINATOR) {
+			throw new IOException("Saved keys do not end with a terminator.");
+		}
+		int previousKeyStart = -1;
+		for (int keyStart : keyStarts) {
+			if (keyStart <= previousKeyStart || keyStart >= chars.length) {
+				throw new IOException("Invalid saved key start: " + keyStart);
+			}
+			if (keyStart > 0 && chars[keyStart - 1] != TERMINATOR) {
+				throw new IOException("Saved key start does not follow a terminator: " + keyStart);
+			}
+			previousKeyStart = keyStart;
+		}
+		if (keyStarts.length > 0 && keyStarts[0] != 0) {
+			throw new IOException("Saved keys do not start at the beginning: " + keyStarts[0]);
+		}
+		for (int i = 1; i < valueStarts.length; i++) {
+			if (valueStarts[i] < valueStarts[i - 1]) {
+				throw new IOException("Invalid saved value start: " + valueStarts[i]);
+			}
+		}
+		if (valueStarts[0] != 0) {
+			throw new IOException("Invalid saved value start: " + valueStarts[0]);
+		}
+		for (int suffix : suffixes) {
+			if (suffix < 0 || suffix >= chars.length) {
+				throw new IOException("Invalid saved suffix: " + suffix);
+			}
+		}
+	}
+
+	private static void writeIntArray(DataOutput output, int[] array) throws IOException {
+		output.writeInt(array.length);
+		for (int i : array) {
+			output.writeInt(i);
+		}
+	}
+
+	private static int[] readIntArray(ByteBuffer buffer) throws IOException {
+		int[] array = new int[readLength(buffer, Integer.BYTES)];
+		buffer.asIntBuffer().get(array);
+		buffer.position(buffer.position() + array.length * Integer.BYTES);
+		return array;
+	}
+
+	private static int readLength(ByteBuffer buffer, int elementBytes) throws IOException {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining() / elementBytes) {
+			throw new IOException("Invalid saved array length: " + length);
+		}
+		return length;
+	}
+
+	private void mergePendingIfNeeded() {
+		int pendingKeyCount = pendingKeys.size();
+		if (pendingKeyCount > 0 && pendingKeyCount >= minPendingKeysToMerge) {
+			mergePending();
+		}
+	}
+
+	/**
+	 * Appends the pending keys to the char buffer, sorts their suffixes,
+	 * and merges them with the already-sorted suffixes of the existing keys.
+	 */
+	private void mergePending() {
+		final int oldKeyCount = keyStarts.length;
+		final int newKeyCount = oldKeyCount + pendingKeys.size();
+
+		int addedChars = 0;
+		int addedSuffixCount = 0;
+		for (String key : pendingKeys) {
+			addedChars += key.length() + 1;
+			addedSuffixCount += key.length();
+		}
+
+		char[] newChars = Arrays.copyOf(chars, chars.length + addedChars);
+		int[] newKeyStarts = Arrays.copyOf(keyStarts, newKeyCount);
+		int[] addedSuffixes = new int[addedSuffixCount];
+		int offset = chars.length;
+		int suffixIndex = 0;
+		for (int i = 0; i < pendingKeys.size(); i++) {
+			String key = pendingKeys.get(i);
+			newKeyStarts[oldKeyCount + i] = offset;
+			key.getChars(0, key.length(), newChars, offset);
+			for (int c = 0; c < key.length(); c++) {
+				addedSuffixes[suffixIndex++] = offset + c;
+			}
+			offset += key.length();
+			newChars[offset++] = TERMINATOR;
+		}
+
+		IntArrays.quickSort(addedSuffixes, (a, b) -> compareSuffixes(newChars, a, b));
+		int[] newSuffixes = mergeSorted(newChars, suffixes, addedSuffixes);
+
+		// group the values by key
+		int oldValueCount = valueStarts[oldKeyCount];
+		int[] newValueStarts = Arrays.copyOf(valueStarts, newKeyCount + 1);
+		for (int i = 0; i < pendingValueKeys.size(); i++) {
+			int key = oldKeyCount + pendingValueKeys.getInt(i);
+			newValueStarts[key + 1]++;
+		}
+		for (int key = oldKeyCount; key < newKeyCount; key++) {
+			newValueStarts[key + 1] += newValueStarts[key];
+		}
+		Object[] newValues = Arrays.copyOf(values, oldValueCount + pendingValues.size());
+		int[] insertPositions = Arrays.copyOfRange(newValueStarts, oldKeyCount, newKeyCount);
+		for (int i = 0; i < pendingValueKeys.size(); i++) {
+			int pendingKey = pendingValueKeys.getInt(i);
+			newValues[insertPositions[pendingKey]++] = pendingValues.get(i);
+		}
+
+		this.chars = newChars;
+		this.keyStarts = newKeyStarts;
+		this.suffixes = newSuffixes;
+		this.valueStarts = newValueStarts;
+		this.values = newValues;
+
+		this.pendingKeyIndexes.clear();
+		this.pendingKeys.clear();
+		this.pendingValueKeys.clear();
+		this.pendingValues.clear();
+	}
+
+	private static int[] mergeSorted(char[] chars, int[] a, int[] b) {
+		int[] merged = new int[a.length + b.length];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < a.length && j < b.length) {
+			if (compareSuffixes(chars, a[i], b[j]) <= 0) {
+				merged[k++] = a[i++];
+			} else {
+				merged[k++] = b[j++];
+			}
+		}
+		System.arraycopy(a, i, merged, k, a.length - i);
+		k += a.length - i;
+		System.arraycopy(b, j, merged, k, b.length - j);
+		return merged;
+	}
+
+	private static int compareSuffixes(char[] chars, int a, int b) {
+		while (true) {
+			char ca = chars[a++];
+			char cb = chars[b++];
+			if (ca != cb) {
+				return Character.compare(ca, cb);
+			}
+			if (ca == TERMINATOR) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Compares the start of a suffix with the word.
+	 * A suffix that starts with the word is considered equal to it.
+	 * A suffix that ends before the word does is smaller than it, even when the word contains a {@link #TERMINATOR}.
+	 */
+	private int compareSuffixToWord(int suffix, String word) {
+		for (int i = 0; i < word.length(); i++) {
+			char c = chars[suffix + i];
+			if (c == TERMINATOR) {
+				return -1;
+			}
+			char w = word.charAt(i);
+			if (c != w) {
+				return Character.compare(c, w);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the index of the first suffix that is greater than or equal to the word,
+	 * or strictly greater if {@code strict} is true.
+	 */
+	private int firstSuffixAtLeast(String word, boolean strict) {
+		int low = 0;
+		int high = suffixes.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int compare = compareSuffixToWord(suffixes[mid], word);
+			if (compare < 0 || (strict && compare == 0)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int getKeyIndex(int offset) {
+		int index = Arrays.binarySearch(keyStarts, offset);
+		if (index < 0) {
+			// the offset is inside a key, use the key that starts before it
+			index = -index - 2;
+		}
+		return index;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getValue(int index) {
+		return (T) values[index];
+	}
+
+	@Override
+	public String statistics() {
+		mergePendingIfNeeded();
+		long bytes = (long) chars.length * Character.BYTES +
+			(long) keyStarts.length * Integer.BYTES +
+			(long) valueStarts.length * Integer.BYTES +
+			(long) suffixes.length * Integer.BYTES +
+			(long) values.length * Integer.BYTES;
+
+		return "GeneralizedSuffixArray:" +
+			"\nKeys: " + keyStarts.length +
+			"\nValues: " + values.length +
+			"\nSuffixes: " + suffixes.length +
+			"\nPending keys: " + pendingKeys.size() +
+			"\nApproximate array size (bytes, with compressed references): " + bytes;
+	}
+}
@@ -0,0 +1,144 @@
+package mezz.jei.core.util;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Finds which of a few colors is the closest to any rgb color, with a lookup table over a grid of rgb colors.
+ *
+ * Each cell of the grid covers a small cube of similar colors. The first time a color inside a cell is looked up,
+ * the closest color to each corner of the cell is found. When the corners all agree, every color in the cell is
+ * given that closest color, and looking up a color in it after that is a single array read.
+ * Cells on the border between two colors are marked so that their colors are always compared against every color.
+ * <p>
+ * Agreeing corners only prove the whole cell agrees when the distance changes smoothly across the cell.
+ * Perceptual distances do not, so a corner that is almost as close to a second color also makes its cell a border,
+ * see the {@code borderMargin} of {@link #NearestColorTable}.
+ */
+public class NearestColorTable {
+	private static final int BITS_PER_CHANNEL = 6;
+	private static final int SHIFT = 8 - BITS_PER_CHANNEL;
+	private static final int CHANNEL_MASK = (1 << BITS_PER_CHANNEL) - 1;
+	private static final int CELL_SIZE = 1 << SHIFT;
+	private static final char UNKNOWN = 0;
+	private static final char BORDER = Character.MAX_VALUE;
+
+	@FunctionalInterface
+	public interface IColorDistance {
+		/**
+		 * @return a value that is larger the more different the colors look.
+		 */
+		double getDistance(int color1, int color2);
+	}
+
+	private final int[] colors;
+	private final IColorDistance colorDistance;
+	private final double borderMargin;
+	/**
+	 * One more than the index of the closest color for each cell, {@link #UNKNOWN} when the cell has not been
+	 * looked up yet, or {@link #BORDER} when the colors in the cell are not all closest to the same color.
+	 * Lookups from different threads can fill the same cell at once, but they always write the same value.
+	 */
+	private final char[] cells = new char[1 << (BITS_PER_CHANNEL * 3)];
+
+	/**
+	 * @param colors        rgb colors to choose from
+	 * @param colorDistance used to find the closest color, it is always called with one of the colors as the first argument.
+	 * @param borderMargin  a cell is a border when the second-closest color to any of its corners is not further away
+	 *                      than the closest one by more than this. It should be larger than the amount the distance
+	 *                      can change inside a cell that its corners do not show, or lookups may differ from {@link #findClosestIndex}.
+	 *                      0 is exact for distances that are quadratic in the color channels, like squared rgb distance.
+	 */
+	public NearestColorTable(int[] colors, IColorDistance colorDistance, double borderMargin) {
+		Preconditions.checkArgument(colors.length > 0, "colors must not be empty");
+		Preconditions.checkArgument(colors.length < BORDER - 1, "too many colors: %s", colors.length);
+		Preconditions.checkArgument(borderMargin >= 0, "borderMargin must not be negative: %s", borderMargin);
+		this.colors = colors.clone();
+		this.colorDistance = colorDistance;
+		this.borderMargin = borderMargin;
+	}
+
+	/**
+	 * @return the index of the closest color to the given rgb color, in the array given to the constructor.
+	 * The alpha bits of the color are ignored.
+	 */
+	public int getClosestIndex(int color) {
+		int cell = getCell(color);
+		char value = cells[cell];
+		if (value == UNKNOWN) {
+			value = findCellValue(cell);
+			cells[cell] = value;
+		}
+		if (value == BORDER) {
+			return findClosestIndex(color);
+		}
+		return value - 1;
+	}
+
+	/**
+	 * Compares the color against every color, without the lookup table.
+	 */
+	public int findClosestIndex(int color) {
+		int closestIndex = 0;
+		double closestDistance = Double.MAX_VALUE;
+		for (int i = 0; i < colors.length; i++) {
+			double distance = Math.abs(colorDistance.getDistance(colors[i], color));
+			if (distance < closestDistance) {
+				closestDistance = distance;
+				closestIndex = i;
+			}
+		}
+		return closestIndex;
+	}
+
+	private char findCellValue(int cell) {
+		int red = ((cell >> (BITS_PER_CHANNEL * 2)) & CHANNEL_MASK) << SHIFT;
+		int green = ((cell >> BITS_PER_CHANNEL) & CHANNEL_MASK) << SHIFT;
+		int blue = (cell & CHANNEL_MASK) << SHIFT;
+
+		int closestIndex = -1;
+		for (int corner = 0; corner < 8; corner++) {
+			int cornerRed = red + ((corner & 4) == 0 ? 0 : CELL_SIZE - 1);
+			int cornerGreen = green + ((corner & 2) == 0 ? 0 : CELL_SIZE - 1);
+			int cornerBlue = blue + ((corner & 1) == 0 ? 0 : CELL_SIZE - 1);
+			int index = findClearlyClosestIndex(cornerRed << 16 | cornerGreen << 8 | cornerBlue);
+			if (index == -1) {
+				return BORDER;
+			} else if (closestIndex == -1) {
+				closestIndex = index;
+			} else if (closestIndex != index) {
+				return BORDER;
+			}
+		}
+		return (char) (closestIndex + 1);
+	}
+
+	/**
+	 * @return the index of the closest color, or -1 when the second-closest color is within {@link #borderMargin} of it.
+	 */
+	private int findClearlyClosestIndex(int color) {
+		int closestIndex = 0;
+		double closestDistance = Double.MAX_VALUE;
+		double secondDistance = Double.MAX_VALUE;
+		for (int i = 0; i < colors.length; i++) {
+			double distance = Math.abs(colorDistance.getDistance(colors[i], color));
+			if (distance < closestDistance) {
+				secondDistance = closestDistance;
+				closestDistance = distance;
+				closestIndex = i;
+			} else if (distance < secondDistance) {
+				secondDistance = distance;
+			}
+		}
+		if (secondDistance - closestDistance <= borderMargin) {
+			return -1;
+		}
+		return closestIndex;
+	}
+
+	private static int getCell(int color) {
+		int red = (color >> (16 + SHIFT)) & CHANNEL_MASK;
+		int green = (color >> (8 + SHIFT)) & CHANNEL_MASK;
+		int blue = (color >> SHIFT) & CHANNEL_MASK;
+		return (red << (BITS_PER_CHANNEL * 2)) | (green << BITS_PER_CHANNEL) | blue;
+	}
+}
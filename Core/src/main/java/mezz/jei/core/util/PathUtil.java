@@ -1,6 +1,7 @@
 package mezz.jei.core.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -27,6 +28,21 @@ public class PathUtil {
 		}
 	}
 
+	public static void writeUsingTempFile(Path path, IOutputWriter writer) throws IOException {
+		Files.createDirectories(path.getParent());
+		Path tempFile = Files.createTempFile(path.getParent(), null, null);
+		try {
+			try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+				writer.write(outputStream);
+			}
+			moveAtomicReplace(tempFile, path);
+		} finally {
+			if (Files.exists(tempFile)) {
+				Files.delete(tempFile);
+			}
+		}
+	}
+
 	private static void moveAtomicReplace(Path source, Path target) throws IOException {
 		if (atomicMoveSupported) {
 			try {
@@ -38,4 +54,9 @@ public class PathUtil {
 		}
 		Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
 	}
+
+	@FunctionalInterface
+	public interface IOutputWriter {
+		void write(OutputStream outputStream) throws IOException;
+	}
 }
@@ -0,0 +1,219 @@
+package mezz.jei.core.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Records how long each mod plugin takes in each phase of starting JEI,
+ * and how long it takes to add the recipes of each recipe type,
+ * so that the mods that make JEI slow to start can be found.
+ *
+ * Each plugin call records its wall time, the cpu time of the calling thread,
+ * and the bytes allocated by the calling thread, when the JVM supports measuring them.
+ * Work that a plugin hands off to other threads is only counted in its wall time.
+ */
+public class StartupProfiler {
+	private static final StartupProfiler DISABLED = new StartupProfiler(false);
+	private static final Gson GSON = new GsonBuilder()
+		.setPrettyPrinting()
+		.disableHtmlEscaping()
+		.create();
+
+	private final boolean enabled;
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	private final List<PluginPhaseEntry> pluginPhaseEntries = new ArrayList<>();
+	private final List<RecipeTypeEntry> recipeTypeEntries = new ArrayList<>();
+
+	/**
+	 * @return a profiler that records nothing, for when profiling is turned off.
+	 */
+	public static StartupProfiler disabled() {
+		return DISABLED;
+	}
+
+	public StartupProfiler() {
+		this(true);
+	}
+
+	private StartupProfiler(boolean enabled) {
+		this.enabled = enabled;
+		if (enabled && threadMXBean.isThreadCpuTimeSupported() && !threadMXBean.isThreadCpuTimeEnabled()) {
+			threadMXBean.setThreadCpuTimeEnabled(true);
+		}
+	}
+
+	/**
+	 * @param phase          the name of the startup phase, like "Registering recipes"
+	 * @param pluginUid      the uid of the plugin
+	 * @param wallNanos      the time the plugin call took
+	 * @param cpuNanos       the cpu time the calling thread spent in the plugin call, or -1 if it is not supported
+	 * @param allocatedBytes the bytes the calling thread allocated in the plugin call, or -1 if it is not supported
+	 */
+	public record PluginPhaseEntry(String phase, String pluginUid, long wallNanos, long cpuNanos, long allocatedBytes) {}
+
+	/**
+	 * @param recipeType  the uid of the recipe type
+	 * @param nanos       the time it took to add the recipes
+	 * @param recipeCount the number of recipes that were registered
+	 * @param addedCount  the number of recipes that were added, after removing invalid ones
+	 */
+	public record RecipeTypeEntry(String recipeType, long nanos, int recipeCount, int addedCount) {}
+
+	/**
+	 * A measurement that has been started on the current thread.
+	 */
+	public final class Measurement {
+		private final long startNanos;
+		private final long startCpuNanos;
+		private final long startAllocatedBytes;
+
+		private Measurement() {
+			this.startNanos = System.nanoTime();
+			this.startCpuNanos = getCurrentThreadCpuTime();
+			this.startAllocatedBytes = getCurrentThreadAllocatedBytes();
+		}
+
+		/**
+		 * Stops the measurement and records it. This must be called on the thread that started it.
+		 */
+		public void end(String phase, String pluginUid) {
+			long wallNanos = System.nanoTime() - startNanos;
+			long cpuNanos = difference(startCpuNanos, getCurrentThreadCpuTime());
+			long allocatedBytes = difference(startAllocatedBytes, getCurrentThreadAllocatedBytes());
+			addPluginPhase(new PluginPhaseEntry(phase, pluginUid, wallNanos, cpuNanos, allocatedBytes));
+		}
+
+		private static long difference(long start, long end) {
+			if (start < 0 || end < 0) {
+				return -1;
+			}
+			return end - start;
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts measuring a plugin call on the current thread.
+	 */
+	public Measurement begin() {
+		return new Measurement();
+	}
+
+	public synchronized void addPluginPhase(PluginPhaseEntry entry) {
+		if (enabled) {
+			pluginPhaseEntries.add(entry);
+		}
+	}
+
+	public synchronized void addRecipeType(RecipeTypeEntry entry) {
+		if (enabled) {
+			recipeTypeEntries.add(entry);
+		}
+	}
+
+	public synchronized List<PluginPhaseEntry> getPluginPhaseEntries() {
+		return List.copyOf(pluginPhaseEntries);
+	}
+
+	public synchronized List<RecipeTypeEntry> getRecipeTypeEntries() {
+		return List.copyOf(recipeTypeEntries);
+	}
+
+	/**
+	 * Writes the report as {@code <name>.json} and {@code <name>.csv} into the given directory.
+	 * The csv file has one row for each plugin phase, and the recipe types are only in the json file.
+	 */
+	public void writeReport(Path directory, String name) throws IOException {
+		PathUtil.writeUsingTempFile(directory.resolve(name + ".json"), List.of(toJson()));
+		PathUtil.writeUsingTempFile(directory.resolve(name + ".csv"), toCsvLines());
+	}
+
+	public String toJson() {
+		List<PluginPhaseEntry> plugins = sortedPluginPhaseEntries();
+		List<RecipeTypeEntry> recipeTypes = getRecipeTypeEntries()
+			.stream()
+			.sorted(Comparator.comparingLong(RecipeTypeEntry::nanos).reversed())
+			.toList();
+
+		JsonArray pluginPhasesJson = new JsonArray(plugins.size());
+		for (PluginPhaseEntry entry : plugins) {
+			JsonObject entryJson = new JsonObject();
+			entryJson.addProperty("phase", entry.phase());
+			entryJson.addProperty("plugin", entry.pluginUid());
+			entryJson.addProperty("wallNanos", entry.wallNanos());
+			entryJson.addProperty("cpuNanos", entry.cpuNanos());
+			entryJson.addProperty("allocatedBytes", entry.allocatedBytes());
+			pluginPhasesJson.add(entryJson);
+		}
+		JsonArray recipeTypesJson = new JsonArray(recipeTypes.size());
+		for (RecipeTypeEntry entry : recipeTypes) {
+			JsonObject entryJson = new JsonObject();
+			entryJson.addProperty("recipeType", entry.recipeType());
+			entryJson.addProperty("nanos", entry.nanos());
+			entryJson.addProperty("recipeCount", entry.recipeCount());
+			entryJson.addProperty("addedCount", entry.addedCount());
+			recipeTypesJson.add(entryJson);
+		}
+
+		JsonObject json = new JsonObject();
+		json.add("pluginPhases", pluginPhasesJson);
+		json.add("recipeTypes", recipeTypesJson);
+		return GSON.toJson(json);
+	}
+
+	public List<String> toCsvLines() {
+		List<String> lines = new ArrayList<>();
+		lines.add("phase,plugin,wallNanos,cpuNanos,allocatedBytes");
+		for (PluginPhaseEntry entry : sortedPluginPhaseEntries()) {
+			lines.add(String.join(",",
+				csvField(entry.phase()),
+				csvField(entry.pluginUid()),
+				Long.toString(entry.wallNanos()),
+				Long.toString(entry.cpuNanos()),
+				Long.toString(entry.allocatedBytes())
+			));
+		}
+		return lines;
+	}
+
+	private List<PluginPhaseEntry> sortedPluginPhaseEntries() {
+		return getPluginPhaseEntries()
+			.stream()
+			.sorted(Comparator.comparingLong(PluginPhaseEntry::wallNanos).reversed())
+			.toList();
+	}
+
+	private long getCurrentThreadCpuTime() {
+		if (!enabled || !threadMXBean.isCurrentThreadCpuTimeSupported()) {
+			return -1;
+		}
+		return threadMXBean.getCurrentThreadCpuTime();
+	}
+
+	private long getCurrentThreadAllocatedBytes() {
+		if (enabled && threadMXBean instanceof com.sun.management.ThreadMXBean sunThreadMXBean && sunThreadMXBean.isThreadAllocatedMemorySupported()) {
+			return sunThreadMXBean.getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+
+	private static String csvField(String value) {
+		if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+		return value;
+	}
+}
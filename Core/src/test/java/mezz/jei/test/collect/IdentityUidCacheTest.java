@@ -0,0 +1,56 @@
+package mezz.jei.test.collect;
+
+import mezz.jei.core.collect.IdentityUidCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdentityUidCacheTest {
+	private static final IdentityUidCache<List<String>> CACHE = new IdentityUidCache<>(
+		100,
+		List::copyOf
+	);
+
+	@Test
+	public void testUidIsCached() {
+		AtomicInteger computeCount = new AtomicInteger();
+		List<String> object = new ArrayList<>(List.of("a", "b"));
+
+		String first = CACHE.getUid(object, o -> {
+			computeCount.incrementAndGet();
+			return String.join(":", o);
+		});
+		String second = CACHE.getUid(object, o -> {
+			computeCount.incrementAndGet();
+			return String.join(":", o);
+		});
+
+		Assertions.assertEquals("a:b", first);
+		Assertions.assertSame(first, second);
+		Assertions.assertEquals(1, computeCount.get());
+	}
+
+	@Test
+	public void testEqualObjectsAreCachedSeparately() {
+		AtomicInteger computeCount = new AtomicInteger();
+		List<String> object = new ArrayList<>(List.of("a"));
+		List<String> equalObject = new ArrayList<>(List.of("a"));
+
+		CACHE.getUid(object, o -> String.valueOf(computeCount.incrementAndGet()));
+		String uid = CACHE.getUid(equalObject, o -> String.valueOf(computeCount.incrementAndGet()));
+
+		Assertions.assertEquals("2", uid);
+	}
+
+	@Test
+	public void testChangedObjectIsRecomputed() {
+		List<String> object = new ArrayList<>(List.of("a"));
+		Assertions.assertEquals("a", CACHE.getUid(object, o -> String.join(":", o)));
+
+		object.add("b");
+		Assertions.assertEquals("a:b", CACHE.getUid(object, o -> String.join(":", o)));
+	}
+}
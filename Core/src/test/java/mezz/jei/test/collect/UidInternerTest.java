@@ -0,0 +1,27 @@
+package mezz.jei.test.collect;
+
+import mezz.jei.core.collect.UidInterner;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UidInternerTest {
+	@Test
+	public void testIdsAreDense() {
+		UidInterner interner = new UidInterner();
+		Assertions.assertEquals(0, interner.intern("minecraft:stone"));
+		Assertions.assertEquals(1, interner.intern("minecraft:dirt"));
+		Assertions.assertEquals(0, interner.intern(new String("minecraft:stone")));
+		Assertions.assertEquals(2, interner.intern("minecraft:grass"));
+		Assertions.assertEquals(3, interner.size());
+	}
+
+	@Test
+	public void testGetIdDoesNotIntern() {
+		UidInterner interner = new UidInterner();
+		interner.intern("minecraft:stone");
+
+		Assertions.assertEquals(0, interner.getId("minecraft:stone"));
+		Assertions.assertEquals(UidInterner.NO_ID, interner.getId("minecraft:dirt"));
+		Assertions.assertEquals(1, interner.size());
+	}
+}
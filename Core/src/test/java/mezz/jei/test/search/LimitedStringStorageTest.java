@@ -0,0 +1,43 @@
+package mezz.jei.test.search;
+
+import mezz.jei.core.search.LimitedStringStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+public class LimitedStringStorageTest {
+	private static Set<String> search(LimitedStringStorage<String> storage, String word) {
+		Set<String> results = new HashSet<>();
+		storage.getSearchResults(word, results::addAll);
+		return results;
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		LimitedStringStorage<String> storage = new LimitedStringStorage<>();
+		storage.put("minecraft", "stone");
+		storage.put("minecraft", "dirt");
+		storage.put("thermal", "machine");
+		storage.put("thermalfoundation", "ingot");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		storage.write(new DataOutputStream(bytes), String::length);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+		// values are saved by id, so map the ids back to different values to check they are used
+		LimitedStringStorage<String> loaded = new LimitedStringStorage<>();
+		loaded.read(buffer, id -> "length " + id);
+		Assertions.assertFalse(buffer.hasRemaining());
+
+		Assertions.assertEquals(Set.of("length 5", "length 4"), search(loaded, "craft"));
+		Assertions.assertEquals(Set.of("length 7", "length 5"), search(loaded, "therm"));
+		Assertions.assertEquals(Set.of("length 5"), search(loaded, "foundation"));
+		Assertions.assertEquals(Set.of(), search(loaded, "missing"));
+	}
+}
@@ -0,0 +1,42 @@
+package mezz.jei.test.search;
+
+import mezz.jei.core.search.PreSortedList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+public class PreSortedListTest {
+	private static final PreSortedList<String> LIST = new PreSortedList<>(List.of("a", "b", "c", "d", "e"));
+
+	@Test
+	public void testAllElementsKeepOrder() {
+		Assertions.assertEquals(List.of("a", "b", "c", "d", "e"), LIST.getElements(s -> true));
+		Assertions.assertEquals(List.of("a", "c", "d", "e"), LIST.getElements(s -> !s.equals("b")));
+	}
+
+	@Test
+	public void testSortedIndexesAreReadInOrder() {
+		BitSet sortedIndexes = new BitSet();
+		sortedIndexes.set(4);
+		sortedIndexes.set(0);
+		sortedIndexes.set(2);
+		Assertions.assertEquals(List.of("a", "c", "e"), LIST.getElements(sortedIndexes, s -> true));
+		Assertions.assertEquals(List.of("a", "e"), LIST.getElements(sortedIndexes, s -> !s.equals("c")));
+	}
+
+	@Test
+	public void testIndexesOutsideTheListAreIgnored() {
+		BitSet sortedIndexes = new BitSet();
+		sortedIndexes.set(1);
+		sortedIndexes.set(100);
+		Assertions.assertEquals(List.of("b"), LIST.getElements(sortedIndexes, s -> true));
+	}
+
+	@Test
+	public void testEmpty() {
+		Assertions.assertEquals(List.of(), LIST.getElements(new BitSet(), s -> true));
+		Assertions.assertEquals(0, new PreSortedList<>(List.of()).size());
+	}
+}
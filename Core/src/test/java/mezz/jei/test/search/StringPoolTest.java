@@ -0,0 +1,42 @@
+package mezz.jei.test.search;
+
+import mezz.jei.core.search.StringPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+	@Test
+	public void testDuplicatesAreShared() {
+		StringPool stringPool = new StringPool();
+		String first = new String("minecraft");
+		String second = new String("minecraft");
+		Assertions.assertNotSame(first, second);
+
+		Assertions.assertSame(first, stringPool.intern(first));
+		Assertions.assertSame(first, stringPool.intern(second));
+		Assertions.assertSame(first, stringPool.intern(first));
+	}
+
+	@Test
+	public void testClear() {
+		StringPool stringPool = new StringPool();
+		String first = new String("minecraft");
+		String second = new String("minecraft");
+		stringPool.intern(first);
+		stringPool.clear();
+
+		Assertions.assertSame(second, stringPool.intern(second));
+	}
+
+	@Test
+	public void testStatistics() {
+		StringPool stringPool = new StringPool();
+		stringPool.intern(new String("minecraft"));
+		stringPool.intern(new String("minecraft"));
+		stringPool.intern(new String("thermal"));
+
+		String statistics = stringPool.statistics();
+		Assertions.assertTrue(statistics.contains("Keys interned: 3"), statistics);
+		Assertions.assertTrue(statistics.contains("Duplicate keys shared: 1"), statistics);
+	}
+}
@@ -0,0 +1,196 @@
+package mezz.jei.test.search.suffixarray;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.suffixarray.GeneralizedSuffixArray;
+import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+public class GeneralizedSuffixArrayTest {
+
+	private static Set<Integer> search(ISearchStorage<Integer> storage, String word) {
+		IntSet results = new IntOpenHashSet();
+		storage.getSearchResults(word, results::addAll);
+		return results;
+	}
+
+	private static Set<Integer> allElements(ISearchStorage<Integer> storage) {
+		IntSet results = new IntOpenHashSet();
+		storage.getAllElements(results::addAll);
+		return results;
+	}
+
+	@Test
+	public void testSearchMerged() {
+		testSearch(new GeneralizedSuffixArray<>(0));
+	}
+
+	@Test
+	public void testSearchPending() {
+		testSearch(new GeneralizedSuffixArray<>(Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testSearchPartiallyMerged() {
+		testSearch(new GeneralizedSuffixArray<>(2));
+	}
+
+	private static void testSearch(GeneralizedSuffixArray<Integer> array) {
+		array.put("a", 0);
+		Assertions.assertEquals(Set.of(0), search(array, "a"));
+
+		array.put("ab", 1);
+		Assertions.assertEquals(Set.of(1), search(array, "ab"));
+		Assertions.assertEquals(Set.of(1), search(array, "b"));
+		Assertions.assertEquals(Set.of(0, 1), search(array, "a"));
+
+		array.put("cab", 2);
+		Assertions.assertEquals(Set.of(2), search(array, "cab"));
+		Assertions.assertEquals(Set.of(2), search(array, "ca"));
+		Assertions.assertEquals(Set.of(1, 2), search(array, "ab"));
+		Assertions.assertEquals(Set.of(0, 1, 2), search(array, "a"));
+
+		array.put("abcabxabcd", 3);
+		Assertions.assertEquals(Set.of(3), search(array, "abcabxabcd"));
+		Assertions.assertEquals(Set.of(3), search(array, "bcabxabc"));
+		Assertions.assertEquals(Set.of(3), search(array, "xa"));
+		Assertions.assertEquals(Set.of(3), search(array, "d"));
+		Assertions.assertEquals(Set.of(2, 3), search(array, "cab"));
+		Assertions.assertEquals(Set.of(1, 2, 3), search(array, "b"));
+		Assertions.assertEquals(Set.of(0, 1, 2, 3), search(array, "a"));
+
+		Assertions.assertEquals(Set.of(), search(array, ""));
+		Assertions.assertEquals(Set.of(), search(array, "abcd "));
+		Assertions.assertEquals(Set.of(), search(array, "ba"));
+		Assertions.assertEquals(Set.of(), search(array, "z"));
+
+		Assertions.assertEquals(Set.of(0, 1, 2, 3), allElements(array));
+	}
+
+	@Test
+	public void testSearchWordWithTerminator() {
+		GeneralizedSuffixArray<Integer> array = new GeneralizedSuffixArray<>(0);
+		array.put("ab", 0);
+		array.put("b", 1);
+
+		Assertions.assertEquals(Set.of(), search(array, "b\0"));
+		Assertions.assertEquals(Set.of(), search(array, "b\0b"));
+		Assertions.assertEquals(Set.of(), search(array, "\0"));
+		Assertions.assertEquals(Set.of(0, 1), search(array, "b"));
+	}
+
+	@Test
+	public void testPuttingSameString() {
+		GeneralizedSuffixArray<Integer> array = new GeneralizedSuffixArray<>(0);
+
+		array.put("ab", 0);
+		Assertions.assertEquals(Set.of(0), search(array, "a"));
+		Assertions.assertEquals(Set.of(0), search(array, "ab"));
+
+		array.put("ab", 1);
+		Assertions.assertEquals(Set.of(0, 1), search(array, "a"));
+		Assertions.assertEquals(Set.of(0, 1), search(array, "b"));
+		Assertions.assertEquals(Set.of(0, 1), search(array, "ab"));
+	}
+
+	@Test
+	public void testMatchesSuffixTree() {
+		Random random = new Random(1234);
+		GeneralizedSuffixTree<Integer> tree = new GeneralizedSuffixTree<>();
+		GeneralizedSuffixArray<Integer> array = new GeneralizedSuffixArray<>(16);
+
+		for (int i = 0; i < 500; i++) {
+			String key = randomString(random, 1 + random.nextInt(12));
+			tree.put(key, i);
+			array.put(key, i);
+
+			String word = randomString(random, 1 + random.nextInt(3));
+			Assertions.assertEquals(search(tree, word), search(array, word), word);
+		}
+		Assertions.assertEquals(allElements(tree), allElements(array));
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		Random random = new Random(5678);
+		GeneralizedSuffixArray<Integer> array = new GeneralizedSuffixArray<>(16);
+		for (int i = 0; i < 200; i++) {
+			array.put(randomString(random, 1 + random.nextInt(12)), i);
+		}
+		// leave some keys pending, writing must include them
+		array.put("dddddddd", 200);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		array.write(new DataOutputStream(bytes), value -> value + 1000);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+		GeneralizedSuffixArray<Integer> loaded = new GeneralizedSuffixArray<>();
+		loaded.read(buffer, id -> id - 1000);
+		Assertions.assertFalse(buffer.hasRemaining());
+
+		Assertions.assertEquals(allElements(array), allElements(loaded));
+		for (int i = 0; i < 100; i++) {
+			String word = randomString(random, 1 + random.nextInt(3));
+			Assertions.assertEquals(search(array, word), search(loaded, word), word);
+		}
+		Assertions.assertEquals(Set.of(200), search(loaded, "dddddddd"));
+	}
+
+	@Test
+	public void testReadTruncated() throws IOException {
+		GeneralizedSuffixArray<Integer> array = new GeneralizedSuffixArray<>();
+		array.put("abc", 0);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		array.write(new DataOutputStream(bytes), value -> value);
+		byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 6);
+
+		Assertions.assertThrows(IOException.class, () -> new GeneralizedSuffixArray<Integer>().read(ByteBuffer.wrap(truncated), id -> id));
+	}
+
+	@Test
+	public void testReadCorrupted() throws IOException {
+		GeneralizedSuffixArray<Integer> array = new GeneralizedSuffixArray<>();
+		array.put("abc", 0);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		array.write(new DataOutputStream(bytes), value -> value);
+		byte[] saved = bytes.toByteArray();
+
+		// chars: length at 0, "abc\0" at 4
+		// keyStarts: length at 12, first key start at 16
+		// valueStarts: length at 20, values at 24
+		// suffixes: length at 32, first suffix at 36
+		ByteBuffer missingTerminator = ByteBuffer.wrap(saved.clone());
+		missingTerminator.putChar(10, 'd');
+		Assertions.assertThrows(IOException.class, () -> new GeneralizedSuffixArray<Integer>().read(missingTerminator, id -> id));
+
+		ByteBuffer badKeyStart = ByteBuffer.wrap(saved.clone());
+		badKeyStart.putInt(16, 7);
+		Assertions.assertThrows(IOException.class, () -> new GeneralizedSuffixArray<Integer>().read(badKeyStart, id -> id));
+
+		ByteBuffer badSuffix = ByteBuffer.wrap(saved.clone());
+		badSuffix.putInt(36, 100);
+		Assertions.assertThrows(IOException.class, () -> new GeneralizedSuffixArray<Integer>().read(badSuffix, id -> id));
+
+		GeneralizedSuffixArray<Integer> loaded = new GeneralizedSuffixArray<>();
+		loaded.read(ByteBuffer.wrap(saved), id -> id);
+		Assertions.assertEquals(Set.of(0), search(loaded, "bc"));
+	}
+
+	private static String randomString(Random random, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append((char) ('a' + random.nextInt(4)));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,83 @@
+package mezz.jei.test.util;
+
+import mezz.jei.core.util.NearestColorTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class NearestColorTableTest {
+	private static final int[] COLORS = {
+		0xEEEEEE,
+		0x181515,
+		0x963430,
+		0x008000,
+		0x2222dd,
+		0xEED700,
+	};
+
+	private static double distance(int color1, int color2) {
+		int r = (color1 >> 16 & 255) - (color2 >> 16 & 255);
+		int g = (color1 >> 8 & 255) - (color2 >> 8 & 255);
+		int b = (color1 & 255) - (color2 & 255);
+		return r * r + g * g + b * b;
+	}
+
+	@Test
+	public void testExactColors() {
+		NearestColorTable table = new NearestColorTable(COLORS, NearestColorTableTest::distance, 0);
+		for (int i = 0; i < COLORS.length; i++) {
+			Assertions.assertEquals(i, table.getClosestIndex(COLORS[i]));
+		}
+	}
+
+	@Test
+	public void testIgnoresAlpha() {
+		NearestColorTable table = new NearestColorTable(COLORS, NearestColorTableTest::distance, 0);
+		Assertions.assertEquals(2, table.getClosestIndex(0xFF963430));
+		Assertions.assertEquals(2, table.getClosestIndex(0x00963430));
+	}
+
+	@Test
+	public void testMatchesLinearScan() {
+		NearestColorTable table = new NearestColorTable(COLORS, NearestColorTableTest::distance, 0);
+		Random random = new Random(42);
+		for (int i = 0; i < 10_000; i++) {
+			int color = random.nextInt(0x1000000);
+			Assertions.assertEquals(table.findClosestIndex(color), table.getClosestIndex(color));
+		}
+	}
+
+	/**
+	 * When the distance is not smooth, a color inside a cell can be closer to another color than every corner is.
+	 * A corner that is as close to two colors makes its cell a border, so colors in it are still compared against every color.
+	 */
+	@Test
+	public void testTiesAtCornersAreBorders() {
+		// blue 4 is as close to both colors, blue 5 is closer to the second color, and blue 7 is closer to the first
+		int[] colors = {0x000000, 0x000008};
+		NearestColorTable table = new NearestColorTable(colors, (color1, color2) -> {
+			int blue = color2 & 255;
+			if (color1 == colors[0]) {
+				return blue;
+			}
+			return switch (blue) {
+				case 4 -> 4;
+				case 5 -> 2;
+				default -> 8;
+			};
+		}, 0);
+		Assertions.assertEquals(1, table.getClosestIndex(0x000005));
+		Assertions.assertEquals(0, table.getClosestIndex(0x000007));
+	}
+
+	@Test
+	public void testNegativeBorderMargin() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new NearestColorTable(COLORS, NearestColorTableTest::distance, -1));
+	}
+
+	@Test
+	public void testEmptyColors() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new NearestColorTable(new int[0], NearestColorTableTest::distance, 0));
+	}
+}
@@ -0,0 +1,68 @@
+package mezz.jei.test.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import mezz.jei.core.util.StartupProfiler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class StartupProfilerTest {
+	@Test
+	public void testMeasurementIsRecorded() {
+		StartupProfiler profiler = new StartupProfiler();
+		StartupProfiler.Measurement measurement = profiler.begin();
+		measurement.end("Registering recipes", "jei:test");
+
+		List<StartupProfiler.PluginPhaseEntry> entries = profiler.getPluginPhaseEntries();
+		Assertions.assertEquals(1, entries.size());
+		StartupProfiler.PluginPhaseEntry entry = entries.get(0);
+		Assertions.assertEquals("Registering recipes", entry.phase());
+		Assertions.assertEquals("jei:test", entry.pluginUid());
+		Assertions.assertTrue(entry.wallNanos() >= 0);
+	}
+
+	@Test
+	public void testDisabledProfilerRecordsNothing() {
+		StartupProfiler profiler = StartupProfiler.disabled();
+		profiler.begin().end("Registering recipes", "jei:test");
+		profiler.addRecipeType(new StartupProfiler.RecipeTypeEntry("minecraft:crafting", 10, 1, 1));
+
+		Assertions.assertTrue(profiler.getPluginPhaseEntries().isEmpty());
+		Assertions.assertTrue(profiler.getRecipeTypeEntries().isEmpty());
+	}
+
+	@Test
+	public void testReportIsSortedAndEscaped() {
+		StartupProfiler profiler = new StartupProfiler();
+		profiler.addPluginPhase(new StartupProfiler.PluginPhaseEntry("Registering recipes", "mod:fast", 10, 5, 100));
+		profiler.addPluginPhase(new StartupProfiler.PluginPhaseEntry("Registering \"gui\", handlers", "mod:slow", 20, -1, -1));
+		profiler.addRecipeType(new StartupProfiler.RecipeTypeEntry("minecraft:crafting", 30, 4, 3));
+
+		List<String> csv = profiler.toCsvLines();
+		Assertions.assertEquals(List.of(
+			"phase,plugin,wallNanos,cpuNanos,allocatedBytes",
+			"\"Registering \"\"gui\"\", handlers\",mod:slow,20,-1,-1",
+			"Registering recipes,mod:fast,10,5,100"
+		), csv);
+
+		JsonObject json = JsonParser.parseString(profiler.toJson()).getAsJsonObject();
+		JsonArray pluginPhases = json.getAsJsonArray("pluginPhases");
+		Assertions.assertEquals(2, pluginPhases.size());
+		JsonObject slowPhase = pluginPhases.get(0).getAsJsonObject();
+		Assertions.assertEquals("Registering \"gui\", handlers", slowPhase.get("phase").getAsString());
+		Assertions.assertEquals("mod:slow", slowPhase.get("plugin").getAsString());
+		Assertions.assertEquals(-1, slowPhase.get("cpuNanos").getAsLong());
+		Assertions.assertEquals("mod:fast", pluginPhases.get(1).getAsJsonObject().get("plugin").getAsString());
+
+		JsonArray recipeTypes = json.getAsJsonArray("recipeTypes");
+		Assertions.assertEquals(1, recipeTypes.size());
+		JsonObject recipeType = recipeTypes.get(0).getAsJsonObject();
+		Assertions.assertEquals("minecraft:crafting", recipeType.get("recipeType").getAsString());
+		Assertions.assertEquals(30, recipeType.get("nanos").getAsLong());
+		Assertions.assertEquals(4, recipeType.get("recipeCount").getAsInt());
+		Assertions.assertEquals(3, recipeType.get("addedCount").getAsInt());
+	}
+}
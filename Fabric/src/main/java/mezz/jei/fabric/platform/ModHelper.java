@@ -6,6 +6,8 @@ import net.fabricmc.loader.api.ModContainer;
 import net.fabricmc.loader.api.metadata.ModMetadata;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
+
 public class ModHelper implements IPlatformModHelper {
 	@Override
 	public String getModNameForModId(String modId) {
@@ -16,6 +18,16 @@ public class ModHelper implements IPlatformModHelper {
 			.orElseGet(() -> StringUtils.capitalize(modId));
 	}
 
+	@Override
+	public List<String> getModVersions() {
+		FabricLoader loader = FabricLoader.getInstance();
+		return loader.getAllMods()
+			.stream()
+			.map(ModContainer::getMetadata)
+			.map(metadata -> metadata.getId() + "@" + metadata.getVersion().getFriendlyString())
+			.toList();
+	}
+
 	@Override
 	public boolean isInDev() {
 		FabricLoader loader = FabricLoader.getInstance();
@@ -9,6 +9,7 @@ import mezz.jei.fabric.network.ConnectionToServer;
 import mezz.jei.gui.config.InternalKeyMappings;
 import mezz.jei.library.startup.JeiStarter;
 import mezz.jei.library.startup.StartData;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.minecraft.client.Minecraft;
 import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import org.apache.logging.log4j.LogManager;
@@ -51,6 +52,9 @@ public class ClientLifecycleHandler {
 			})
 		);
 		JeiLifecycleEvents.GAME_STOP.register(this::stopJei);
+		ClientCommandRegistrationCallback.EVENT.register((dispatcher, buildContext) ->
+			dispatcher.register(jeiStarter.createDebugCommand())
+		);
 	}
 
 	public ResourceManagerReloadListener getReloadListener() {
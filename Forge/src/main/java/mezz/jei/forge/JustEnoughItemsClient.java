@@ -15,6 +15,7 @@ import mezz.jei.library.startup.StartData;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraftforge.client.event.RegisterClientCommandsEvent;
 import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.client.event.RegisterKeyMappingsEvent;
 
@@ -47,6 +48,8 @@ public class JustEnoughItemsClient {
 
 		StartEventObserver startEventObserver = new StartEventObserver(jeiStarter::start, jeiStarter::stop);
 		startEventObserver.register(subscriptions);
+
+		subscriptions.register(RegisterClientCommandsEvent.class, e -> e.getDispatcher().register(jeiStarter.createDebugCommand()));
 	}
 
 	public void register() {
@@ -7,6 +7,8 @@ import net.minecraftforge.fml.loading.FMLLoader;
 import net.minecraftforge.forgespi.language.IModInfo;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
+
 public class ModHelper implements IPlatformModHelper {
 	@Override
 	public String getModNameForModId(String modId) {
@@ -17,6 +19,15 @@ public class ModHelper implements IPlatformModHelper {
 			.orElseGet(() -> StringUtils.capitalize(modId));
 	}
 
+	@Override
+	public List<String> getModVersions() {
+		ModList modList = ModList.get();
+		return modList.getMods()
+			.stream()
+			.map(modInfo -> modInfo.getModId() + "@" + modInfo.getVersion())
+			.toList();
+	}
+
 	@Override
 	public boolean isInDev() {
 		return !FMLLoader.isProduction();
@@ -6,17 +6,34 @@ import mezz.jei.api.recipe.IFocusFactory;
 import mezz.jei.api.recipe.IRecipeManager;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.common.config.IClientConfig;
+import mezz.jei.common.util.DeduplicatingRunner;
 import mezz.jei.gui.config.IBookmarkConfig;
 import mezz.jei.gui.overlay.elements.IElement;
 import mezz.jei.gui.overlay.IIngredientGridSource;
 import net.minecraft.core.RegistryAccess;
+import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SequencedSet;
 
 public class BookmarkList implements IIngredientGridSource {
-	private final List<IBookmark> bookmarks = new LinkedList<>();
+	private static final Duration SAVE_DELAY_TIME = Duration.ofSeconds(1);
+
+	/**
+	 * Bookmarks in display order, with constant time checks for whether something is bookmarked.
+	 */
+	private final SequencedSet<IBookmark> bookmarks = new LinkedHashSet<>();
+	/**
+	 * The elements of the bookmarks in display order, cleared when the bookmarks change.
+	 * The grid asks for these several times every frame.
+	 */
+	private @Nullable List<IElement<?>> elements;
 	private final IRecipeManager recipeManager;
 	private final IFocusFactory focusFactory;
 	private final IIngredientManager ingredientManager;
@@ -25,6 +42,20 @@ public class BookmarkList implements IIngredientGridSource {
 	private final IClientConfig clientConfig;
 	private final IGuiHelper guiHelper;
 	private final List<SourceListChangedListener> listeners = new ArrayList<>();
+	/**
+	 * Saving rewrites the whole file, so changes that come close together are written once, off the render thread.
+	 */
+	private final DeduplicatingRunner delayedSave = new DeduplicatingRunner(this::writeLines, SAVE_DELAY_TIME, "JEI Bookmark Save Delay");
+	/**
+	 * The line of the bookmarks file for each bookmark.
+	 * Serializing uses the ingredient and recipe serializers, so it is done on the client thread when the bookmarks change,
+	 * and bookmarks don't change after they are created, so each one is only serialized once.
+	 */
+	private final Map<IBookmark, String> serializedBookmarks = new HashMap<>();
+	/**
+	 * The serialized bookmarks that the next save will write.
+	 */
+	private volatile List<String> linesToSave = List.of();
 
 	public BookmarkList(
 		IRecipeManager recipeManager,
@@ -50,7 +81,7 @@ public class BookmarkList implements IIngredientGridSource {
 		}
 		addToList(value, clientConfig.isAddingBookmarksToFrontEnabled());
 		notifyListenersOfChange();
-		bookmarkConfig.saveBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, bookmarks);
+		save();
 		return true;
 	}
 
@@ -76,25 +107,61 @@ public class BookmarkList implements IIngredientGridSource {
 		if (!bookmarks.remove(ingredient)) {
 			return false;
 		}
+		serializedBookmarks.remove(ingredient);
+		elements = null;
 
 		notifyListenersOfChange();
-		bookmarkConfig.saveBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, bookmarks);
+		save();
 		return true;
 	}
 
+	private void save() {
+		List<IBookmark> bookmarksToSave = bookmarks.stream()
+			.filter(IBookmark::isSaved)
+			.toList();
+		List<IBookmark> unserialized = bookmarksToSave.stream()
+			.filter(bookmark -> !serializedBookmarks.containsKey(bookmark))
+			.toList();
+		if (!unserialized.isEmpty()) {
+			serializedBookmarks.putAll(bookmarkConfig.serializeBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, unserialized));
+		}
+		linesToSave = bookmarksToSave.stream()
+			.map(serializedBookmarks::get)
+			.filter(Objects::nonNull)
+			.toList();
+		delayedSave.run();
+	}
+
+	private void writeLines() {
+		bookmarkConfig.writeBookmarks(linesToSave);
+	}
+
+	/**
+	 * Saves any changes that are waiting to be saved now, for when JEI is stopping.
+	 */
+	public void flushSave() {
+		delayedSave.flush();
+	}
+
 	public void addToList(IBookmark value, boolean addToFront) {
 		if (addToFront) {
 			bookmarks.addFirst(value);
 		} else {
 			bookmarks.add(value);
 		}
+		elements = null;
 	}
 
 	@Override
 	public List<IElement<?>> getElements() {
-		return bookmarks.stream()
-			.<IElement<?>>map(IBookmark::getElement)
-			.toList();
+		List<IElement<?>> elements = this.elements;
+		if (elements == null) {
+			elements = bookmarks.stream()
+				.<IElement<?>>map(IBookmark::getElement)
+				.toList();
+			this.elements = elements;
+		}
+		return elements;
 	}
 
 	public boolean isEmpty() {
@@ -4,4 +4,11 @@ import mezz.jei.gui.overlay.elements.IElement;
 
 public interface IBookmark {
 	IElement<?> getElement();
+
+	/**
+	 * @return false if this bookmark no longer refers to anything, so it should be left out when the bookmarks are saved.
+	 */
+	default boolean isSaved() {
+		return true;
+	}
 }
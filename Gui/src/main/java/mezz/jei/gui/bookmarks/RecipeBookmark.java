@@ -14,15 +14,40 @@ import mezz.jei.gui.overlay.elements.IElement;
 import mezz.jei.gui.overlay.elements.RecipeBookmarkElement;
 import mezz.jei.gui.recipes.RecipeCategoryIconUtil;
 import net.minecraft.resources.ResourceLocation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
 public class RecipeBookmark<T, R> implements IBookmark {
+	private static final Logger LOGGER = LogManager.getLogger();
+
 	private final IElement<R> element;
 	private final IRecipeCategory<T> recipeCategory;
-	private final T recipe;
 	private final ResourceLocation recipeUid;
 	private final ITypedIngredient<R> recipeOutput;
+	/**
+	 * Finds the recipe and creates the icon for a bookmark that was loaded from the config.
+	 * Set to null the first time it is used, whether it succeeds or not, so that a failure is not repeated every frame.
+	 */
+	private @Nullable IRecipeResolver<T> resolver;
+	private @Nullable T recipe;
+	private @Nullable IDrawable icon;
+	/**
+	 * True if this bookmark was loaded from the config and its recipe could not be found.
+	 */
+	private boolean recipeMissing = false;
+
+	/**
+	 * Looking up a recipe and creating its category icon is slow compared to loading the rest of a bookmark,
+	 * so recipe bookmarks loaded from the config only do it the first time they are shown.
+	 */
+	public interface IRecipeResolver<T> {
+		Optional<T> findRecipe();
+
+		IDrawable createIcon();
+	}
 
 	public static <T> Optional<RecipeBookmark<T, ?>> create(
 		IRecipeLayoutDrawable<T> recipeLayoutDrawable,
@@ -60,11 +85,62 @@ public class RecipeBookmark<T, R> implements IBookmark {
 		ITypedIngredient<R> recipeOutput,
 		IDrawable icon
 	) {
-		this.recipeCategory = recipeCategory;
+		this(recipeCategory, recipeUid, recipeOutput, null);
 		this.recipe = recipe;
+		this.icon = icon;
+	}
+
+	/**
+	 * Create a bookmark that finds its recipe and creates its icon with the resolver when it is first shown.
+	 */
+	public static <T, R> RecipeBookmark<T, R> createUnresolved(
+		IRecipeCategory<T> recipeCategory,
+		ResourceLocation recipeUid,
+		ITypedIngredient<R> recipeOutput,
+		IRecipeResolver<T> resolver
+	) {
+		return new RecipeBookmark<>(recipeCategory, recipeUid, recipeOutput, resolver);
+	}
+
+	private RecipeBookmark(
+		IRecipeCategory<T> recipeCategory,
+		ResourceLocation recipeUid,
+		ITypedIngredient<R> recipeOutput,
+		@Nullable IRecipeResolver<T> resolver
+	) {
+		this.recipeCategory = recipeCategory;
 		this.recipeUid = recipeUid;
 		this.recipeOutput = recipeOutput;
-		this.element = new RecipeBookmarkElement<>(this, icon);
+		this.resolver = resolver;
+		this.element = new RecipeBookmarkElement<>(this);
+	}
+
+	/**
+	 * Only called from the client thread, when the bookmark is rendered or used.
+	 */
+	private void resolve() {
+		IRecipeResolver<T> resolver = this.resolver;
+		if (resolver == null) {
+			return;
+		}
+		this.resolver = null;
+
+		// a bookmark whose recipe can't be found stays shown for now, but is left out of the bookmarks file from the next save
+		try {
+			this.recipe = resolver.findRecipe().orElse(null);
+			if (this.recipe == null) {
+				LOGGER.warn("Failed to find the bookmarked recipe {} in recipe category {}, it will not be saved again", recipeUid, recipeCategory.getRecipeType().getUid());
+			}
+		} catch (RuntimeException | LinkageError e) {
+			LOGGER.error("Failed to look up the bookmarked recipe {} in recipe category {}, it will not be saved again", recipeUid, recipeCategory.getRecipeType().getUid(), e);
+		}
+		this.recipeMissing = this.recipe == null;
+
+		try {
+			this.icon = resolver.createIcon();
+		} catch (RuntimeException | LinkageError e) {
+			LOGGER.error("Failed to create the icon for the bookmarked recipe {} in recipe category {}", recipeUid, recipeCategory.getRecipeType().getUid(), e);
+		}
 	}
 
 	public IRecipeCategory<T> getRecipeCategory() {
@@ -75,8 +151,17 @@ public class RecipeBookmark<T, R> implements IBookmark {
 		return recipeUid;
 	}
 
-	public T getRecipe() {
-		return recipe;
+	/**
+	 * @return the recipe, or empty if this bookmark was loaded from the config and the recipe no longer exists.
+	 */
+	public Optional<T> getRecipe() {
+		resolve();
+		return Optional.ofNullable(recipe);
+	}
+
+	public Optional<IDrawable> getIcon() {
+		resolve();
+		return Optional.ofNullable(icon);
 	}
 
 	public ITypedIngredient<R> getRecipeOutput() {
@@ -88,6 +173,14 @@ public class RecipeBookmark<T, R> implements IBookmark {
 		return element;
 	}
 
+	/**
+	 * Bookmarks that have not been used yet are still saved, their recipe is only looked up when they are used.
+	 */
+	@Override
+	public boolean isSaved() {
+		return !recipeMissing;
+	}
+
 	@Override
 	public int hashCode() {
 		return recipeUid.hashCode();
@@ -12,6 +12,7 @@ import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.api.runtime.config.IJeiConfigValueSerializer.IDeserializeResult;
 import mezz.jei.common.config.file.serializers.TypedIngredientSerializer;
 import mezz.jei.common.util.ServerConfigPathUtil;
+import mezz.jei.core.util.PathUtil;
 import mezz.jei.gui.bookmarks.BookmarkList;
 import mezz.jei.gui.bookmarks.IBookmark;
 import mezz.jei.gui.bookmarks.IngredientBookmark;
@@ -23,13 +24,15 @@ import net.minecraft.nbt.TagParser;
 import net.minecraft.world.item.ItemStack;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class BookmarkConfig implements IBookmarkConfig {
@@ -62,7 +65,7 @@ public class BookmarkConfig implements IBookmarkConfig {
 	}
 
 	@Override
-	public void saveBookmarks(
+	public Map<IBookmark, String> serializeBookmarks(
 		IRecipeManager recipeManager,
 		IFocusFactory focusFactory,
 		IGuiHelper guiHelper,
@@ -70,29 +73,33 @@ public class BookmarkConfig implements IBookmarkConfig {
 		RegistryAccess registryAccess,
 		List<IBookmark> bookmarks
 	) {
-		getPath(jeiConfigurationDir)
-			.ifPresent(path -> {
-				TypedIngredientSerializer ingredientSerializer = new TypedIngredientSerializer(ingredientManager);
-				RecipeBookmarkSerializer recipeBookmarkSerializer = new RecipeBookmarkSerializer(recipeManager, focusFactory, ingredientSerializer, guiHelper);
+		TypedIngredientSerializer ingredientSerializer = new TypedIngredientSerializer(ingredientManager);
+		RecipeBookmarkSerializer recipeBookmarkSerializer = new RecipeBookmarkSerializer(recipeManager, focusFactory, ingredientSerializer, guiHelper);
 
-				List<String> strings = new ArrayList<>();
-				for (IBookmark bookmark : bookmarks) {
-					if (bookmark instanceof IngredientBookmark<?> ingredientBookmark) {
-						ITypedIngredient<?> typedIngredient = ingredientBookmark.getIngredient();
-						if (typedIngredient.getIngredient() instanceof ItemStack stack) {
-							strings.add(MARKER_STACK + stack.save(registryAccess));
-						} else {
-							strings.add(MARKER_INGREDIENT + ingredientSerializer.serialize(typedIngredient));
-						}
-					} else if (bookmark instanceof RecipeBookmark<?,?> recipeBookmark) {
-						strings.add(MARKER_RECIPE + recipeBookmarkSerializer.serialize(recipeBookmark));
-					} else {
-						LOGGER.error("Unknown IBookmark type, unable to save it: {}", bookmark.getClass());
-					}
+		Map<IBookmark, String> strings = new HashMap<>();
+		for (IBookmark bookmark : bookmarks) {
+			if (bookmark instanceof IngredientBookmark<?> ingredientBookmark) {
+				ITypedIngredient<?> typedIngredient = ingredientBookmark.getIngredient();
+				if (typedIngredient.getIngredient() instanceof ItemStack stack) {
+					strings.put(bookmark, MARKER_STACK + stack.save(registryAccess));
+				} else {
+					strings.put(bookmark, MARKER_INGREDIENT + ingredientSerializer.serialize(typedIngredient));
 				}
+			} else if (bookmark instanceof RecipeBookmark<?,?> recipeBookmark) {
+				strings.put(bookmark, MARKER_RECIPE + recipeBookmarkSerializer.serialize(recipeBookmark));
+			} else {
+				LOGGER.error("Unknown IBookmark type, unable to save it: {}", bookmark.getClass());
+			}
+		}
+		return strings;
+	}
 
+	@Override
+	public void writeBookmarks(List<String> lines) {
+		getPath(jeiConfigurationDir)
+			.ifPresent(path -> {
 				try {
-					Files.write(path, strings);
+					PathUtil.writeUsingTempFile(path, lines);
 				} catch (IOException e) {
 					LOGGER.error("Failed to save bookmarks list to file {}", path, e);
 				}
@@ -131,99 +138,139 @@ public class BookmarkConfig implements IBookmarkConfig {
 
 				IIngredientHelper<ItemStack> itemStackHelper = ingredientManager.getIngredientHelper(VanillaTypes.ITEM_STACK);
 
-				for (String line : lines) {
-					if (line.startsWith(MARKER_STACK)) {
-						String itemStackAsJson = line.substring(MARKER_STACK.length());
-						loadItemStackBookmark(registryAccess, itemStackHelper, ingredientManager, itemStackAsJson, bookmarkList);
-					} else if (line.startsWith(MARKER_INGREDIENT)) {
-						String serializedIngredient = line.substring(MARKER_INGREDIENT.length());
-						loadIngredientBookmark(ingredientSerializer, ingredientManager, serializedIngredient, bookmarkList);
-					} else if (line.startsWith(LEGACY_MARKER_OTHER)) {
-						String uid = line.substring(LEGACY_MARKER_OTHER.length());
-						loadLegacyIngredientBookmark(otherIngredientTypes, ingredientManager, uid, bookmarkList);
-					} else if (line.startsWith(MARKER_RECIPE)) {
-						String serializedRecipe = line.substring(MARKER_RECIPE.length());
-						loadRecipeBookmark(recipeBookmarkSerializer, serializedRecipe, bookmarkList);
-					} else {
-						LOGGER.error("Failed to load unknown bookmark type:\n{}", line);
-					}
+				// Parsing item stack nbt only runs vanilla code, so it is spread over the common pool.
+				// Decoding the stacks and creating the bookmarks calls into codecs and ingredient helpers
+				// from other mods, so that stays on this thread.
+				List<ParsedNbt> parsedNbt = lines.parallelStream()
+					.map(BookmarkConfig::parseItemStackNbt)
+					.toList();
+				for (int i = 0; i < lines.size(); i++) {
+					String line = lines.get(i);
+					loadBookmark(registryAccess, itemStackHelper, ingredientManager, ingredientSerializer, otherIngredientTypes, recipeBookmarkSerializer, line, parsedNbt.get(i))
+						.ifPresent(bookmark -> bookmarkList.addToList(bookmark, false));
 				}
 				bookmarkList.notifyListenersOfChange();
 			});
 	}
 
-	private static void loadItemStackBookmark(
+	/**
+	 * The result of parsing the nbt of an item stack bookmark line, before it is decoded into an {@link ItemStack}.
+	 * Lines that are not item stack bookmarks have neither a tag nor an error.
+	 */
+	private record ParsedNbt(@Nullable CompoundTag tag, @Nullable CommandSyntaxException error) {
+		private static final ParsedNbt NONE = new ParsedNbt(null, null);
+	}
+
+	private static ParsedNbt parseItemStackNbt(String line) {
+		if (!line.startsWith(MARKER_STACK)) {
+			return ParsedNbt.NONE;
+		}
+		String itemStackAsJson = line.substring(MARKER_STACK.length());
+		try {
+			return new ParsedNbt(TagParser.parseTag(itemStackAsJson), null);
+		} catch (CommandSyntaxException e) {
+			return new ParsedNbt(null, e);
+		}
+	}
+
+	private static Optional<? extends IBookmark> loadBookmark(
+		RegistryAccess registryAccess,
+		IIngredientHelper<ItemStack> itemStackHelper,
+		IIngredientManager ingredientManager,
+		TypedIngredientSerializer ingredientSerializer,
+		Collection<IIngredientType<?>> otherIngredientTypes,
+		RecipeBookmarkSerializer recipeBookmarkSerializer,
+		String line,
+		ParsedNbt parsedNbt
+	) {
+		if (line.startsWith(MARKER_STACK)) {
+			String itemStackAsJson = line.substring(MARKER_STACK.length());
+			return loadItemStackBookmark(registryAccess, itemStackHelper, ingredientManager, itemStackAsJson, parsedNbt);
+		} else if (line.startsWith(MARKER_INGREDIENT)) {
+			String serializedIngredient = line.substring(MARKER_INGREDIENT.length());
+			return loadIngredientBookmark(ingredientSerializer, ingredientManager, serializedIngredient);
+		} else if (line.startsWith(LEGACY_MARKER_OTHER)) {
+			String uid = line.substring(LEGACY_MARKER_OTHER.length());
+			return loadLegacyIngredientBookmark(otherIngredientTypes, ingredientManager, uid);
+		} else if (line.startsWith(MARKER_RECIPE)) {
+			String serializedRecipe = line.substring(MARKER_RECIPE.length());
+			return loadRecipeBookmark(recipeBookmarkSerializer, serializedRecipe);
+		} else {
+			LOGGER.error("Failed to load unknown bookmark type:\n{}", line);
+			return Optional.empty();
+		}
+	}
+
+	private static Optional<IngredientBookmark<ItemStack>> loadItemStackBookmark(
 		RegistryAccess registryAccess,
 		IIngredientHelper<ItemStack> itemStackHelper,
 		IIngredientManager ingredientManager,
 		String itemStackAsJson,
-		BookmarkList bookmarkList
+		ParsedNbt parsedNbt
 	) {
-		try {
-			CompoundTag itemStackAsNbt = TagParser.parseTag(itemStackAsJson);
-			ItemStack itemStack = ItemStack.parseOptional(registryAccess, itemStackAsNbt);
-			if (!itemStack.isEmpty()) {
-				ItemStack normalized = itemStackHelper.normalizeIngredient(itemStack);
-				Optional<ITypedIngredient<ItemStack>> typedIngredient = ingredientManager.createTypedIngredient(VanillaTypes.ITEM_STACK, normalized);
-				if (typedIngredient.isEmpty()) {
-					LOGGER.warn("Failed to load bookmarked ItemStack from json string, the item no longer exists:\n{}", itemStackAsJson);
-				} else {
-					IngredientBookmark<ItemStack> bookmark = IngredientBookmark.create(typedIngredient.get(), ingredientManager);
-					bookmarkList.addToList(bookmark, false);
-				}
+		CompoundTag itemStackAsNbt = parsedNbt.tag();
+		if (itemStackAsNbt == null) {
+			LOGGER.error("Failed to load bookmarked ItemStack from json string:\n{}", itemStackAsJson, parsedNbt.error());
+			return Optional.empty();
+		}
+		ItemStack itemStack = ItemStack.parseOptional(registryAccess, itemStackAsNbt);
+		if (!itemStack.isEmpty()) {
+			ItemStack normalized = itemStackHelper.normalizeIngredient(itemStack);
+			Optional<ITypedIngredient<ItemStack>> typedIngredient = ingredientManager.createTypedIngredient(VanillaTypes.ITEM_STACK, normalized);
+			if (typedIngredient.isEmpty()) {
+				LOGGER.warn("Failed to load bookmarked ItemStack from json string, the item no longer exists:\n{}", itemStackAsJson);
 			} else {
-				LOGGER.warn("Failed to load bookmarked ItemStack from json string, the item is empty:\n{}", itemStackAsJson);
+				return Optional.of(IngredientBookmark.create(typedIngredient.get(), ingredientManager));
 			}
-		} catch (CommandSyntaxException e) {
-			LOGGER.error("Failed to load bookmarked ItemStack from json string:\n{}", itemStackAsJson, e);
+		} else {
+			LOGGER.warn("Failed to load bookmarked ItemStack from json string, the item is empty:\n{}", itemStackAsJson);
 		}
+		return Optional.empty();
 	}
 
-	private static void loadIngredientBookmark(
+	private static Optional<IngredientBookmark<?>> loadIngredientBookmark(
 		TypedIngredientSerializer ingredientSerializer,
 		IIngredientManager ingredientManager,
-		String serializedIngredient,
-		BookmarkList bookmarkList
+		String serializedIngredient
 	) {
 		IDeserializeResult<ITypedIngredient<?>> deserialized = ingredientSerializer.deserialize(serializedIngredient);
 		Optional<ITypedIngredient<?>> result = deserialized.getResult();
 		if (result.isEmpty()) {
 			List<String> errors = deserialized.getErrors();
 			LOGGER.warn("Failed to load bookmarked ingredients from string: \n{}\n{}", serializedIngredient, String.join(", ", errors));
-		} else {
-			IngredientBookmark<?> bookmark = IngredientBookmark.create(result.get(), ingredientManager);
-			bookmarkList.addToList(bookmark, false);
+			return Optional.empty();
 		}
+		return Optional.of(IngredientBookmark.create(result.get(), ingredientManager));
 	}
 
-	private static void loadLegacyIngredientBookmark(
+	private static Optional<IngredientBookmark<?>> loadLegacyIngredientBookmark(
 		Collection<IIngredientType<?>> otherIngredientTypes,
 		IIngredientManager ingredientManager,
-		String uid,
-		BookmarkList bookmarkList
+		String uid
 	) {
 		Optional<ITypedIngredient<?>> typedIngredient = getLegacyNormalizedIngredientByUid(ingredientManager, otherIngredientTypes, uid);
 		if (typedIngredient.isEmpty()) {
 			LOGGER.error("Failed to load unknown bookmarked ingredient with uid:\n{}", uid);
-		} else {
-			IngredientBookmark<?> bookmark = IngredientBookmark.create(typedIngredient.get(), ingredientManager);
-			bookmarkList.addToList(bookmark, false);
+			return Optional.empty();
 		}
+		return Optional.of(IngredientBookmark.create(typedIngredient.get(), ingredientManager));
 	}
 
-	private static void loadRecipeBookmark(
+	/**
+	 * Recipe bookmarks are loaded without looking up their recipe,
+	 * that happens when they are first shown in the bookmark overlay.
+	 */
+	private static Optional<RecipeBookmark<?, ?>> loadRecipeBookmark(
 		RecipeBookmarkSerializer recipeBookmarkSerializer,
-		String serializedRecipe,
-		BookmarkList bookmarkList
+		String serializedRecipe
 	) {
 		IDeserializeResult<RecipeBookmark<?, ?>> deserialized = recipeBookmarkSerializer.deserialize(serializedRecipe);
 		Optional<RecipeBookmark<?, ?>> result = deserialized.getResult();
 		if (result.isEmpty()) {
 			List<String> errors = deserialized.getErrors();
 			LOGGER.warn("Failed to load bookmarked recipe from string: \n{}\n{}", serializedRecipe, String.join(", ", errors));
-		} else {
-			bookmarkList.addToList(result.get(), false);
 		}
+		return result;
 	}
 
 	private static Optional<ITypedIngredient<?>> getLegacyNormalizedIngredientByUid(IIngredientManager ingredientManager, Collection<IIngredientType<?>> ingredientTypes, String uid) {
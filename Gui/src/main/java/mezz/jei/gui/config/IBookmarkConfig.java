@@ -9,9 +9,20 @@ import mezz.jei.gui.bookmarks.IBookmark;
 import net.minecraft.core.RegistryAccess;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IBookmarkConfig {
-	void saveBookmarks(IRecipeManager recipeManager, IFocusFactory focusFactory, IGuiHelper guiHelper, IIngredientManager ingredientManager, RegistryAccess registryAccess, List<IBookmark> bookmarks);
+	/**
+	 * Turns each of the bookmarks into its line of the bookmarks file.
+	 * Bookmarks that can't be saved are left out.
+	 * This uses the ingredient and recipe serializers, so it must be called on the client thread.
+	 */
+	Map<IBookmark, String> serializeBookmarks(IRecipeManager recipeManager, IFocusFactory focusFactory, IGuiHelper guiHelper, IIngredientManager ingredientManager, RegistryAccess registryAccess, List<IBookmark> bookmarks);
+
+	/**
+	 * Writes the lines from {@link #serializeBookmarks} to the bookmarks file, in bookmark order. This can be called from any thread.
+	 */
+	void writeBookmarks(List<String> lines);
 
 	void loadBookmarks(IRecipeManager recipeManager, IFocusFactory focusFactory, IGuiHelper guiHelper,IIngredientManager ingredientManager, RegistryAccess registryAccess, BookmarkList bookmarkList);
 }
@@ -91,30 +91,40 @@ public class RecipeBookmarkSerializer implements IJeiConfigValueSerializer<Recip
 		RecipeType<?> recipeType = recipeTypeResult.get();
 
 		IRecipeCategory<?> recipeCategory = recipeManager.getRecipeCategory(recipeType);
-		return createBookmark(string, recipeCategory, recipeUid, output);
+		return createBookmark(recipeCategory, recipeUid, output);
 	}
 
-	private <T> DeserializeResult<RecipeBookmark<?, ?>> createBookmark(String string, IRecipeCategory<T> recipeCategory, ResourceLocation recipeUid, ITypedIngredient<?> output) {
-		IFocus<?> focus = focusFactory.createFocus(RecipeIngredientRole.OUTPUT, output);
-
-		Optional<T> recipeResult = findRecipe(recipeCategory, List.of(focus), recipeUid);
-		if (recipeResult.isEmpty()) {
-			String error = "could not find a recipe for this string: %s".formatted(string);
-			return new DeserializeResult<>(null, error);
-		}
-
-		T recipe = recipeResult.get();
-		IDrawable icon = RecipeCategoryIconUtil.create(
-			recipeCategory,
-			recipeManager,
-			guiHelper
-		);
-		RecipeBookmark<T, ?> recipeBookmark = new RecipeBookmark<>(recipeCategory, recipe, recipeUid, output, icon);
+	/**
+	 * The recipe is only looked up when the bookmark is first shown, see {@link RecipeBookmark.IRecipeResolver}.
+	 */
+	private <T> DeserializeResult<RecipeBookmark<?, ?>> createBookmark(IRecipeCategory<T> recipeCategory, ResourceLocation recipeUid, ITypedIngredient<?> output) {
+		RecipeBookmark.IRecipeResolver<T> resolver = new RecipeBookmark.IRecipeResolver<>() {
+			@Override
+			public Optional<T> findRecipe() {
+				IFocus<?> focus = focusFactory.createFocus(RecipeIngredientRole.OUTPUT, output);
+				return RecipeBookmarkSerializer.this.findRecipe(recipeCategory, List.of(focus), recipeUid);
+			}
+
+			@Override
+			public IDrawable createIcon() {
+				return RecipeCategoryIconUtil.create(
+					recipeCategory,
+					recipeManager,
+					guiHelper
+				);
+			}
+		};
+		RecipeBookmark<T, ?> recipeBookmark = RecipeBookmark.createUnresolved(recipeCategory, recipeUid, output, resolver);
 		return new DeserializeResult<>(recipeBookmark);
 	}
 
 	private <T> Optional<T> findRecipe(IRecipeCategory<T> recipeCategory, List<IFocus<?>> focus, ResourceLocation recipeUid) {
 		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+		Optional<T> registeredRecipe = recipeManager.getRecipeByRegistryName(recipeType, recipeUid);
+		if (registeredRecipe.isPresent()) {
+			return registeredRecipe;
+		}
+		// recipes from recipe manager plugins are not indexed by registry name
 		return recipeManager.createRecipeLookup(recipeType)
 			.limitFocus(focus)
 			.get()
@@ -3,6 +3,7 @@ package mezz.jei.gui.ingredients;
 import mezz.jei.api.runtime.IIngredientManager;
 
 import java.util.Comparator;
+import java.util.List;
 
 public interface IIngredientSorter {
 
@@ -11,6 +12,19 @@ public interface IIngredientSorter {
 
 	Comparator<IListElementInfo<?>> getComparator(IngredientFilter ingredientFilter, IIngredientManager ingredientManager);
 
+	/**
+	 * @return all the ingredients in the filter, in sorted order.
+	 * Each element's sorted index is set to its position in the returned list.
+	 */
+	default List<IListElementInfo<?>> getSortedElements(IngredientFilter ingredientFilter, IIngredientManager ingredientManager) {
+		Comparator<IListElementInfo<?>> comparator = getComparator(ingredientFilter, ingredientManager);
+		List<IListElementInfo<?>> results = ingredientFilter.getIngredientListPreSort(comparator);
+		for (int i = 0, resultsSize = results.size(); i < resultsSize; i++) {
+			results.get(i).setSortedIndex(i);
+		}
+		return results;
+	}
+
 	default void invalidateCache() {
 	}
 }
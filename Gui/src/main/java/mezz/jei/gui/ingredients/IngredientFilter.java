@@ -11,27 +11,34 @@ import mezz.jei.api.runtime.IIngredientVisibility;
 import mezz.jei.common.config.DebugConfig;
 import mezz.jei.common.config.IClientConfig;
 import mezz.jei.common.config.IIngredientFilterConfig;
+import mezz.jei.common.platform.Services;
+import mezz.jei.core.search.PreSortedList;
 import mezz.jei.gui.filter.IFilterTextSource;
 import mezz.jei.gui.overlay.elements.IElement;
 import mezz.jei.gui.overlay.IIngredientGridSource;
 import mezz.jei.gui.overlay.elements.IngredientElement;
+import mezz.jei.gui.search.AsyncElementSearch;
 import mezz.jei.gui.search.ElementPrefixParser;
 import mezz.jei.gui.search.ElementSearch;
 import mezz.jei.gui.search.ElementSearchLowMem;
 import mezz.jei.gui.search.IElementSearch;
+import mezz.jei.gui.search.SearchIndexCache;
+import mezz.jei.gui.search.SearchResultCache;
+import net.minecraft.client.Minecraft;
 import net.minecraft.core.NonNullList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -46,6 +53,7 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 	private static final Pattern FILTER_SPLIT_PATTERN = Pattern.compile("(-?\".*?(?:\"|$)|\\S+)");
 
 	private final IClientConfig clientConfig;
+	private final IIngredientFilterConfig filterConfig;
 	private final IFilterTextSource filterTextSource;
 	private final IIngredientManager ingredientManager;
 	private final IIngredientSorter sorter;
@@ -53,11 +61,14 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 	private final IIngredientVisibility ingredientVisibility;
 
 	private final ElementPrefixParser elementPrefixParser;
+	private final SearchResultCache searchResultCache;
 	private final Set<String> modNamesForSorting = new HashSet<>();
 	private IElementSearch elementSearch;
 
 	@Nullable
 	private List<IElement<?>> ingredientListCached;
+	@Nullable
+	private PreSortedList<IListElementInfo<?>> sortedElementsCached;
 	private final List<SourceListChangedListener> listeners = new ArrayList<>();
 
 	public IngredientFilter(
@@ -73,19 +84,23 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 	) {
 		this.filterTextSource = filterTextSource;
 		this.clientConfig = clientConfig;
+		this.filterConfig = config;
 		this.ingredientManager = ingredientManager;
 		this.sorter = sorter;
 		this.modIdHelper = modIdHelper;
 		this.ingredientVisibility = ingredientVisibility;
 		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, config, colorHelper, modIdHelper);
+		this.searchResultCache = new SearchResultCache(this.elementPrefixParser);
 
-		this.elementSearch = createElementSearch(clientConfig, elementPrefixParser);
+		this.elementSearch = createElementSearch();
 
 		LOGGER.info("Adding {} ingredients", ingredients.size());
-		ingredients.stream()
-			.map(i -> ListElementInfo.create(i, ingredientManager, modIdHelper))
-			.flatMap(Optional::stream)
-			.forEach(this::addIngredient);
+		List<IListElementInfo<?>> elementInfos = new ArrayList<>(ingredients.size());
+		for (IListElement<?> element : ingredients) {
+			ListElementInfo.create(element, ingredientManager, modIdHelper)
+				.ifPresent(elementInfos::add);
+		}
+		addIngredients(elementInfos);
 		LOGGER.info("Added {} ingredients", ingredients.size());
 
 		this.filterTextSource.addListener(filterText -> {
@@ -94,12 +109,49 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 		});
 	}
 
-	private static IElementSearch createElementSearch(IClientConfig clientConfig, ElementPrefixParser elementPrefixParser) {
+	private IElementSearch createElementSearch() {
 		if (clientConfig.isLowMemorySlowSearchEnabled()) {
 			return new ElementSearchLowMem();
-		} else {
-			return new ElementSearch(elementPrefixParser);
 		}
+		SearchIndexCache searchIndexCache = null;
+		if (clientConfig.isSearchIndexCacheEnabled()) {
+			Path configDir = Services.PLATFORM.getConfigHelper().createJeiConfigDir();
+			Path path = configDir.resolve("search-index-cache.bin");
+			Path colorConfigPath = configDir.resolve("jei-colors.ini");
+			searchIndexCache = new SearchIndexCache(path, colorConfigPath, ingredientManager, filterConfig, SearchIndexCache::getGameEnvironment);
+		}
+		if (clientConfig.isAsyncSearchIndexingEnabled()) {
+			return new AsyncElementSearch(elementPrefixParser, searchIndexCache, this::onIndexProgressAsync);
+		}
+		return new ElementSearch(elementPrefixParser, searchIndexCache, clientConfig.isParallelSearchIndexingEnabled(), this::onIndexProgressAsync);
+	}
+
+	private void onIndexProgressAsync() {
+		Minecraft.getInstance().execute(this::onIndexProgress);
+	}
+
+	/**
+	 * Called when a search index that is built in the background has more results ready.
+	 */
+	private void onIndexProgress() {
+		ingredientListCached = null;
+		searchResultCache.invalidate();
+		if (!filterTextSource.getFilterText().isEmpty()) {
+			notifyListenersOfChange();
+		}
+	}
+
+	private void addIngredients(Collection<IListElementInfo<?>> infos) {
+		for (IListElementInfo<?> info : infos) {
+			updateHiddenState(info.getElement());
+
+			String modNameForSorting = info.getModNameForSorting();
+			this.modNamesForSorting.add(modNameForSorting);
+		}
+
+		this.elementSearch.addAll(infos);
+
+		invalidateCache();
 	}
 
 	public <V> void addIngredient(IListElementInfo<V> info) {
@@ -116,13 +168,15 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 
 	public void invalidateCache() {
 		ingredientListCached = null;
+		sortedElementsCached = null;
+		searchResultCache.invalidate();
 		sorter.invalidateCache();
 	}
 
 	public void rebuildItemFilter() {
 		this.invalidateCache();
 		Collection<IListElementInfo<?>> ingredients = this.elementSearch.getAllIngredients();
-		this.elementSearch = createElementSearch(this.clientConfig, this.elementPrefixParser);
+		this.elementSearch = createElementSearch();
 		this.elementSearch.addAll(ingredients);
 	}
 
@@ -152,6 +206,7 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 		}
 		if (changed) {
 			ingredientListCached = null;
+			searchResultCache.invalidate();
 			notifyListenersOfChange();
 		}
 	}
@@ -174,6 +229,7 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 				IListElement<V> element = matchingElementInfo.getElement();
 				if (element.isVisible() != visible) {
 					element.setVisible(visible);
+					searchResultCache.invalidate();
 					notifyListenersOfChange();
 				}
 			});
@@ -213,6 +269,20 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 			.toList();
 	}
 
+	/**
+	 * All elements in sorted order.
+	 * The sorter sets each element's sorted index to its position in this list,
+	 * so search results can be combined as bit sets of sorted indexes and read back in order without sorting.
+	 */
+	private PreSortedList<IListElementInfo<?>> getSortedElements() {
+		if (sortedElementsCached == null) {
+			List<IListElementInfo<?>> sortedElements = sorter.getSortedElements(this, this.ingredientManager);
+			sortedElementsCached = new PreSortedList<>(sortedElements);
+			searchResultCache.onSortedIndexesChanged(sortedElements.size());
+		}
+		return sortedElementsCached;
+	}
+
 	private Stream<ITypedIngredient<?>> getIngredientListUncached(String filterText) {
 		String[] filters = filterText.split("\\|");
 		List<SearchTokens> searchTokens = Arrays.stream(filters)
@@ -220,23 +290,26 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 			.filter(s -> !s.toSearch.isEmpty())
 			.toList();
 
-		Stream<IListElementInfo<?>> elementInfoStream;
+		PreSortedList<IListElementInfo<?>> sortedElements = getSortedElements();
+		List<IListElementInfo<?>> results;
 		if (searchTokens.isEmpty()) {
-			elementInfoStream = this.elementSearch.getAllIngredients()
-				.parallelStream();
+			results = sortedElements.getElements(IngredientFilter::isVisible);
 		} else {
-			elementInfoStream = searchTokens.stream()
-				.map(this::getSearchResults)
-				.flatMap(Set::stream)
-				.distinct();
+			BitSet sortedIndexes = new BitSet(sortedElements.size());
+			for (SearchTokens tokens : searchTokens) {
+				sortedIndexes.or(getSearchResults(tokens));
+			}
+			results = sortedElements.getElements(sortedIndexes, IngredientFilter::isVisible);
 		}
 
-		return elementInfoStream
-			.filter(info -> info.getElement().isVisible())
-			.sorted(sorter.getComparator(this, this.ingredientManager))
+		return results.stream()
 			.map(IListElementInfo::getTypedIngredient);
 	}
 
+	private static boolean isVisible(IListElementInfo<?> info) {
+		return info.getElement().isVisible();
+	}
+
 	private static <T> Optional<IListElementInfo<T>> checkForMatch(IListElementInfo<?> info, IIngredientType<T> ingredientType, String uid, Function<ITypedIngredient<T>, String> uidFunction) {
 		return optionalCast(info, ingredientType)
 			.filter(cast -> {
@@ -330,41 +403,20 @@ public class IngredientFilter implements IIngredientGridSource, IIngredientManag
 		return searchTokens;
 	}
 
-	private Set<IListElementInfo<?>> getSearchResults(SearchTokens searchTokens) {
-		List<Set<IListElementInfo<?>>> resultsPerToken = searchTokens.toSearch.stream()
-			.map(this.elementSearch::getSearchResults)
-			.toList();
-		Set<IListElementInfo<?>> results = intersection(resultsPerToken);
-
-		if (!results.isEmpty() && !searchTokens.toRemove.isEmpty()) {
-			for (ElementPrefixParser.TokenInfo tokenInfo : searchTokens.toRemove) {
-				Set<IListElementInfo<?>> resultsToRemove = this.elementSearch.getSearchResults(tokenInfo);
-				results.removeAll(resultsToRemove);
-				if (results.isEmpty()) {
-					break;
-				}
-			}
-		}
-		return results;
-
-	}
-
 	/**
-	 * Get the elements that are contained in every set.
+	 * @return the sorted indexes of the elements that match the search tokens. The returned bit set must not be modified.
 	 */
-	private static <T> Set<T> intersection(List<Set<T>> sets) {
-		Set<T> smallestSet = sets.stream()
-			.min(Comparator.comparing(Set::size))
-			.orElseGet(Set::of);
-
-		Set<T> results = Collections.newSetFromMap(new IdentityHashMap<>());
-		results.addAll(smallestSet);
+	private BitSet getSearchResults(SearchTokens searchTokens) {
+		BitSet cachedResults = this.searchResultCache.getIntersection(this.elementSearch, searchTokens.toSearch);
+		if (cachedResults.isEmpty() || searchTokens.toRemove.isEmpty()) {
+			return cachedResults;
+		}
 
-		for (Set<T> set : sets) {
-			if (set == smallestSet) {
-				continue;
-			}
-			if (results.retainAll(set) && results.isEmpty()) {
+		BitSet results = (BitSet) cachedResults.clone();
+		for (ElementPrefixParser.TokenInfo tokenInfo : searchTokens.toRemove) {
+			BitSet resultsToRemove = this.searchResultCache.getTokenResults(this.elementSearch, tokenInfo);
+			results.andNot(resultsToRemove);
+			if (results.isEmpty()) {
 				break;
 			}
 		}
@@ -18,6 +18,7 @@ public final class IngredientSorter implements IIngredientSorter {
 	private final IngredientTypeSortingConfig ingredientTypeSortingConfig;
 
 	private boolean isCacheValid;
+	private List<IListElementInfo<?>> sortedElements = List.of();
 
 	public IngredientSorter(IClientConfig clientConfig, ModNameSortingConfig modNameSortingConfig, IngredientTypeSortingConfig ingredientTypeSortingConfig) {
 		this.clientConfig = clientConfig;
@@ -42,6 +43,7 @@ public final class IngredientSorter implements IIngredientSorter {
 			IListElementInfo<?> element = results.get(i);
 			element.setSortedIndex(i);
 		}
+		this.sortedElements = results;
 		this.isCacheValid = true;
 	}
 
@@ -54,9 +56,19 @@ public final class IngredientSorter implements IIngredientSorter {
 		return PRE_SORTED;
 	}
 
+	@Override
+	public List<IListElementInfo<?>> getSortedElements(IngredientFilter ingredientFilter, IIngredientManager ingredientManager) {
+		if (!this.isCacheValid) {
+			doPreSort(ingredientFilter, ingredientManager);
+		}
+		// The pre-sort already put everything in order, no need to sort it again by index.
+		return this.sortedElements;
+	}
+
 	@Override
 	public void invalidateCache() {
 		this.isCacheValid = false;
+		this.sortedElements = List.of();
 	}
 
 }
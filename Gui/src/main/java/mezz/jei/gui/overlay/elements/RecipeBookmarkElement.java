@@ -20,11 +20,9 @@ import java.util.Optional;
 
 public class RecipeBookmarkElement<T, R> implements IElement<R> {
 	private final RecipeBookmark<T, R> recipeBookmark;
-	private final IDrawable icon;
 
-	public RecipeBookmarkElement(RecipeBookmark<T, R> recipeBookmark, IDrawable icon) {
+	public RecipeBookmarkElement(RecipeBookmark<T, R> recipeBookmark) {
 		this.recipeBookmark = recipeBookmark;
-		this.icon = icon;
 	}
 
 	@Override
@@ -39,6 +37,11 @@ public class RecipeBookmarkElement<T, R> implements IElement<R> {
 
 	@Override
 	public void renderExtras(GuiGraphics guiGraphics) {
+		// bookmarks loaded from the config create their icon here, the first time they scroll into view
+		Optional<IDrawable> icon = recipeBookmark.getIcon();
+		if (icon.isEmpty()) {
+			return;
+		}
 		var poseStack = guiGraphics.pose();
 		poseStack.pushPose();
 		{
@@ -47,7 +50,7 @@ public class RecipeBookmarkElement<T, R> implements IElement<R> {
 			// 3D icons draw still draw under tooltips.
 			poseStack.translate(8, 8, 200);
 			poseStack.scale(0.5f, 0.5f, 0.5f);
-			icon.draw(guiGraphics);
+			icon.get().draw(guiGraphics);
 		}
 		poseStack.popPose();
 	}
@@ -57,21 +60,26 @@ public class RecipeBookmarkElement<T, R> implements IElement<R> {
 		// ignore roles, always display the bookmarked recipe if it's clicked
 
 		IRecipeCategory<T> recipeCategory = recipeBookmark.getRecipeCategory();
-		T recipe = recipeBookmark.getRecipe();
 		ITypedIngredient<?> ingredient = getTypedIngredient();
 		List<IFocus<?>> focuses = focusUtil.createFocuses(ingredient, List.of(RecipeIngredientRole.OUTPUT));
-		recipesGui.showRecipes(recipeCategory, List.of(recipe), focuses);
+		recipeBookmark.getRecipe()
+			.ifPresentOrElse(
+				recipe -> recipesGui.showRecipes(recipeCategory, List.of(recipe), focuses),
+				() -> recipesGui.show(focuses)
+			);
 	}
 
 	@Override
 	public List<Component> getTooltip(IngredientGridTooltipHelper tooltipHelper, IIngredientRenderer<R> ingredientRenderer, IIngredientHelper<R> ingredientHelper) {
 		ITypedIngredient<R> ingredient = recipeBookmark.getRecipeOutput();
-		return tooltipHelper.getRecipeTooltip(
-			recipeBookmark.getRecipeCategory(),
-			recipeBookmark.getRecipe(),
-			ingredient,
-			ingredientRenderer,
-			ingredientHelper
-		);
+		return recipeBookmark.getRecipe()
+			.map(recipe -> tooltipHelper.getRecipeTooltip(
+				recipeBookmark.getRecipeCategory(),
+				recipe,
+				ingredient,
+				ingredientRenderer,
+				ingredientHelper
+			))
+			.orElseGet(() -> tooltipHelper.getIngredientTooltip(ingredient, ingredientRenderer, ingredientHelper));
 	}
 }
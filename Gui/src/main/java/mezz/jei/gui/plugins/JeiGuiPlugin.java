@@ -6,6 +6,7 @@ import mezz.jei.api.constants.ModIds;
 import mezz.jei.api.registration.IGuiHandlerRegistration;
 import mezz.jei.gui.GuiProperties;
 import mezz.jei.gui.recipes.RecipesGui;
+import mezz.jei.gui.startup.JeiGuiStarter;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.resources.ResourceLocation;
 
@@ -21,4 +22,9 @@ public class JeiGuiPlugin implements IModPlugin {
 		registration.addGuiScreenHandler(AbstractContainerScreen.class, GuiProperties::create);
 		registration.addGuiScreenHandler(RecipesGui.class, RecipesGui::getProperties);
 	}
+
+	@Override
+	public void onRuntimeUnavailable() {
+		JeiGuiStarter.stop();
+	}
 }
@@ -35,8 +35,26 @@ public interface IRecipeGuiLogic {
 
 	void nextPage();
 
+	/**
+	 * Looks up the recipe categories for the focus on the lookup thread.
+	 * If the lookup is slow, the loading placeholder is shown until it is done.
+	 *
+	 * @return false if there are no recipes for the focus.
+	 */
 	boolean showFocus(IFocusGroup focuses);
 
+	/**
+	 * @return true if the recipe categories for a focus are still being looked up.
+	 */
+	boolean isLoadingCategories();
+
+	/**
+	 * Starts looking up the recipes needed for the current page if they have not been looked up yet.
+	 *
+	 * @return true if the recipes for the current page are still being looked up.
+	 */
+	boolean isLoadingRecipes();
+
 	boolean showRecipes(IFocusedRecipes<?> recipes, IFocusGroup focuses);
 
 	boolean back();
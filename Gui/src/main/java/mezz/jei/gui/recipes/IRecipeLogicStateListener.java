@@ -2,4 +2,10 @@ package mezz.jei.gui.recipes;
 
 public interface IRecipeLogicStateListener {
 	void onStateChange();
+
+	/**
+	 * Called when a recipe lookup that finished in the background found nothing to show,
+	 * and there is no previous state to go back to.
+	 */
+	void onNoRecipesFound();
 }
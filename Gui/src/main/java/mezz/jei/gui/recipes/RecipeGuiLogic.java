@@ -1,5 +1,6 @@
 package mezz.jei.gui.recipes;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import mezz.jei.api.gui.IRecipeLayoutDrawable;
 import mezz.jei.api.ingredients.ITypedIngredient;
 import mezz.jei.api.recipe.IFocusFactory;
@@ -8,15 +9,20 @@ import mezz.jei.api.recipe.IRecipeManager;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.recipe.transfer.IRecipeTransferManager;
+import mezz.jei.common.config.IClientConfig;
 import mezz.jei.common.util.ImmutableRect2i;
 import mezz.jei.common.util.MathUtil;
 import mezz.jei.gui.recipes.lookups.IFocusedRecipes;
 import mezz.jei.gui.recipes.lookups.ILookupState;
 import mezz.jei.gui.recipes.lookups.IngredientLookupState;
+import mezz.jei.gui.recipes.lookups.LoadingLookupState;
 import mezz.jei.gui.recipes.lookups.SingleCategoryLookupState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.world.inventory.AbstractContainerMenu;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import javax.annotation.Nonnegative;
@@ -24,35 +30,146 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 public class RecipeGuiLogic implements IRecipeGuiLogic {
+	private static final Logger LOGGER = LogManager.getLogger();
+	/**
+	 * Most lookups are quick, so they are waited for this long before showing a loading placeholder instead.
+	 * This avoids opening the gui for ingredients that turn out to have no recipes.
+	 */
+	private static final long LOOKUP_WAIT_MILLIS = 50;
+	/**
+	 * The least number of recipes to look up at once, enough for the first couple of pages.
+	 */
+	private static final int MIN_RECIPES_TO_LOAD = 32;
+	private static final ExecutorService LOOKUP_EXECUTOR = Executors.newSingleThreadExecutor(
+		new ThreadFactoryBuilder()
+			.setNameFormat("JEI Recipe Lookup %d")
+			.setDaemon(true)
+			.build()
+	);
+
 	private final IRecipeManager recipeManager;
 	private final IRecipeTransferManager recipeTransferManager;
 	private final IRecipeLogicStateListener stateListener;
+	private final IClientConfig clientConfig;
 
 	private boolean initialState = true;
 	private ILookupState state;
 	private final Stack<ILookupState> history = new Stack<>();
 	private final IFocusFactory focusFactory;
+	@Nullable
+	private CompletableFuture<ILookupState> pendingLookup;
+	@Nullable
+	private IFocusedRecipes<?> loadingRecipes;
 
 	public RecipeGuiLogic(
 		IRecipeManager recipeManager,
 		IRecipeTransferManager recipeTransferManager,
 		IRecipeLogicStateListener stateListener,
-		IFocusFactory focusFactory
+		IFocusFactory focusFactory,
+		IClientConfig clientConfig
 	) {
 		this.recipeManager = recipeManager;
 		this.recipeTransferManager = recipeTransferManager;
 		this.stateListener = stateListener;
+		this.clientConfig = clientConfig;
 		this.state = IngredientLookupState.createWithFocus(recipeManager, focusFactory.getEmptyFocusGroup());
 		this.focusFactory = focusFactory;
 	}
 
 	@Override
 	public boolean showFocus(IFocusGroup focuses) {
-		ILookupState state = IngredientLookupState.createWithFocus(recipeManager, focuses);
-		return showState(state);
+		cancelPendingLookup();
+		if (!clientConfig.isAsyncRecipeLookupEnabled()) {
+			ILookupState state = IngredientLookupState.createWithFocus(recipeManager, focuses);
+			return showState(state);
+		}
+		CompletableFuture<ILookupState> lookup = CompletableFuture.supplyAsync(
+			() -> IngredientLookupState.createWithFocus(recipeManager, focuses),
+			LOOKUP_EXECUTOR
+		);
+		try {
+			ILookupState state = lookup.get(LOOKUP_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+			return showState(state);
+		} catch (TimeoutException e) {
+			setState(new LoadingLookupState(focuses), true);
+			this.pendingLookup = lookup;
+			lookup.whenCompleteAsync((state, t) -> onLookupFinished(lookup, state, t), Minecraft.getInstance());
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			LOGGER.error("Failed to look up recipe categories for focus: {}", focuses, e.getCause());
+			return false;
+		}
+	}
+
+	private void onLookupFinished(CompletableFuture<ILookupState> lookup, @Nullable ILookupState state, @Nullable Throwable t) {
+		if (this.pendingLookup != lookup) {
+			// the lookup was cancelled, something else has been shown since
+			return;
+		}
+		this.pendingLookup = null;
+		if (t != null) {
+			LOGGER.error("Failed to look up recipe categories for focus: {}", this.state.getFocuses(), t);
+		}
+		if (state == null || !showState(state, false)) {
+			// there is nothing to show, go back to what was shown before the lookup
+			if (!back()) {
+				this.state = IngredientLookupState.createWithFocus(recipeManager, focusFactory.getEmptyFocusGroup());
+				stateListener.onNoRecipesFound();
+			}
+		}
+	}
+
+	private void cancelPendingLookup() {
+		if (this.pendingLookup != null) {
+			this.pendingLookup.cancel(false);
+			this.pendingLookup = null;
+		}
+	}
+
+	@Override
+	public boolean isLoadingCategories() {
+		return this.pendingLookup != null;
+	}
+
+	@Override
+	public boolean isLoadingRecipes() {
+		if (!clientConfig.isAsyncRecipeLookupEnabled()) {
+			return false;
+		}
+		IFocusedRecipes<?> focusedRecipes = state.getFocusedRecipes();
+		int recipesPerPage = Math.max(1, state.getRecipesPerPage());
+		// enough to fill the current page and to see if there is a next one
+		int count = Math.max(MIN_RECIPES_TO_LOAD, state.getRecipeIndex() + 2 * recipesPerPage + 1);
+		if (focusedRecipes.isLoaded(count)) {
+			return false;
+		}
+		if (this.loadingRecipes != focusedRecipes) {
+			this.loadingRecipes = focusedRecipes;
+			focusedRecipes.load(count, LOOKUP_EXECUTOR)
+				.whenCompleteAsync((v, t) -> onRecipesLoaded(focusedRecipes), Minecraft.getInstance());
+		}
+		return true;
+	}
+
+	private void onRecipesLoaded(IFocusedRecipes<?> focusedRecipes) {
+		if (this.loadingRecipes == focusedRecipes) {
+			this.loadingRecipes = null;
+			if (!isLoadingCategories() && state.getFocusedRecipes() == focusedRecipes) {
+				stateListener.onStateChange();
+			}
+		}
 	}
 
 	@Override
@@ -62,6 +179,10 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 	}
 
 	private boolean showState(ILookupState state) {
+		return showState(state, true);
+	}
+
+	private boolean showState(ILookupState state, boolean saveHistory) {
 		List<IRecipeCategory<?>> recipeCategories = state.getRecipeCategories();
 		if (recipeCategories.isEmpty()) {
 			return false;
@@ -70,7 +191,7 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 		int recipeCategoryIndex = getRecipeCategoryIndexToShowFirst(recipeCategories, recipeTransferManager);
 		state.moveToRecipeCategoryIndex(recipeCategoryIndex);
 
-		setState(state, true);
+		setState(state, saveHistory);
 
 		return true;
 	}
@@ -107,12 +228,18 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 
 	@Override
 	public void clearHistory() {
+		cancelPendingLookup();
 		while (!history.empty()) {
 			history.pop();
 		}
 	}
 
 	private void setState(ILookupState state, boolean saveHistory) {
+		if (isLoadingCategories()) {
+			// the loading placeholder is replaced, don't save it in the history
+			cancelPendingLookup();
+			saveHistory = false;
+		}
 		if (saveHistory && !initialState) {
 			history.push(this.state);
 		}
@@ -193,27 +320,44 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 	private <T> Optional<ImmutableRect2i> getRecipeLayoutSizeWithBorder(IFocusedRecipes<T> selectedRecipes) {
 		IRecipeCategory<T> recipeCategory = selectedRecipes.getRecipeCategory();
 
-		return selectedRecipes.getRecipes()
-			.stream()
-			.map(recipe -> recipeManager.createRecipeLayoutDrawable(recipeCategory, recipe, state.getFocuses()))
-			.flatMap(Optional::stream)
-			.map(IRecipeLayoutDrawable::getRectWithBorder)
-			.map(ImmutableRect2i::new)
-			.findFirst();
+		// look the recipes up one page at a time, usually the first recipe is all that is needed
+		final int recipesPerPage = Math.max(1, state.getRecipesPerPage());
+		for (int startIndex = 0; ; startIndex += recipesPerPage) {
+			List<T> recipes = selectedRecipes.getRecipes(startIndex, recipesPerPage);
+			if (recipes.isEmpty()) {
+				return Optional.empty();
+			}
+			Optional<ImmutableRect2i> size = recipes.stream()
+				.map(recipe -> recipeManager.createRecipeLayoutDrawable(recipeCategory, recipe, state.getFocuses()))
+				.flatMap(Optional::stream)
+				.map(IRecipeLayoutDrawable::getRectWithBorder)
+				.map(ImmutableRect2i::new)
+				.findFirst();
+			if (size.isPresent()) {
+				return size;
+			}
+		}
 	}
 
 	private <T> List<IRecipeLayoutDrawable<?>> getRecipeLayouts(IFocusedRecipes<T> selectedRecipes) {
 		List<IRecipeLayoutDrawable<?>> recipeLayouts = new ArrayList<>();
 
 		IRecipeCategory<T> recipeCategory = selectedRecipes.getRecipeCategory();
-		List<T> recipes = selectedRecipes.getRecipes();
 		List<T> brokenRecipes = new ArrayList<>();
 
-		final int firstRecipeIndex = state.getRecipeIndex() - (state.getRecipeIndex() % state.getRecipesPerPage());
-		for (int recipeIndex = firstRecipeIndex; recipeIndex < recipes.size() && recipeLayouts.size() < state.getRecipesPerPage(); recipeIndex++) {
-			T recipe = recipes.get(recipeIndex);
-			recipeManager.createRecipeLayoutDrawable(recipeCategory, recipe, state.getFocuses())
-				.ifPresentOrElse(recipeLayouts::add, () -> brokenRecipes.add(recipe));
+		final int recipesPerPage = state.getRecipesPerPage();
+		int recipeIndex = state.getRecipeIndex() - (state.getRecipeIndex() % recipesPerPage);
+		while (recipeLayouts.size() < recipesPerPage) {
+			// only look up as many more recipes as are needed to fill the page
+			List<T> recipes = selectedRecipes.getRecipes(recipeIndex, recipesPerPage - recipeLayouts.size());
+			if (recipes.isEmpty()) {
+				break;
+			}
+			for (T recipe : recipes) {
+				recipeManager.createRecipeLayoutDrawable(recipeCategory, recipe, state.getFocuses())
+					.ifPresentOrElse(recipeLayouts::add, () -> brokenRecipes.add(recipe));
+			}
+			recipeIndex += recipes.size();
 		}
 
 		if (!brokenRecipes.isEmpty()) {
@@ -239,8 +383,9 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 
 	@Override
 	public boolean hasMultiplePages() {
-		List<?> recipes = state.getFocusedRecipes().getRecipes();
-		return recipes.size() > state.getRecipesPerPage();
+		final int recipesPerPage = state.getRecipesPerPage();
+		List<?> recipes = state.getFocusedRecipes().getRecipes(0, recipesPerPage + 1);
+		return recipes.size() > recipesPerPage;
 	}
 
 	@Override
@@ -257,6 +402,23 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 
 	@Override
 	public void previousPage() {
+		if (isLoadingCategories()) {
+			return;
+		}
+		if (state.getRecipeIndex() < state.getRecipesPerPage()) {
+			// wrapping around to the last page needs all the recipes, look them up first
+			IFocusedRecipes<?> focusedRecipes = state.getFocusedRecipes();
+			if (!focusedRecipes.isLoaded(Integer.MAX_VALUE)) {
+				ILookupState wrappingState = this.state;
+				focusedRecipes.load(Integer.MAX_VALUE, LOOKUP_EXECUTOR)
+					.whenCompleteAsync((v, t) -> {
+						if (this.state == wrappingState) {
+							previousPage();
+						}
+					}, Minecraft.getInstance());
+				return;
+			}
+		}
 		state.previousPage();
 		stateListener.onStateChange();
 	}
@@ -264,7 +426,8 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 	@Override
 	public String getPageString() {
 		int pageIndex = MathUtil.divideCeil(state.getRecipeIndex() + 1, state.getRecipesPerPage());
-		return pageIndex + "/" + state.pageCount();
+		String pageCount = state.isPageCountKnown() ? Integer.toString(state.pageCount()) : state.pageCount() + "+";
+		return pageIndex + "/" + pageCount;
 	}
 
 	@Override
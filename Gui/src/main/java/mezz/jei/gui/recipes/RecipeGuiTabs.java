@@ -53,6 +53,11 @@ public class RecipeGuiTabs implements IPaged {
 	public void initLayout(ImmutableRect2i recipeGuiArea) {
 		List<IRecipeCategory<?>> categories = this.recipeGuiLogic.getRecipeCategories();
 		if (categories.isEmpty()) {
+			// the recipe categories are still being looked up
+			tabs.clear();
+			pageCount = 1;
+			pageNumber = 0;
+			this.inputHandler = this.pageNavigation.createInputHandler();
 			return;
 		}
 
@@ -120,6 +125,9 @@ public class RecipeGuiTabs implements IPaged {
 	}
 
 	public void draw(Minecraft minecraft, GuiGraphics guiGraphics, int mouseX, int mouseY, IModIdHelper modIdHelper, float partialTicks) {
+		if (tabs.isEmpty()) {
+			return;
+		}
 		IRecipeCategory<?> selectedCategory = recipeGuiLogic.getSelectedRecipeCategory();
 
 		RenderSystem.setShaderColor(1.0F, 1.0F, 1.0F, 1.0F);
@@ -76,6 +76,8 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 	private static final int buttonWidth = 13;
 	private static final int buttonHeight = 13;
 	private static final int minGuiWidth = 198;
+	private static final Component LOADING_TITLE = Component.translatable("jei.tooltip.recipes.loading.title");
+	private static final Component LOADING_TEXT = Component.translatable("jei.tooltip.recipes.loading");
 
 	private final IRecipeTransferManager recipeTransferManager;
 	private final IModIdHelper modIdHelper;
@@ -128,6 +130,10 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 	private ImmutableRect2i titleStringArea = ImmutableRect2i.EMPTY;
 
 	private boolean init = false;
+	/**
+	 * True while a placeholder is shown because the recipes are still being looked up.
+	 */
+	private boolean loading = false;
 
 	public RecipesGui(
 		IRecipeManager recipeManager,
@@ -153,7 +159,7 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 		this.modIdHelper = modIdHelper;
 		this.clientConfig = clientConfig;
 		this.keyBindings = keyBindings;
-		this.logic = new RecipeGuiLogic(recipeManager, recipeTransferManager, this, focusFactory);
+		this.logic = new RecipeGuiLogic(recipeManager, recipeTransferManager, this, focusFactory, clientConfig);
 		this.recipeCatalysts = new RecipeCatalysts(textures, recipeManager);
 		this.recipeGuiTabs = new RecipeGuiTabs(this.logic, textures, recipeManager, guiHelper);
 		this.focusFactory = focusFactory;
@@ -290,6 +296,10 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 		nextPage.render(guiGraphics, mouseX, mouseY, partialTicks);
 		previousPage.render(guiGraphics, mouseX, mouseY, partialTicks);
 
+		if (loading) {
+			drawCenteredStringWithShadow(guiGraphics, font, LOADING_TEXT, getRecipeLayoutsArea());
+		}
+
 		Optional<IRecipeLayoutDrawable<?>> hoveredRecipeLayout = drawLayouts(guiGraphics, mouseX, mouseY);
 		Optional<IRecipeSlotDrawable> hoveredRecipeCatalyst = recipeCatalysts.draw(guiGraphics, mouseX, mouseY);
 
@@ -685,7 +695,22 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 			return;
 		}
 
+		if (logic.isLoadingCategories()) {
+			updateLoadingLayout(LOADING_TITLE);
+			recipeCatalysts.updateLayout(List.of(), this.area);
+			recipeGuiTabs.initLayout(this.idealArea);
+			return;
+		}
+
 		IRecipeCategory<?> recipeCategory = logic.getSelectedRecipeCategory();
+		if (logic.isLoadingRecipes()) {
+			updateLoadingLayout(recipeCategory.getTitle());
+			List<ITypedIngredient<?>> recipeCatalystIngredients = logic.getRecipeCatalysts().toList();
+			recipeCatalysts.updateLayout(recipeCatalystIngredients, this.area);
+			recipeGuiTabs.initLayout(this.idealArea);
+			return;
+		}
+		this.loading = false;
 
 		int availableHeight = getRecipeLayoutsArea().getHeight();
 
@@ -703,12 +728,7 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 
 		logic.setRecipesPerPage(recipesPerPage);
 
-		title = StringUtil.stripStyling(recipeCategory.getTitle());
-		final int availableTitleWidth = titleArea.getWidth();
-		if (font.width(title) > availableTitleWidth) {
-			title = StringUtil.truncateStringToWidth(title, availableTitleWidth, font);
-		}
-		this.titleStringArea = MathUtil.centerTextArea(this.titleArea, font, title);
+		setTitle(recipeCategory.getTitle());
 
 		recipeLayouts.clear();
 		recipeLayouts.addAll(logic.getRecipeLayouts());
@@ -747,6 +767,33 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 		recipeGuiTabs.initLayout(this.idealArea);
 	}
 
+	/**
+	 * Shows a placeholder while the recipes are being looked up, {@link #onStateChange()} is called when they are ready.
+	 */
+	private void updateLoadingLayout(Component title) {
+		this.loading = true;
+		this.area = this.idealArea;
+		setTitle(title);
+		// the title can't be clicked to show all recipes until there is a recipe category
+		this.titleStringArea = ImmutableRect2i.EMPTY;
+
+		recipeLayouts.clear();
+		addRecipeButtons(recipeLayouts);
+
+		nextPage.active = previousPage.active = false;
+		nextRecipeCategory.active = previousRecipeCategory.active = logic.hasMultipleCategories();
+		pageString = "";
+	}
+
+	private void setTitle(Component title) {
+		this.title = StringUtil.stripStyling(title);
+		final int availableTitleWidth = titleArea.getWidth();
+		if (font.width(this.title) > availableTitleWidth) {
+			this.title = StringUtil.truncateStringToWidth(this.title, availableTitleWidth, font);
+		}
+		this.titleStringArea = MathUtil.centerTextArea(this.titleArea, font, this.title);
+	}
+
 	private int getRecipeXOffset(ImmutableRect2i layoutRect, ImmutableRect2i layoutsArea) {
 		final int recipeWidth = layoutRect.getWidth();
 		final int recipeWidthWithButtons;
@@ -860,6 +907,11 @@ public class RecipesGui extends Screen implements IRecipesGui, IRecipeFocusSourc
 		updateLayout();
 	}
 
+	@Override
+	public void onNoRecipesFound() {
+		onClose();
+	}
+
 	@Nullable
 	public IGuiProperties getProperties() {
 		if (width <= 0 || height <= 0) {
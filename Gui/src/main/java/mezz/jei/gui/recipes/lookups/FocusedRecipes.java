@@ -1,23 +1,40 @@
 package mezz.jei.gui.recipes.lookups;
 
 import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.IRecipeLookupCursor;
 import mezz.jei.api.recipe.IRecipeManager;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class FocusedRecipes<T> implements IFocusedRecipes<T> {
+	private static final Logger LOGGER = LogManager.getLogger();
+
 	private final IRecipeManager recipeManager;
 	private final IRecipeCategory<T> recipeCategory;
 	private final IFocusGroup focuses;
 
 	/**
-	 * List of recipes for the currently selected recipeClass
+	 * Recipes for the currently selected recipeClass, looked up one page at a time
+	 */
+	private @Nullable IRecipeLookupCursor<T> recipes;
+	/**
+	 * The recipes are only used by one thread at a time:
+	 * the client thread only uses them once this is done, and loading happens in order on the lookup thread.
+	 */
+	private CompletableFuture<Void> loading = CompletableFuture.completedFuture(null);
+	/**
+	 * The recipes found by the last finished load, for the client thread to use while another load is running.
 	 */
-	private @Nullable List<T> recipes;
+	private volatile LoadedRecipes<T> loaded = LoadedRecipes.empty();
+	private volatile boolean failed = false;
 
 	public static <T> IFocusedRecipes<T> create(IFocusGroup focuses, IRecipeManager recipeManager, IRecipeCategory<T> recipeCategory) {
 		return new FocusedRecipes<>(focuses, recipeManager, recipeCategory);
@@ -37,13 +54,106 @@ public class FocusedRecipes<T> implements IFocusedRecipes<T> {
 
 	@Override
 	@Unmodifiable
-	public List<T> getRecipes() {
+	public List<T> getRecipes(int startIndex, int count) {
+		if (!loading.isDone()) {
+			return loaded.getRecipes(startIndex, count);
+		}
+		IRecipeLookupCursor<T> cursor = getLoadedCursor();
+		if (cursor == null) {
+			return List.of();
+		}
+		return cursor.getRecipes(startIndex, count);
+	}
+
+	@Override
+	public boolean isRecipeCountKnown() {
+		if (!loading.isDone()) {
+			return loaded.complete();
+		}
+		IRecipeLookupCursor<T> cursor = getLoadedCursor();
+		return cursor == null || cursor.isComplete();
+	}
+
+	@Override
+	public int getFoundRecipeCount() {
+		if (!loading.isDone()) {
+			return loaded.recipes().size();
+		}
+		IRecipeLookupCursor<T> cursor = getLoadedCursor();
+		return cursor == null ? 0 : cursor.getFoundCount();
+	}
+
+	@Override
+	public int getRecipeCount() {
+		if (!loading.isDone()) {
+			// only count what has been found so far, counting the rest would call plugins
+			return loaded.recipes().size();
+		}
+		IRecipeLookupCursor<T> cursor = getLoadedCursor();
+		return cursor == null ? 0 : cursor.getRecipeCount();
+	}
+
+	@Override
+	public boolean isLoaded(int count) {
+		if (!loading.isDone()) {
+			return false;
+		}
+		if (failed) {
+			return true;
+		}
+		return recipes != null && (recipes.getFoundCount() >= count || recipes.isComplete());
+	}
+
+	@Override
+	public CompletableFuture<Void> load(int count, Executor executor) {
+		loading = loading.thenRunAsync(() -> {
+			if (failed) {
+				return;
+			}
+			try {
+				IRecipeLookupCursor<T> cursor = getCursor();
+				cursor.getRecipes(0, count);
+				// check for more recipes here, so that the client thread can do it without calling any plugins
+				boolean complete = cursor.isComplete();
+				loaded = new LoadedRecipes<>(cursor.getRecipes(0, cursor.getFoundCount()), complete);
+			} catch (RuntimeException e) {
+				LOGGER.error("Failed to look up recipes for recipe category: {}", recipeCategory.getRecipeType().getUid(), e);
+				failed = true;
+			}
+		}, executor);
+		return loading;
+	}
+
+	/**
+	 * Gets the cursor that can be used from the client thread, once no recipes are being loaded.
+	 */
+	@Nullable
+	private IRecipeLookupCursor<T> getLoadedCursor() {
+		if (failed) {
+			return null;
+		}
+		return getCursor();
+	}
+
+	private IRecipeLookupCursor<T> getCursor() {
 		if (recipes == null) {
 			recipes = recipeManager.createRecipeLookup(recipeCategory.getRecipeType())
 				.limitFocus(focuses.getAllFocuses())
-				.get()
-				.toList();
+				.getCursor();
 		}
 		return recipes;
 	}
+
+	private record LoadedRecipes<T>(@Unmodifiable List<T> recipes, boolean complete) {
+		public static <T> LoadedRecipes<T> empty() {
+			return new LoadedRecipes<>(List.of(), false);
+		}
+
+		@Unmodifiable
+		public List<T> getRecipes(int startIndex, int count) {
+			int start = Math.min(startIndex, recipes.size());
+			int end = Math.min(start + count, recipes.size());
+			return recipes.subList(start, end);
+		}
+	}
 }
@@ -4,10 +4,43 @@ import mezz.jei.api.recipe.category.IRecipeCategory;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface IFocusedRecipes<T> {
 	IRecipeCategory<T> getRecipeCategory();
 
+	/**
+	 * @return the recipes in the given range, fewer than {@code count} if there are no more recipes.
+	 */
 	@Unmodifiable
-	List<T> getRecipes();
+	List<T> getRecipes(int startIndex, int count);
+
+	/**
+	 * @return true if the recipe count is known without looking up any more recipes.
+	 */
+	boolean isRecipeCountKnown();
+
+	/**
+	 * @return the number of recipes that have been looked up so far,
+	 * which is the total number of recipes if {@link #isRecipeCountKnown()} is true.
+	 */
+	int getFoundRecipeCount();
+
+	/**
+	 * Looks up all the recipes to count them, prefer {@link #getFoundRecipeCount()} where possible.
+	 */
+	int getRecipeCount();
+
+	/**
+	 * @return true if the first {@code count} recipes have already been looked up,
+	 * so getting them will not have to wait for any recipe manager plugins.
+	 */
+	boolean isLoaded(int count);
+
+	/**
+	 * Looks up the first {@code count} recipes using the executor,
+	 * so that a slow recipe manager plugin does not freeze the client.
+	 */
+	CompletableFuture<Void> load(int count, Executor executor);
 }
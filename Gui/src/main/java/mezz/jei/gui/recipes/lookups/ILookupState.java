@@ -30,5 +30,13 @@ public interface ILookupState {
 
 	void previousPage();
 
+	/**
+	 * @return the number of pages that have been found so far, including the next page if there is one.
+	 */
 	int pageCount();
+
+	/**
+	 * @return true if {@link #pageCount()} is the total number of pages, false if there may be more.
+	 */
+	boolean isPageCountKnown();
 }
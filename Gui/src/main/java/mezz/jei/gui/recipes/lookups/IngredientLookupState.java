@@ -89,9 +89,8 @@ public class IngredientLookupState implements ILookupState {
 
 	@Override
 	public void nextPage() {
-		int recipeCount = recipeCount();
 		this.recipeIndex = recipeIndex + recipesPerPage;
-		if (recipeIndex >= recipeCount) {
+		if (getFocusedRecipes().getRecipes(recipeIndex, 1).isEmpty()) {
 			this.recipeIndex = 0;
 		}
 	}
@@ -100,18 +99,33 @@ public class IngredientLookupState implements ILookupState {
 	public void previousPage() {
 		this.recipeIndex = recipeIndex - recipesPerPage;
 		if (recipeIndex < 0) {
-			final int pageCount = pageCount();
-			this.recipeIndex = (pageCount - 1) * recipesPerPage;
+			// wrapping around to the last page is the only time all the recipes have to be looked up
+			final int recipeCount = getFocusedRecipes().getRecipeCount();
+			this.recipeIndex = (getPageCount(recipeCount) - 1) * recipesPerPage;
 		}
 	}
 
-	public int recipeCount() {
-		return getFocusedRecipes().getRecipes().size();
+	/**
+	 * @return the number of recipes found up to the end of the next page,
+	 * or the total number of recipes if there are fewer.
+	 */
+	private int foundRecipeCount() {
+		IFocusedRecipes<?> focusedRecipes = getFocusedRecipes();
+		focusedRecipes.getRecipes(recipeIndex, 2 * recipesPerPage);
+		return focusedRecipes.getFoundRecipeCount();
 	}
 
 	@Override
 	public int pageCount() {
-		int recipeCount = recipeCount();
+		return getPageCount(foundRecipeCount());
+	}
+
+	@Override
+	public boolean isPageCountKnown() {
+		return getFocusedRecipes().isRecipeCountKnown();
+	}
+
+	private int getPageCount(int recipeCount) {
 		if (recipeCount <= 1) {
 			return 1;
 		}
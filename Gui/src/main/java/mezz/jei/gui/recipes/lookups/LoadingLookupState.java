@@ -0,0 +1,88 @@
+package mezz.jei.gui.recipes.lookups;
+
+import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+
+import java.util.List;
+
+/**
+ * Shown while the recipe categories for a focus are being looked up on the lookup thread.
+ * It has no recipe categories, so the recipes gui draws a placeholder until it is replaced by the results.
+ */
+public class LoadingLookupState implements ILookupState {
+	private final IFocusGroup focuses;
+
+	public LoadingLookupState(IFocusGroup focuses) {
+		this.focuses = focuses;
+	}
+
+	@Override
+	public List<IRecipeCategory<?>> getRecipeCategories() {
+		return List.of();
+	}
+
+	@Override
+	public void moveToRecipeCategoryIndex(int recipeCategoryIndex) {
+
+	}
+
+	@Override
+	public boolean moveToRecipeCategory(IRecipeCategory<?> recipeCategory) {
+		return false;
+	}
+
+	@Override
+	public int getRecipesPerPage() {
+		return 1;
+	}
+
+	@Override
+	public void setRecipesPerPage(int recipesPerPage) {
+
+	}
+
+	@Override
+	public int getRecipeIndex() {
+		return 0;
+	}
+
+	@Override
+	public IFocusGroup getFocuses() {
+		return focuses;
+	}
+
+	@Override
+	public IFocusedRecipes<?> getFocusedRecipes() {
+		throw new IllegalStateException("The recipe categories are still being looked up.");
+	}
+
+	@Override
+	public void nextRecipeCategory() {
+
+	}
+
+	@Override
+	public void previousRecipeCategory() {
+
+	}
+
+	@Override
+	public void nextPage() {
+
+	}
+
+	@Override
+	public void previousPage() {
+
+	}
+
+	@Override
+	public int pageCount() {
+		return 1;
+	}
+
+	@Override
+	public boolean isPageCountKnown() {
+		return true;
+	}
+}
@@ -4,6 +4,8 @@ import mezz.jei.api.recipe.category.IRecipeCategory;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class StaticFocusedRecipes<T> implements IFocusedRecipes<T> {
 	private final IRecipeCategory<T> recipeCategory;
@@ -20,7 +22,36 @@ public class StaticFocusedRecipes<T> implements IFocusedRecipes<T> {
 	}
 
 	@Override
-	public @Unmodifiable List<T> getRecipes() {
-		return recipes;
+	public @Unmodifiable List<T> getRecipes(int startIndex, int count) {
+		if (startIndex >= recipes.size()) {
+			return List.of();
+		}
+		int endIndex = Math.min(startIndex + count, recipes.size());
+		return recipes.subList(startIndex, endIndex);
+	}
+
+	@Override
+	public boolean isRecipeCountKnown() {
+		return true;
+	}
+
+	@Override
+	public int getFoundRecipeCount() {
+		return recipes.size();
+	}
+
+	@Override
+	public int getRecipeCount() {
+		return recipes.size();
+	}
+
+	@Override
+	public boolean isLoaded(int count) {
+		return true;
+	}
+
+	@Override
+	public CompletableFuture<Void> load(int count, Executor executor) {
+		return CompletableFuture.completedFuture(null);
 	}
 }
@@ -0,0 +1,423 @@
+package mezz.jei.gui.search;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.core.search.SearchMode;
+import mezz.jei.core.search.StringPool;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link IElementSearch} that builds the name index right away,
+ * and builds the indexes for the other {@link ElementPrefixParser#isThreadSafe thread-safe} prefixes on background threads.
+ * The indexes for prefixes that are not thread-safe, like tooltips and colors, are built on the calling thread.
+ *
+ * Elements are indexed in batches. While a batch is being built, searches use the index of the elements that
+ * are already done, and only the elements of the unfinished batches are scanned linearly, like {@link ElementSearchLowMem}.
+ * Finished batches are merged into the index on the client thread the next time this search is used,
+ * so the storages are only ever written by one thread.
+ * While the indexes are being saved to the {@link SearchIndexCache} in the background, nothing is merged into them.
+ */
+public class AsyncElementSearch implements IElementSearch {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final ExecutorService EXECUTOR = createExecutor();
+
+	private final List<IListElementInfo<?>> elementInfoList = new ArrayList<>();
+	private final Map<PrefixInfo<IListElementInfo<?>>, PrefixIndex> prefixIndexes = new IdentityHashMap<>();
+	private final @Nullable SearchIndexCache searchIndexCache;
+	private final Runnable onIndexProgress;
+	/**
+	 * The key for the first batch of elements, until the indexes that were not loaded from the cache are built and saved.
+	 */
+	private @Nullable SearchIndexCache.CacheKey unsavedCacheKey;
+	/**
+	 * Saving the indexes to the cache in the background, the storages must not be changed until it is done.
+	 */
+	private CompletableFuture<Void> saving = CompletableFuture.completedFuture(null);
+
+	public AsyncElementSearch(ElementPrefixParser elementPrefixParser) {
+		this(elementPrefixParser, null, () -> {});
+	}
+
+	/**
+	 * @param searchIndexCache if not null, the first batch of elements is loaded from this cache when possible,
+	 *                         and the indexes are saved to it after they are built.
+	 * @param onIndexProgress called from a background thread when a batch of elements has been indexed.
+	 */
+	public AsyncElementSearch(ElementPrefixParser elementPrefixParser, @Nullable SearchIndexCache searchIndexCache, Runnable onIndexProgress) {
+		this.searchIndexCache = searchIndexCache;
+		this.onIndexProgress = onIndexProgress;
+		for (PrefixInfo<IListElementInfo<?>> prefixInfo : elementPrefixParser.allPrefixInfos()) {
+			boolean threadSafe = elementPrefixParser.isThreadSafe(prefixInfo);
+			this.prefixIndexes.put(prefixInfo, new PrefixIndex(prefixInfo, threadSafe));
+		}
+	}
+
+	private static ExecutorService createExecutor() {
+		int threads = Math.max(1, Math.min(5, Runtime.getRuntime().availableProcessors() - 1));
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(
+			threads,
+			threads,
+			30,
+			TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			new ThreadFactoryBuilder()
+				.setNameFormat("JEI Search Indexer %d")
+				.setDaemon(true)
+				.setPriority(Thread.NORM_PRIORITY - 1)
+				.build()
+		);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	@Override
+	public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+		return getSearchResultsInternal(tokenInfo, null);
+	}
+
+	/**
+	 * Batches that are still building only need to scan the candidates, instead of all of their elements.
+	 */
+	@Override
+	public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo, Set<IListElementInfo<?>> candidates) {
+		return getSearchResultsInternal(tokenInfo, candidates);
+	}
+
+	private Set<IListElementInfo<?>> getSearchResultsInternal(ElementPrefixParser.TokenInfo tokenInfo, @Nullable Set<IListElementInfo<?>> candidates) {
+		String token = tokenInfo.token();
+		if (token.isEmpty()) {
+			return Set.of();
+		}
+		update();
+
+		Set<IListElementInfo<?>> results = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		PrefixInfo<IListElementInfo<?>> prefixInfo = tokenInfo.prefixInfo();
+		PrefixIndex prefixIndex = this.prefixIndexes.get(prefixInfo);
+		if (prefixInfo == ElementPrefixParser.NO_PREFIX || prefixIndex == null || prefixIndex.getMode() == SearchMode.DISABLED) {
+			for (PrefixIndex index : this.prefixIndexes.values()) {
+				if (index.getMode() == SearchMode.ENABLED) {
+					index.getSearchResults(token, candidates, results);
+				}
+			}
+			return results;
+		}
+		prefixIndex.getSearchResults(token, candidates, results);
+		return results;
+	}
+
+	/**
+	 * Merges the finished batches into the indexes, and starts saving the indexes to the cache once they are all built.
+	 */
+	private void update() {
+		boolean building = false;
+		for (PrefixIndex prefixIndex : this.prefixIndexes.values()) {
+			prefixIndex.update();
+			building |= prefixIndex.isBuilding();
+		}
+		SearchIndexCache.CacheKey cacheKey = this.unsavedCacheKey;
+		if (cacheKey == null || building) {
+			return;
+		}
+		this.unsavedCacheKey = null;
+		if (this.searchIndexCache == null || cacheKey.elements().size() != this.elementInfoList.size()) {
+			// elements were added after the first batch, the indexes no longer match the key
+			return;
+		}
+		Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> storages = new IdentityHashMap<>();
+		this.prefixIndexes.forEach((prefixInfo, prefixIndex) -> {
+			if (prefixIndex.getMode() != SearchMode.DISABLED) {
+				// searches must not have anything left to merge while the storage is written on another thread
+				prefixIndex.storage.compact();
+				storages.put(prefixInfo, prefixIndex.storage);
+			}
+		});
+		SearchIndexCache searchIndexCache = this.searchIndexCache;
+		this.saving = CompletableFuture.runAsync(() -> searchIndexCache.save(cacheKey, storages), EXECUTOR);
+	}
+
+	private boolean isSaving() {
+		return !this.saving.isDone();
+	}
+
+	@Override
+	public void add(IListElementInfo<?> info) {
+		update();
+		this.elementInfoList.add(info);
+		for (PrefixIndex prefixIndex : this.prefixIndexes.values()) {
+			prefixIndex.add(info);
+		}
+	}
+
+	@Override
+	public void addAll(Collection<IListElementInfo<?>> infos) {
+		update();
+		List<IListElementInfo<?>> infoList = List.copyOf(infos);
+
+		// only the first batch is cached, elements added later are indexed as usual
+		Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> loaded = Map.of();
+		SearchIndexCache.CacheKey cacheKey = null;
+		if (this.searchIndexCache != null && this.elementInfoList.isEmpty()) {
+			cacheKey = this.searchIndexCache.createKey(infoList);
+			loaded = this.searchIndexCache.load(cacheKey, List.copyOf(this.prefixIndexes.keySet()));
+		}
+		this.elementInfoList.addAll(infoList);
+
+		boolean builtCacheable = false;
+		for (Map.Entry<PrefixInfo<IListElementInfo<?>>, PrefixIndex> entry : this.prefixIndexes.entrySet()) {
+			PrefixInfo<IListElementInfo<?>> prefixInfo = entry.getKey();
+			PrefixIndex prefixIndex = entry.getValue();
+			ISearchStorage<IListElementInfo<?>> loadedStorage = loaded.get(prefixInfo);
+			if (loadedStorage != null) {
+				prefixIndex.setStorage(loadedStorage);
+				continue;
+			}
+			if (prefixInfo == ElementPrefixParser.NO_PREFIX || !prefixIndex.isThreadSafe()) {
+				// the name index is needed for basic searches, build it first and make it available right away.
+				// prefixes that are not thread-safe can only get their strings on this thread.
+				prefixIndex.addAll(infoList);
+			} else {
+				prefixIndex.buildInBackground(infoList);
+			}
+			builtCacheable |= this.searchIndexCache != null && this.searchIndexCache.isCacheable(prefixInfo);
+		}
+		if (cacheKey != null && builtCacheable) {
+			this.unsavedCacheKey = cacheKey;
+			update();
+		}
+	}
+
+	@Override
+	public List<IListElementInfo<?>> getAllIngredients() {
+		return Collections.unmodifiableList(this.elementInfoList);
+	}
+
+	@Override
+	public void logStatistics() {
+		update();
+		this.prefixIndexes.forEach((prefixInfo, prefixIndex) -> {
+			if (prefixInfo.getMode() != SearchMode.DISABLED) {
+				LOGGER.info("AsyncElementSearch {} Storage Stats: {}", prefixInfo, prefixIndex.statistics());
+			}
+		});
+	}
+
+	private static void putStrings(ISearchStorage<IListElementInfo<?>> storage, IListElementInfo<?> info, Collection<String> strings) {
+		for (String string : strings) {
+			storage.put(string, info);
+		}
+	}
+
+	/**
+	 * The result of indexing a batch in the background.
+	 *
+	 * @param storage a new storage with all the elements of the batch, only built when the index was empty.
+	 * @param strings the strings for each element of the batch, to merge into an index that already has elements.
+	 */
+	private record BatchResult(@Nullable ISearchStorage<IListElementInfo<?>> storage, List<Collection<String>> strings) {}
+
+	private record Batch(List<IListElementInfo<?>> elements, CompletableFuture<BatchResult> result) {}
+
+	private class PrefixIndex {
+		private final PrefixInfo<IListElementInfo<?>> prefixInfo;
+		private final boolean threadSafe;
+		/**
+		 * The index that searches use, only accessed from the client thread.
+		 */
+		private ISearchStorage<IListElementInfo<?>> storage;
+		/**
+		 * True until something is put into {@link #storage}, so the first finished batch can replace it instead of being merged in.
+		 */
+		private boolean storageEmpty = true;
+		/**
+		 * Batches that are not in the index yet, in the order they were added.
+		 */
+		private final Deque<Batch> batches = new ArrayDeque<>();
+		/**
+		 * Elements from batches that failed to build, they are always searched linearly.
+		 */
+		private final List<IListElementInfo<?>> failedElements = new ArrayList<>();
+
+		public PrefixIndex(PrefixInfo<IListElementInfo<?>> prefixInfo, boolean threadSafe) {
+			this.prefixInfo = prefixInfo;
+			this.threadSafe = threadSafe;
+			this.storage = prefixInfo.createStorage();
+		}
+
+		public boolean isThreadSafe() {
+			return threadSafe;
+		}
+
+		public SearchMode getMode() {
+			return prefixInfo.getMode();
+		}
+
+		public boolean isBuilding() {
+			return !batches.isEmpty();
+		}
+
+		public void setStorage(ISearchStorage<IListElementInfo<?>> storage) {
+			this.storage = storage;
+			this.storageEmpty = false;
+		}
+
+		public void add(IListElementInfo<?> info) {
+			if (getMode() == SearchMode.DISABLED) {
+				return;
+			}
+			Collection<String> strings = prefixInfo.getStrings(info);
+			if (batches.isEmpty() && !isSaving()) {
+				putStrings(storage, info, strings);
+				storageEmpty = false;
+			} else {
+				addFinishedBatch(List.of(info), List.of(strings));
+			}
+		}
+
+		/**
+		 * Indexes the elements on the calling thread.
+		 */
+		public void addAll(List<IListElementInfo<?>> infos) {
+			if (getMode() == SearchMode.DISABLED || infos.isEmpty()) {
+				return;
+			}
+			if (batches.isEmpty() && !isSaving()) {
+				for (IListElementInfo<?> info : infos) {
+					putStrings(storage, info, prefixInfo.getStrings(info));
+				}
+				storageEmpty = false;
+				storage.compact();
+			} else {
+				List<Collection<String>> strings = infos.stream()
+					.map(prefixInfo::getStrings)
+					.toList();
+				addFinishedBatch(infos, strings);
+			}
+		}
+
+		/**
+		 * Keeps the order of the batches, so the first batch can still replace the empty storage,
+		 * and the storage is not changed while it is being saved.
+		 */
+		private void addFinishedBatch(List<IListElementInfo<?>> infos, List<Collection<String>> strings) {
+			BatchResult result = new BatchResult(null, strings);
+			batches.addLast(new Batch(infos, CompletableFuture.completedFuture(result)));
+		}
+
+		/**
+		 * Indexes the elements on a background thread.
+		 * The index that is already built keeps being used until the batch is finished and merged into it.
+		 */
+		public void buildInBackground(List<IListElementInfo<?>> infos) {
+			if (getMode() == SearchMode.DISABLED) {
+				return;
+			}
+			boolean buildStorage = storageEmpty && batches.isEmpty();
+			CompletableFuture<BatchResult> result = CompletableFuture.supplyAsync(() -> {
+				if (buildStorage) {
+					ISearchStorage<IListElementInfo<?>> newStorage = prefixInfo.createStorage();
+					// each index is built separately, so each build gets its own pool that can be dropped when it's done
+					ElementSearch.putAll(prefixInfo, newStorage, infos, new StringPool(), false);
+					return new BatchResult(newStorage, List.of());
+				}
+				List<Collection<String>> strings = infos.stream()
+					.map(prefixInfo::getStrings)
+					.toList();
+				return new BatchResult(null, strings);
+			}, EXECUTOR);
+			result.whenComplete((r, e) -> onIndexProgress.run());
+			batches.addLast(new Batch(infos, result));
+		}
+
+		/**
+		 * Merges the batches that are finished into the index, in the order they were added.
+		 * Nothing is merged while the index is being saved.
+		 */
+		public void update() {
+			if (isSaving()) {
+				return;
+			}
+			boolean merged = false;
+			while (!batches.isEmpty() && batches.peekFirst().result().isDone()) {
+				Batch batch = batches.removeFirst();
+				try {
+					BatchResult result = batch.result().join();
+					ISearchStorage<IListElementInfo<?>> builtStorage = result.storage();
+					if (builtStorage != null && storageEmpty) {
+						storage = builtStorage;
+					} else {
+						List<IListElementInfo<?>> elements = batch.elements();
+						for (int i = 0; i < elements.size(); i++) {
+							putStrings(storage, elements.get(i), result.strings().get(i));
+						}
+						merged = true;
+					}
+					storageEmpty = false;
+				} catch (CompletionException e) {
+					LOGGER.error("Failed to build the search index for {}, falling back to slow searching for {} elements.", prefixInfo, batch.elements().size(), e);
+					failedElements.addAll(batch.elements());
+				}
+			}
+			if (merged) {
+				storage.compact();
+			}
+		}
+
+		/**
+		 * @param candidates if not null, only these elements need to be scanned linearly
+		 */
+		public void getSearchResults(String token, @Nullable Set<IListElementInfo<?>> candidates, Set<IListElementInfo<?>> results) {
+			storage.getSearchResults(token, results::addAll);
+			for (Batch batch : batches) {
+				searchLinearly(token, batch.elements(), candidates, results);
+			}
+			searchLinearly(token, failedElements, candidates, results);
+		}
+
+		private void searchLinearly(String token, Collection<IListElementInfo<?>> elements, @Nullable Set<IListElementInfo<?>> candidates, Set<IListElementInfo<?>> results) {
+			for (IListElementInfo<?> info : elements) {
+				if (candidates != null && !candidates.contains(info)) {
+					continue;
+				}
+				Collection<String> strings = prefixInfo.getStrings(info);
+				for (String string : strings) {
+					if (string.contains(token)) {
+						results.add(info);
+						break;
+					}
+				}
+			}
+		}
+
+		public String statistics() {
+			int unindexed = failedElements.size();
+			for (Batch batch : batches) {
+				unindexed += batch.elements().size();
+			}
+			if (unindexed == 0) {
+				return storage.statistics();
+			}
+			return storage.statistics() + ", " + unindexed + " elements searched linearly";
+		}
+	}
+}
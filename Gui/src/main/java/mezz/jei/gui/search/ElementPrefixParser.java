@@ -10,7 +10,7 @@ import mezz.jei.common.util.Translator;
 import mezz.jei.core.search.LimitedStringStorage;
 import mezz.jei.core.search.PrefixInfo;
 import mezz.jei.core.search.SearchMode;
-import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import mezz.jei.core.search.suffixarray.GeneralizedSuffixArray;
 import mezz.jei.gui.ingredients.IListElementInfo;
 
 import java.util.ArrayList;
@@ -26,15 +26,21 @@ public class ElementPrefixParser {
 			'\0',
 			() -> SearchMode.ENABLED,
 			i -> List.of(i.getName()),
-			GeneralizedSuffixTree::new
+			GeneralizedSuffixArray::new
 	);
 	private static final Pattern SPACE_PATTERN = Pattern.compile("\\s");
 	private static final Pattern MOD_NAME_SEPARATOR_PATTERN = Pattern.compile("(?=[A-Z_-])|\\s+");
 
 	private final Char2ObjectMap<PrefixInfo<IListElementInfo<?>>> map = new Char2ObjectOpenHashMap<>();
+	private final IIngredientFilterConfig config;
+	private final PrefixInfo<IListElementInfo<?>> tooltipPrefixInfo;
+	private final PrefixInfo<IListElementInfo<?>> colorPrefixInfo;
+	private final PrefixInfo<IListElementInfo<?>> modNamePrefixInfo;
+	private final PrefixInfo<IListElementInfo<?>> resourceLocationPrefixInfo;
 
 	public ElementPrefixParser(IIngredientManager ingredientManager, IIngredientFilterConfig config, IColorHelper colorHelper, IModIdHelper modIdHelper) {
-		addPrefix(new PrefixInfo<>(
+		this.config = config;
+		this.modNamePrefixInfo = new PrefixInfo<>(
 			'@',
 			config::getModNameSearchMode,
 			info -> {
@@ -73,20 +79,22 @@ public class ElementPrefixParser {
 					.toList();
 			},
 			LimitedStringStorage::new
-		));
-		addPrefix(new PrefixInfo<>(
+		);
+		addPrefix(this.modNamePrefixInfo);
+		this.tooltipPrefixInfo = new PrefixInfo<>(
 			'#',
 			config::getTooltipSearchMode,
 			e -> e.getTooltipStrings(config, ingredientManager),
-			GeneralizedSuffixTree::new
-		));
+			GeneralizedSuffixArray::new
+		);
+		addPrefix(this.tooltipPrefixInfo);
 		addPrefix(new PrefixInfo<>(
 			'$',
 			config::getTagSearchMode,
 			e -> e.getTagStrings(ingredientManager),
 			LimitedStringStorage::new
 		));
-		addPrefix(new PrefixInfo<>(
+		this.colorPrefixInfo = new PrefixInfo<>(
 			'^',
 			config::getColorSearchMode,
 			e -> {
@@ -98,13 +106,15 @@ public class ElementPrefixParser {
 					.toList();
 			},
 			LimitedStringStorage::new
-		));
-		addPrefix(new PrefixInfo<>(
+		);
+		addPrefix(this.colorPrefixInfo);
+		this.resourceLocationPrefixInfo = new PrefixInfo<>(
 			'&',
 			config::getResourceLocationSearchMode,
 			element -> List.of(element.getResourceLocation().toString()),
-			GeneralizedSuffixTree::new
-		));
+			GeneralizedSuffixArray::new
+		);
+		addPrefix(this.resourceLocationPrefixInfo);
 	}
 
 	private void addPrefix(PrefixInfo<IListElementInfo<?>> info) {
@@ -117,6 +127,33 @@ public class ElementPrefixParser {
 		return values;
 	}
 
+	/**
+	 * @return true if the index for this prefix should not be built when elements are added,
+	 * but in the background the first time it is searched.
+	 */
+	public boolean isIndexedLazily(PrefixInfo<IListElementInfo<?>> prefixInfo) {
+		return prefixInfo == this.tooltipPrefixInfo && this.config.getLazyTooltipIndexing();
+	}
+
+	/**
+	 * @return true if the strings for this prefix can be extracted on any thread.
+	 * Tooltips and colors call into mod ingredient renderers and helpers, which can use client state
+	 * that is only safe to use from the client thread.
+	 */
+	public boolean isThreadSafe(PrefixInfo<IListElementInfo<?>> prefixInfo) {
+		return prefixInfo != this.tooltipPrefixInfo && prefixInfo != this.colorPrefixInfo;
+	}
+
+	/**
+	 * @return true if the strings for this prefix are quick to get for an element,
+	 * so checking a few elements directly is cheaper than searching the index.
+	 */
+	public boolean isCheapToScan(PrefixInfo<IListElementInfo<?>> prefixInfo) {
+		return prefixInfo == NO_PREFIX ||
+			prefixInfo == this.modNamePrefixInfo ||
+			prefixInfo == this.resourceLocationPrefixInfo;
+	}
+
 	public record TokenInfo(String token, PrefixInfo<IListElementInfo<?>> prefixInfo) {}
 
 	public Optional<TokenInfo> parseToken(String token) {
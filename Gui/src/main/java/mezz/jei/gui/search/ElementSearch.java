@@ -6,27 +6,73 @@ import mezz.jei.core.search.ISearchable;
 import mezz.jei.core.search.PrefixInfo;
 import mezz.jei.core.search.PrefixedSearchable;
 import mezz.jei.core.search.SearchMode;
+import mezz.jei.core.search.StringPool;
 import mezz.jei.gui.ingredients.IListElementInfo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class ElementSearch implements IElementSearch {
 	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int PARALLEL_CHUNK_SIZE = 4096;
+	/**
+	 * Above this many candidates, an index lookup is cheaper than checking each candidate.
+	 */
+	private static final int MAX_CANDIDATES_TO_SCAN = 2048;
 
 	private final Map<PrefixInfo<IListElementInfo<?>>, PrefixedSearchable<IListElementInfo<?>>> prefixedSearchables = new IdentityHashMap<>();
-	private final CombinedSearchables<IListElementInfo<?>> combinedSearchables = new CombinedSearchables<>();
+	private CombinedSearchables<IListElementInfo<?>> combinedSearchables = new CombinedSearchables<>();
+	private final Map<PrefixInfo<IListElementInfo<?>>, LazyPrefixIndex> lazyIndexes = new IdentityHashMap<>();
+	private final ElementPrefixParser elementPrefixParser;
+	private final @Nullable SearchIndexCache searchIndexCache;
+	private final boolean parallel;
+	private final Runnable onIndexProgress;
+	private final StringPool stringPool = new StringPool();
+	private boolean empty = true;
 
 	public ElementSearch(ElementPrefixParser elementPrefixParser) {
+		this(elementPrefixParser, null, false, () -> {});
+	}
+
+	/**
+	 * @param searchIndexCache if not null, the first batch of elements is loaded from this cache when possible,
+	 *                         and the indexes are saved to it after they are built.
+	 * @param parallel         if true, the indexes for {@link ElementPrefixParser#isThreadSafe thread-safe} prefixes
+	 *                         are built on the common pool, and their strings are extracted in parallel.
+	 *                         If false, every index is built on the calling thread.
+	 * @param onIndexProgress called from a background thread when a lazily built index has more results ready,
+	 *                        see {@link ElementPrefixParser#isIndexedLazily}.
+	 */
+	public ElementSearch(ElementPrefixParser elementPrefixParser, @Nullable SearchIndexCache searchIndexCache, boolean parallel, Runnable onIndexProgress) {
+		this.elementPrefixParser = elementPrefixParser;
+		this.searchIndexCache = searchIndexCache;
+		this.parallel = parallel;
+		this.onIndexProgress = onIndexProgress;
 		for (PrefixInfo<IListElementInfo<?>> prefixInfo : elementPrefixParser.allPrefixInfos()) {
 			ISearchStorage<IListElementInfo<?>> storage = prefixInfo.createStorage();
-			var prefixedSearchable = new PrefixedSearchable<>(storage, prefixInfo);
-			this.prefixedSearchables.put(prefixInfo, prefixedSearchable);
+			this.prefixedSearchables.put(prefixInfo, new PrefixedSearchable<>(storage, prefixInfo));
+		}
+		updateCombinedSearchables();
+	}
+
+	private void setStorage(PrefixInfo<IListElementInfo<?>> prefixInfo, ISearchStorage<IListElementInfo<?>> storage) {
+		this.prefixedSearchables.put(prefixInfo, new PrefixedSearchable<>(storage, prefixInfo));
+		updateCombinedSearchables();
+	}
+
+	private void updateCombinedSearchables() {
+		this.combinedSearchables = new CombinedSearchables<>();
+		for (PrefixedSearchable<IListElementInfo<?>> prefixedSearchable : this.prefixedSearchables.values()) {
 			this.combinedSearchables.addSearchable(prefixedSearchable);
 		}
 	}
@@ -41,6 +87,7 @@ public class ElementSearch implements IElementSearch {
 		Set<IListElementInfo<?>> results = Collections.newSetFromMap(new IdentityHashMap<>());
 
 		PrefixInfo<IListElementInfo<?>> prefixInfo = tokenInfo.prefixInfo();
+		startLazyIndexes(prefixInfo);
 		if (prefixInfo == ElementPrefixParser.NO_PREFIX) {
 			combinedSearchables.getSearchResults(token, results::addAll);
 			return results;
@@ -54,11 +101,99 @@ public class ElementSearch implements IElementSearch {
 		return results;
 	}
 
+	/**
+	 * Checks the candidates directly instead of using the index, when there are few of them
+	 * and every prefix that the token searches is {@link ElementPrefixParser#isCheapToScan cheap to scan}.
+	 * Tooltips, tags and colors are always looked up in the index, because getting them for each candidate costs more.
+	 */
+	@Override
+	public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo, Set<IListElementInfo<?>> candidates) {
+		String token = tokenInfo.token();
+		if (token.isEmpty()) {
+			return Set.of();
+		}
+		if (candidates.size() > MAX_CANDIDATES_TO_SCAN) {
+			return getSearchResults(tokenInfo);
+		}
+		List<PrefixInfo<IListElementInfo<?>>> searchedPrefixes = getSearchedPrefixes(tokenInfo.prefixInfo());
+		for (PrefixInfo<IListElementInfo<?>> prefixInfo : searchedPrefixes) {
+			if (!this.elementPrefixParser.isCheapToScan(prefixInfo)) {
+				return getSearchResults(tokenInfo);
+			}
+		}
+
+		Set<IListElementInfo<?>> results = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (IListElementInfo<?> candidate : candidates) {
+			if (matchesAny(searchedPrefixes, candidate, token)) {
+				results.add(candidate);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * @return the prefixes whose storages {@link #getSearchResults(ElementPrefixParser.TokenInfo)} searches for a token with this prefix.
+	 */
+	private List<PrefixInfo<IListElementInfo<?>>> getSearchedPrefixes(PrefixInfo<IListElementInfo<?>> prefixInfo) {
+		if (prefixInfo != ElementPrefixParser.NO_PREFIX) {
+			ISearchable<IListElementInfo<?>> searchable = this.prefixedSearchables.get(prefixInfo);
+			if (searchable != null && searchable.getMode() != SearchMode.DISABLED) {
+				return List.of(prefixInfo);
+			}
+		}
+		List<PrefixInfo<IListElementInfo<?>>> searchedPrefixes = new ArrayList<>();
+		for (PrefixInfo<IListElementInfo<?>> searchedPrefix : this.prefixedSearchables.keySet()) {
+			if (searchedPrefix.getMode() == SearchMode.ENABLED) {
+				searchedPrefixes.add(searchedPrefix);
+			}
+		}
+		return searchedPrefixes;
+	}
+
+	private static boolean matchesAny(List<PrefixInfo<IListElementInfo<?>>> prefixInfos, IListElementInfo<?> info, String token) {
+		for (PrefixInfo<IListElementInfo<?>> prefixInfo : prefixInfos) {
+			for (String string : prefixInfo.getStrings(info)) {
+				if (string.contains(token)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the results that lazy indexes have ready, and starts building the lazy indexes that are needed for this search.
+	 */
+	private void startLazyIndexes(PrefixInfo<IListElementInfo<?>> prefixInfo) {
+		if (this.lazyIndexes.isEmpty()) {
+			return;
+		}
+		for (LazyPrefixIndex lazyIndex : this.lazyIndexes.values()) {
+			lazyIndex.update();
+		}
+		LazyPrefixIndex lazyIndex = this.lazyIndexes.get(prefixInfo);
+		if (lazyIndex != null) {
+			lazyIndex.start();
+		} else if (prefixInfo == ElementPrefixParser.NO_PREFIX || prefixInfo.getMode() == SearchMode.DISABLED) {
+			// searches without a prefix also search the prefixes that are enabled without one
+			this.lazyIndexes.forEach((lazyPrefixInfo, index) -> {
+				if (lazyPrefixInfo.getMode() == SearchMode.ENABLED) {
+					index.start();
+				}
+			});
+		}
+	}
+
 	@Override
 	public void add(IListElementInfo<?> info) {
-		for (PrefixedSearchable<IListElementInfo<?>> prefixedSearchable : this.prefixedSearchables.values()) {
+		this.empty = false;
+		for (Map.Entry<PrefixInfo<IListElementInfo<?>>, PrefixedSearchable<IListElementInfo<?>>> entry : this.prefixedSearchables.entrySet()) {
+			PrefixedSearchable<IListElementInfo<?>> prefixedSearchable = entry.getValue();
 			SearchMode searchMode = prefixedSearchable.getMode();
-			if (searchMode != SearchMode.DISABLED) {
+			LazyPrefixIndex lazyIndex = this.lazyIndexes.get(entry.getKey());
+			if (lazyIndex != null) {
+				lazyIndex.addAll(List.of(info));
+			} else if (searchMode != SearchMode.DISABLED) {
 				Collection<String> strings = prefixedSearchable.getStrings(info);
 				ISearchStorage<IListElementInfo<?>> storage = prefixedSearchable.getSearchStorage();
 				for (String string : strings) {
@@ -70,18 +205,101 @@ public class ElementSearch implements IElementSearch {
 
 	@Override
 	public void addAll(Collection<IListElementInfo<?>> infos) {
-		for (PrefixedSearchable<IListElementInfo<?>> prefixedSearchable : this.prefixedSearchables.values()) {
-			SearchMode searchMode = prefixedSearchable.getMode();
-			if (searchMode != SearchMode.DISABLED) {
-				ISearchStorage<IListElementInfo<?>> storage = prefixedSearchable.getSearchStorage();
-				for (IListElementInfo<?> info : infos) {
-					Collection<String> strings = prefixedSearchable.getStrings(info);
-					for (String string : strings) {
-						storage.put(string, info);
-					}
+		List<IListElementInfo<?>> infoList = List.copyOf(infos);
+
+		// only the first batch is cached, elements added later are put into the indexes as usual
+		SearchIndexCache searchIndexCache = this.empty ? this.searchIndexCache : null;
+		SearchIndexCache.CacheKey cacheKey = null;
+		Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> loaded = Map.of();
+		if (searchIndexCache != null) {
+			cacheKey = searchIndexCache.createKey(infoList);
+			loaded = searchIndexCache.load(cacheKey, List.copyOf(this.prefixedSearchables.keySet()));
+			loaded.forEach(this::setStorage);
+		}
+		this.empty = false;
+
+		// the storages are independent of each other, so when building in parallel is enabled
+		// the thread-safe ones are built at the same time, see ElementPrefixParser#isThreadSafe
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		List<PrefixInfo<IListElementInfo<?>>> callingThreadPrefixes = new ArrayList<>();
+		boolean builtCacheable = false;
+		for (Map.Entry<PrefixInfo<IListElementInfo<?>>, PrefixedSearchable<IListElementInfo<?>>> entry : this.prefixedSearchables.entrySet()) {
+			PrefixInfo<IListElementInfo<?>> prefixInfo = entry.getKey();
+			ISearchStorage<IListElementInfo<?>> storage = entry.getValue().getSearchStorage();
+			if (prefixInfo.getMode() == SearchMode.DISABLED || loaded.containsKey(prefixInfo)) {
+				continue;
+			}
+			LazyPrefixIndex lazyIndex = this.lazyIndexes.get(prefixInfo);
+			if (lazyIndex == null && this.elementPrefixParser.isIndexedLazily(prefixInfo)) {
+				lazyIndex = new LazyPrefixIndex(prefixInfo, storage, this.onIndexProgress);
+				this.lazyIndexes.put(prefixInfo, lazyIndex);
+			}
+			if (lazyIndex != null) {
+				lazyIndex.addAll(infoList);
+			} else {
+				if (this.parallel && this.elementPrefixParser.isThreadSafe(prefixInfo)) {
+					tasks.add(ForkJoinPool.commonPool().submit(() -> putAll(prefixInfo, storage, infoList, stringPool, true)));
+				} else {
+					callingThreadPrefixes.add(prefixInfo);
+				}
+				builtCacheable |= searchIndexCache != null && searchIndexCache.isCacheable(prefixInfo);
+			}
+		}
+		// build these while the thread-safe storages are being built in the background
+		for (PrefixInfo<IListElementInfo<?>> prefixInfo : callingThreadPrefixes) {
+			ISearchStorage<IListElementInfo<?>> storage = this.prefixedSearchables.get(prefixInfo).getSearchStorage();
+			putAll(prefixInfo, storage, infoList, stringPool, false);
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+		// the storages have kept the keys they need, don't keep the rest alive
+		this.stringPool.clear();
+
+		if (searchIndexCache != null && cacheKey != null && builtCacheable) {
+			Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> storages = new IdentityHashMap<>();
+			this.prefixedSearchables.forEach((prefixInfo, prefixedSearchable) -> {
+				// lazy indexes are still being built, they are built again on the next launch
+				if (!this.lazyIndexes.containsKey(prefixInfo)) {
+					storages.put(prefixInfo, prefixedSearchable.getSearchStorage());
+				}
+			});
+			searchIndexCache.save(cacheKey, storages);
+		}
+	}
+
+	/**
+	 * Puts all the elements into the storage.
+	 * Only the calling thread writes to the storage.
+	 *
+	 * @param stringPool deduplicates the keys, it can be shared by storages that are built at the same time
+	 * @param parallel   if true, the strings for the elements are extracted in parallel, one chunk at a time.
+	 *                   Only use this for prefixes that are {@link ElementPrefixParser#isThreadSafe thread-safe}.
+	 */
+	static void putAll(PrefixInfo<IListElementInfo<?>> prefixInfo, ISearchStorage<IListElementInfo<?>> storage, List<IListElementInfo<?>> infos, StringPool stringPool, boolean parallel) {
+		if (!parallel) {
+			for (IListElementInfo<?> info : infos) {
+				for (String string : prefixInfo.getStrings(info)) {
+					storage.put(stringPool.intern(string), info);
+				}
+			}
+			storage.compact();
+			return;
+		}
+		for (int start = 0; start < infos.size(); start += PARALLEL_CHUNK_SIZE) {
+			List<IListElementInfo<?>> chunk = infos.subList(start, Math.min(start + PARALLEL_CHUNK_SIZE, infos.size()));
+			List<Collection<String>> chunkStrings = chunk.parallelStream()
+				.map(prefixInfo::getStrings)
+				.toList();
+
+			for (int i = 0; i < chunk.size(); i++) {
+				IListElementInfo<?> info = chunk.get(i);
+				for (String string : chunkStrings.get(i)) {
+					storage.put(stringPool.intern(string), info);
 				}
 			}
 		}
+		storage.compact();
 	}
 
 	@Override
@@ -95,10 +313,14 @@ public class ElementSearch implements IElementSearch {
 	@Override
 	public void logStatistics() {
 		this.prefixedSearchables.forEach((prefixInfo, value) -> {
-			if (prefixInfo.getMode() != SearchMode.DISABLED) {
+			LazyPrefixIndex lazyIndex = this.lazyIndexes.get(prefixInfo);
+			if (lazyIndex != null) {
+				LOGGER.info("ElementSearch {} Storage Stats: {}", prefixInfo, lazyIndex.statistics());
+			} else if (prefixInfo.getMode() != SearchMode.DISABLED) {
 				ISearchStorage<IListElementInfo<?>> storage = value.getSearchStorage();
 				LOGGER.info("ElementSearch {} Storage Stats: {}", prefixInfo, storage.statistics());
 			}
 		});
+		LOGGER.info("ElementSearch Key Stats: {}", stringPool.statistics());
 	}
 }
@@ -24,13 +24,22 @@ public class ElementSearchLowMem implements IElementSearch {
 
 	@Override
 	public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+		return getSearchResults(tokenInfo, this.elementInfoList);
+	}
+
+	@Override
+	public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo, Set<IListElementInfo<?>> candidates) {
+		return getSearchResults(tokenInfo, (Collection<IListElementInfo<?>>) candidates);
+	}
+
+	private static Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo, Collection<IListElementInfo<?>> elementInfos) {
 		String token = tokenInfo.token();
 		if (token.isEmpty()) {
 			return Set.of();
 		}
 
 		PrefixInfo<IListElementInfo<?>> prefixInfo = tokenInfo.prefixInfo();
-		return this.elementInfoList.stream()
+		return elementInfos.stream()
 			.filter(elementInfo -> matches(token, prefixInfo, elementInfo))
 			.collect(Collectors.toSet());
 	}
@@ -14,6 +14,17 @@ public interface IElementSearch {
 
 	Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo);
 
+	/**
+	 * Get the search results for a token when a superset of the results is already known,
+	 * for example the results of "iron" are all in the results of "iro".
+	 * Implementations can filter the candidates if that is cheaper than a full search.
+	 *
+	 * @param candidates contains every element that can match the token. Must not be modified.
+	 */
+	default Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo, Set<IListElementInfo<?>> candidates) {
+		return getSearchResults(tokenInfo);
+	}
+
 	@SuppressWarnings("unused") // used for debugging
 	void logStatistics();
 }
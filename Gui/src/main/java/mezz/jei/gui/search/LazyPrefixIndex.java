@@ -0,0 +1,150 @@
+package mezz.jei.gui.search;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the storage for one prefix in the background the first time it is searched,
+ * instead of when the elements are added.
+ *
+ * The strings are extracted on a low priority background thread, one chunk of elements at a time.
+ * Finished chunks are put into the storage by {@link #update()} on the client thread,
+ * so the storage is only ever accessed by one thread, and searches return more results as indexing progresses.
+ */
+public class LazyPrefixIndex {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int CHUNK_SIZE = 1024;
+	private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(
+		new ThreadFactoryBuilder()
+			.setNameFormat("JEI Lazy Search Indexer %d")
+			.setDaemon(true)
+			.setPriority(Thread.MIN_PRIORITY)
+			.build()
+	);
+
+	private final PrefixInfo<IListElementInfo<?>> prefixInfo;
+	private final ISearchStorage<IListElementInfo<?>> storage;
+	private final Runnable onProgress;
+	/**
+	 * Elements that are waiting for the first search, only accessed from the client thread.
+	 */
+	private final List<IListElementInfo<?>> waiting = new ArrayList<>();
+	private final Queue<ExtractedChunk> extractedChunks = new ConcurrentLinkedQueue<>();
+	private boolean started = false;
+	/**
+	 * The number of elements that have not been put into the storage yet, only accessed from the client thread.
+	 */
+	private int remaining = 0;
+
+	private record ExtractedChunk(List<IListElementInfo<?>> elements, List<Collection<String>> strings) {}
+
+	/**
+	 * @param onProgress called from the background thread when some results are ready to be added with {@link #update()}
+	 */
+	public LazyPrefixIndex(PrefixInfo<IListElementInfo<?>> prefixInfo, ISearchStorage<IListElementInfo<?>> storage, Runnable onProgress) {
+		this.prefixInfo = prefixInfo;
+		this.storage = storage;
+		this.onProgress = onProgress;
+	}
+
+	public void addAll(Collection<IListElementInfo<?>> infos) {
+		this.waiting.addAll(infos);
+		this.remaining += infos.size();
+		if (this.started) {
+			submitWaiting();
+		}
+	}
+
+	/**
+	 * Starts indexing in the background, if it has not started already.
+	 */
+	public void start() {
+		if (!this.started) {
+			this.started = true;
+			submitWaiting();
+		}
+	}
+
+	private void submitWaiting() {
+		if (this.waiting.isEmpty()) {
+			return;
+		}
+		List<IListElementInfo<?>> elements = List.copyOf(this.waiting);
+		this.waiting.clear();
+		EXECUTOR.execute(() -> extractStrings(elements));
+	}
+
+	private void extractStrings(List<IListElementInfo<?>> elements) {
+		long lastProgress = System.nanoTime();
+		for (int start = 0; start < elements.size(); start += CHUNK_SIZE) {
+			List<IListElementInfo<?>> chunk = elements.subList(start, Math.min(start + CHUNK_SIZE, elements.size()));
+			List<Collection<String>> chunkStrings = new ArrayList<>(chunk.size());
+			for (IListElementInfo<?> info : chunk) {
+				try {
+					chunkStrings.add(prefixInfo.getStrings(info));
+				} catch (RuntimeException e) {
+					LOGGER.error("Failed to get the {} search strings for {}", prefixInfo, info.getResourceLocation(), e);
+					chunkStrings.add(List.of());
+				}
+			}
+			this.extractedChunks.add(new ExtractedChunk(chunk, chunkStrings));
+
+			long now = System.nanoTime();
+			boolean last = start + CHUNK_SIZE >= elements.size();
+			if (last || now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+				lastProgress = now;
+				this.onProgress.run();
+			}
+		}
+	}
+
+	/**
+	 * Puts the chunks that have been extracted so far into the storage.
+	 *
+	 * @return true if anything was added to the storage
+	 */
+	public boolean update() {
+		boolean changed = false;
+		ExtractedChunk chunk;
+		while ((chunk = this.extractedChunks.poll()) != null) {
+			List<IListElementInfo<?>> elements = chunk.elements();
+			List<Collection<String>> strings = chunk.strings();
+			for (int i = 0; i < elements.size(); i++) {
+				IListElementInfo<?> info = elements.get(i);
+				for (String string : strings.get(i)) {
+					this.storage.put(string, info);
+				}
+			}
+			this.remaining -= elements.size();
+			changed = true;
+		}
+		if (changed && this.remaining == 0) {
+			this.storage.compact();
+		}
+		return changed;
+	}
+
+	public String statistics() {
+		if (!this.started) {
+			return "not indexed yet, waiting for the first search";
+		}
+		if (this.remaining > 0) {
+			return "still indexing, " + this.remaining + " elements remaining";
+		}
+		return this.storage.statistics();
+	}
+}
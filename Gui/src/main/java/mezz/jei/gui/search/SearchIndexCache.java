@@ -0,0 +1,268 @@
+package mezz.jei.gui.search;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.config.IIngredientFilterConfig;
+import mezz.jei.common.platform.Services;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.ISerializableSearchStorage;
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.core.search.SearchMode;
+import mezz.jei.core.util.PathUtil;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import net.minecraft.client.Minecraft;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Saves the built search indexes to a file, so they can be loaded on the next launch instead of being rebuilt.
+ *
+ * The file is keyed by a fingerprint of everything that goes into the indexes:
+ * the loaded mods and their versions, the language, the selected resource packs, the search config,
+ * the search colors config, and the uid of every ingredient.
+ * When the fingerprint does not match or the file can't be read, it is ignored and the indexes are rebuilt and saved again.
+ *
+ * Tag search is never cached, because tags come from the server and can change between worlds
+ * without anything in the fingerprint changing.
+ */
+public class SearchIndexCache {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int MAGIC = 0x4A454953; // "JEIS"
+	private static final int FORMAT_VERSION = 1;
+	private static final char TAG_PREFIX = '$';
+
+	private final Path path;
+	private final Path colorConfigPath;
+	private final IIngredientManager ingredientManager;
+	private final IIngredientFilterConfig config;
+	private final Supplier<List<String>> gameEnvironment;
+
+	/**
+	 * @param path the file to save the search indexes to
+	 * @param colorConfigPath the config file with the color names used by color search
+	 * @param gameEnvironment the parts of the game that affect the search strings, see {@link #getGameEnvironment()}
+	 */
+	public SearchIndexCache(Path path, Path colorConfigPath, IIngredientManager ingredientManager, IIngredientFilterConfig config, Supplier<List<String>> gameEnvironment) {
+		this.path = path;
+		this.colorConfigPath = colorConfigPath;
+		this.ingredientManager = ingredientManager;
+		this.config = config;
+		this.gameEnvironment = gameEnvironment;
+	}
+
+	/**
+	 * @return the loaded mods and their versions, the language, and the selected resource packs.
+	 */
+	public static List<String> getGameEnvironment() {
+		List<String> environment = new ArrayList<>();
+		Services.PLATFORM.getModHelper()
+			.getModVersions()
+			.stream()
+			.sorted()
+			.forEach(environment::add);
+		Minecraft minecraft = Minecraft.getInstance();
+		environment.add(minecraft.getLanguageManager().getSelected());
+		// resource packs can change tooltips, names and textures (and so the colors of ingredients)
+		environment.addAll(minecraft.getResourcePackRepository().getSelectedIds());
+		return environment;
+	}
+
+	/**
+	 * @param elements the elements in the order their ids are saved in. Sorted by uid, so the order is the same every launch.
+	 * @param fingerprint a hash of everything that affects the search strings of the elements
+	 */
+	public record CacheKey(List<IListElementInfo<?>> elements, HashCode fingerprint) {}
+
+	private record ElementUid(String uid, IListElementInfo<?> element) {}
+
+	/**
+	 * Must be called on the thread that the ingredients were created on,
+	 * because ingredient helpers are not required to make {@link IIngredientHelper#getUniqueId} thread-safe.
+	 */
+	public CacheKey createKey(Collection<IListElementInfo<?>> infos) {
+		List<ElementUid> elementUids = infos.stream()
+			.map(info -> new ElementUid(getUid(info), info))
+			.sorted(Comparator.comparing(ElementUid::uid))
+			.toList();
+
+		Hasher hasher = Hashing.sha256().newHasher();
+		hasher.putInt(FORMAT_VERSION);
+		List<String> environment = gameEnvironment.get();
+		hasher.putInt(environment.size());
+		for (String string : environment) {
+			putString(hasher, string);
+		}
+		putFile(hasher, colorConfigPath);
+		hasher.putBoolean(config.getSearchAdvancedTooltips());
+		hasher.putBoolean(config.getSearchModIds());
+		hasher.putBoolean(config.getSearchModAliases());
+		hasher.putBoolean(config.getSearchShortModNames());
+		for (ElementUid elementUid : elementUids) {
+			putString(hasher, elementUid.uid());
+		}
+
+		List<IListElementInfo<?>> elements = elementUids.stream()
+			.<IListElementInfo<?>>map(ElementUid::element)
+			.toList();
+		return new CacheKey(elements, hasher.hash());
+	}
+
+	private static void putString(Hasher hasher, String string) {
+		hasher.putInt(string.length());
+		hasher.putUnencodedChars(string);
+	}
+
+	private static void putFile(Hasher hasher, Path file) {
+		try {
+			byte[] bytes = Files.readAllBytes(file);
+			hasher.putInt(bytes.length);
+			hasher.putBytes(bytes);
+		} catch (IOException e) {
+			// a missing file uses the defaults
+			hasher.putInt(-1);
+		}
+	}
+
+	private <V> String getUid(IListElementInfo<V> info) {
+		ITypedIngredient<V> typedIngredient = info.getTypedIngredient();
+		IIngredientType<V> type = typedIngredient.getType();
+		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(type);
+		return type.getUid() + ":" + ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Ingredient);
+	}
+
+	public boolean isCacheable(PrefixInfo<IListElementInfo<?>> prefixInfo) {
+		return prefixInfo.getPrefix() != TAG_PREFIX &&
+			prefixInfo.getMode() != SearchMode.DISABLED;
+	}
+
+	/**
+	 * @return new storages loaded from the file for each of the given prefixes that was saved,
+	 * or an empty map if the file does not match the key.
+	 */
+	public Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> load(CacheKey key, Collection<PrefixInfo<IListElementInfo<?>>> prefixInfos) {
+		if (!Files.exists(path)) {
+			return Map.of();
+		}
+		// Check the header without mapping the file, because a mapped file can't be replaced on some platforms
+		// until the mapping is garbage collected, and a file that doesn't match is about to be replaced.
+		byte[] fingerprint = new byte[key.fingerprint().bits() / Byte.SIZE];
+		try (DataInputStream input = new DataInputStream(Files.newInputStream(path))) {
+			if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+				LOGGER.info("Search index cache has an old format, rebuilding the search indexes.");
+				return Map.of();
+			}
+			input.readFully(fingerprint);
+		} catch (IOException e) {
+			LOGGER.warn("Failed to load the search index cache from {}, rebuilding the search indexes.", path, e);
+			return Map.of();
+		}
+		if (!key.fingerprint().equals(HashCode.fromBytes(fingerprint))) {
+			LOGGER.info("Search index cache is out of date, rebuilding the search indexes.");
+			return Map.of();
+		}
+
+		long headerSize = Integer.BYTES * 2 + fingerprint.length;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, headerSize, channel.size() - headerSize);
+			List<IListElementInfo<?>> elements = key.elements();
+			IntFunction<IListElementInfo<?>> values = elements::get;
+			Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> loaded = new IdentityHashMap<>();
+			int sectionCount = buffer.getInt();
+			for (int i = 0; i < sectionCount; i++) {
+				char prefix = buffer.getChar();
+				int length = buffer.getInt();
+				ByteBuffer section = buffer.slice(buffer.position(), length);
+				buffer.position(buffer.position() + length);
+
+				for (PrefixInfo<IListElementInfo<?>> prefixInfo : prefixInfos) {
+					if (prefixInfo.getPrefix() == prefix && isCacheable(prefixInfo)) {
+						ISearchStorage<IListElementInfo<?>> storage = prefixInfo.createStorage();
+						if (storage instanceof ISerializableSearchStorage<IListElementInfo<?>> serializableStorage) {
+							serializableStorage.read(section, values);
+							loaded.put(prefixInfo, storage);
+						}
+					}
+				}
+			}
+			return loaded;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Failed to load the search index cache from {}, rebuilding the search indexes.", path, e);
+			return Map.of();
+		}
+	}
+
+	public void save(CacheKey key, Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> storages) {
+		List<IListElementInfo<?>> elements = key.elements();
+		Reference2IntMap<IListElementInfo<?>> ids = new Reference2IntOpenHashMap<>(elements.size());
+		ids.defaultReturnValue(-1);
+		for (int i = 0; i < elements.size(); i++) {
+			ids.put(elements.get(i), i);
+		}
+		ToIntFunction<IListElementInfo<?>> valueIds = value -> {
+			int id = ids.getInt(value);
+			if (id < 0) {
+				throw new IllegalStateException("Search index contains an element that is not part of the cache key: " + value.getResourceLocation());
+			}
+			return id;
+		};
+
+		Map<PrefixInfo<IListElementInfo<?>>, ISerializableSearchStorage<IListElementInfo<?>>> sections = new IdentityHashMap<>();
+		storages.forEach((prefixInfo, storage) -> {
+			if (isCacheable(prefixInfo) && storage instanceof ISerializableSearchStorage<IListElementInfo<?>> serializableStorage) {
+				sections.put(prefixInfo, serializableStorage);
+			}
+		});
+
+		try {
+			PathUtil.writeUsingTempFile(path, outputStream -> {
+				DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				output.write(key.fingerprint().asBytes());
+				output.writeInt(sections.size());
+				for (Map.Entry<PrefixInfo<IListElementInfo<?>>, ISerializableSearchStorage<IListElementInfo<?>>> entry : sections.entrySet()) {
+					ByteArrayOutputStream sectionBytes = new ByteArrayOutputStream();
+					DataOutputStream sectionOutput = new DataOutputStream(new BufferedOutputStream(sectionBytes));
+					entry.getValue().write(sectionOutput, valueIds);
+					sectionOutput.flush();
+
+					output.writeChar(entry.getKey().getPrefix());
+					output.writeInt(sectionBytes.size());
+					sectionBytes.writeTo(output);
+				}
+				output.flush();
+			});
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Failed to save the search index cache to {}", path, e);
+		}
+	}
+}
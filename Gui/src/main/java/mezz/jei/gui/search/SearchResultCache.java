@@ -0,0 +1,170 @@
+package mezz.jei.gui.search;
+
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.core.search.SearchMode;
+import mezz.jei.gui.ingredients.IListElementInfo;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the results of recent search tokens, so that typing in the search bar
+ * does not repeat the work for the parts of the filter text that did not change.
+ *
+ * When a token is not cached but it extends a cached token (like "iron" after "iro"),
+ * the cached results are passed to {@link IElementSearch#getSearchResults(ElementPrefixParser.TokenInfo, Set)}
+ * so the search can narrow them down instead of searching everything again.
+ *
+ * Results are also kept as bit sets of {@link IListElementInfo#getSortedIndex()},
+ * so combining tokens is done with word-level bit operations instead of hash set lookups.
+ * The sorted indexes must be assigned before results are requested, and {@link #onSortedIndexesChanged} must be called when they change.
+ * Elements without a sorted index in the sorted list are left out of the bit sets, since they can't be shown.
+ *
+ * Intersections of the tokens are cached by the list of tokens leading up to them,
+ * so when only the last token changes the intersection of the others is reused.
+ */
+public class SearchResultCache {
+	private static final int MAX_CACHED_TOKENS = 128;
+	private static final int MAX_CACHED_INTERSECTIONS = 32;
+
+	private final ElementPrefixParser elementPrefixParser;
+	private final Map<ElementPrefixParser.TokenInfo, TokenResults> tokenResults = createLruMap(MAX_CACHED_TOKENS);
+	private final Map<List<ElementPrefixParser.TokenInfo>, BitSet> intersections = createLruMap(MAX_CACHED_INTERSECTIONS);
+	private List<SearchMode> searchModes = List.of();
+	private int sortedElementCount = 0;
+
+	public SearchResultCache(ElementPrefixParser elementPrefixParser) {
+		this.elementPrefixParser = elementPrefixParser;
+	}
+
+	private static <K, V> Map<K, V> createLruMap(int maxSize) {
+		return new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public void invalidate() {
+		this.tokenResults.clear();
+		this.intersections.clear();
+	}
+
+	/**
+	 * Called when the sorted indexes of the elements have been assigned again.
+	 *
+	 * @param sortedElementCount the number of sorted elements, every assigned sorted index is lower than this.
+	 */
+	public void onSortedIndexesChanged(int sortedElementCount) {
+		this.sortedElementCount = sortedElementCount;
+		invalidate();
+	}
+
+	/**
+	 * @return the sorted indexes of the elements that match the token. The returned bit set must not be modified.
+	 */
+	public BitSet getTokenResults(IElementSearch elementSearch, ElementPrefixParser.TokenInfo tokenInfo) {
+		invalidateIfSearchModesChanged();
+		return getTokenResultsInternal(elementSearch, tokenInfo).sortedIndexes();
+	}
+
+	/**
+	 * @return the sorted indexes of the elements that match all the tokens. The returned bit set must not be modified.
+	 */
+	public BitSet getIntersection(IElementSearch elementSearch, List<ElementPrefixParser.TokenInfo> tokenInfos) {
+		invalidateIfSearchModesChanged();
+		return getIntersectionInternal(elementSearch, tokenInfos);
+	}
+
+	private TokenResults getTokenResultsInternal(IElementSearch elementSearch, ElementPrefixParser.TokenInfo tokenInfo) {
+		TokenResults cached = this.tokenResults.get(tokenInfo);
+		if (cached != null) {
+			return cached;
+		}
+
+		Set<IListElementInfo<?>> results = null;
+		String token = tokenInfo.token();
+		PrefixInfo<IListElementInfo<?>> prefixInfo = tokenInfo.prefixInfo();
+		for (int length = token.length() - 1; length > 0 && results == null; length--) {
+			ElementPrefixParser.TokenInfo shorterTokenInfo = new ElementPrefixParser.TokenInfo(token.substring(0, length), prefixInfo);
+			TokenResults candidates = this.tokenResults.get(shorterTokenInfo);
+			if (candidates != null) {
+				results = elementSearch.getSearchResults(tokenInfo, candidates.elements());
+			}
+		}
+		if (results == null) {
+			results = elementSearch.getSearchResults(tokenInfo);
+		}
+
+		TokenResults tokenResults = new TokenResults(Collections.unmodifiableSet(results), toSortedIndexes(results));
+		this.tokenResults.put(tokenInfo, tokenResults);
+		return tokenResults;
+	}
+
+	private BitSet getIntersectionInternal(IElementSearch elementSearch, List<ElementPrefixParser.TokenInfo> tokenInfos) {
+		if (tokenInfos.isEmpty()) {
+			return new BitSet();
+		}
+		BitSet cached = this.intersections.get(tokenInfos);
+		if (cached != null) {
+			return cached;
+		}
+
+		int lastIndex = tokenInfos.size() - 1;
+		ElementPrefixParser.TokenInfo lastTokenInfo = tokenInfos.get(lastIndex);
+		BitSet results;
+		if (lastIndex == 0) {
+			results = getTokenResultsInternal(elementSearch, lastTokenInfo).sortedIndexes();
+		} else {
+			BitSet previous = getIntersectionInternal(elementSearch, tokenInfos.subList(0, lastIndex));
+			if (previous.isEmpty()) {
+				results = previous;
+			} else {
+				results = (BitSet) previous.clone();
+				results.and(getTokenResultsInternal(elementSearch, lastTokenInfo).sortedIndexes());
+			}
+		}
+
+		this.intersections.put(List.copyOf(tokenInfos), results);
+		return results;
+	}
+
+	private BitSet toSortedIndexes(Set<IListElementInfo<?>> elements) {
+		BitSet sortedIndexes = new BitSet(this.sortedElementCount);
+		for (IListElementInfo<?> element : elements) {
+			int sortedIndex = element.getSortedIndex();
+			// elements that were added after sorting have no sorted index yet (Integer.MAX_VALUE),
+			// setting it would make the bit set allocate hundreds of megabytes
+			if (sortedIndex >= 0 && sortedIndex < this.sortedElementCount) {
+				sortedIndexes.set(sortedIndex);
+			}
+		}
+		return sortedIndexes;
+	}
+
+	/**
+	 * Search modes are read from the config every time a search runs,
+	 * so a config change can change the results of a token without anything else changing.
+	 */
+	private void invalidateIfSearchModesChanged() {
+		List<SearchMode> currentSearchModes = this.elementPrefixParser.allPrefixInfos()
+			.stream()
+			.map(PrefixInfo::getMode)
+			.toList();
+		if (!currentSearchModes.equals(this.searchModes)) {
+			this.searchModes = currentSearchModes;
+			invalidate();
+		}
+	}
+
+	/**
+	 * @param elements the matching elements, kept so that longer tokens can narrow them down
+	 * @param sortedIndexes the {@link IListElementInfo#getSortedIndex()} of each matching element
+	 */
+	private record TokenResults(Set<IListElementInfo<?>> elements, BitSet sortedIndexes) {}
+}
@@ -57,11 +57,16 @@ import net.minecraft.core.NonNullList;
 import net.minecraft.core.RegistryAccess;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
 public class JeiGuiStarter {
 	private static final Logger LOGGER = LogManager.getLogger();
+	/**
+	 * The bookmarks of the running JEI GUI, so that their changes can be saved when it stops.
+	 */
+	private static @Nullable BookmarkList bookmarkList;
 
 	public static JeiEventHandlers start(IRuntimeRegistration registration) {
 		LOGGER.info("Starting JEI GUI");
@@ -153,6 +158,7 @@ public class JeiGuiStarter {
 
 		BookmarkList bookmarkList = new BookmarkList(recipeManager, focusFactory, ingredientManager, registryAccess, bookmarkConfig, clientConfig, guiHelper);
 		bookmarkConfig.loadBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, bookmarkList);
+		JeiGuiStarter.bookmarkList = bookmarkList;
 
 		BookmarkOverlay bookmarkOverlay = OverlayHelper.createBookmarkOverlay(
 			ingredientManager,
@@ -233,4 +239,14 @@ public class JeiGuiStarter {
 			resourceReloadHandler
 		);
 	}
+
+	/**
+	 * Saves any bookmark changes that are still waiting to be saved, for when the JEI GUI stops.
+	 */
+	public static void stop() {
+		if (bookmarkList != null) {
+			bookmarkList.flushSave();
+			bookmarkList = null;
+		}
+	}
 }
@@ -1,6 +1,15 @@
 package mezz.jei.library.color;
 
+import mezz.jei.core.util.NearestColorTable;
+
 public final class ColorUtil {
+	/**
+	 * The border margin to use for a {@link NearestColorTable} with {@link #slowPerceptualColorDistanceSquared}.
+	 * Its rounding and grey weighting make the distance change by up to about 30 more inside a table cell
+	 * than its corners show, going by an exhaustive check of every rgb color with the default and random search colors.
+	 */
+	public static final double SLOW_PERCEPTUAL_COLOR_DISTANCE_BORDER_MARGIN = 64;
+
 	private ColorUtil() {
 
 	}
@@ -6,8 +6,9 @@ import mezz.jei.common.config.file.IConfigCategoryBuilder;
 import mezz.jei.common.config.file.IConfigSchemaBuilder;
 import mezz.jei.library.config.serializers.ColorNameSerializer;
 import mezz.jei.common.config.file.serializers.ListSerializer;
+import mezz.jei.core.util.NearestColorTable;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -51,6 +52,29 @@ public final class ColorNameConfig {
 	);
 
 	private final Supplier<List<ColorName>> searchColors;
+	/**
+	 * Built for the current search colors, and built again when they are changed in the config file.
+	 */
+	private volatile @Nullable ColorNameTable colorNameTable;
+
+	private record ColorNameTable(List<ColorName> colorNames, NearestColorTable table) {
+		public static ColorNameTable create(List<ColorName> colorNames) {
+			int[] colors = colorNames.stream()
+				.mapToInt(ColorName::color)
+				.toArray();
+			NearestColorTable table = new NearestColorTable(
+				colors,
+				ColorUtil::slowPerceptualColorDistanceSquared,
+				ColorUtil.SLOW_PERCEPTUAL_COLOR_DISTANCE_BORDER_MARGIN
+			);
+			return new ColorNameTable(colorNames, table);
+		}
+
+		public String getClosestColorName(int color) {
+			int index = table.getClosestIndex(color);
+			return colorNames.get(index).name();
+		}
+	}
 
 	public ColorNameConfig(IConfigSchemaBuilder schema) {
 		IConfigCategoryBuilder colors = schema.addCategory("colors");
@@ -62,19 +86,21 @@ public final class ColorNameConfig {
 		);
 	}
 
+	public static List<ColorName> getDefaultColors() {
+		return defaultColors;
+	}
+
 	public String getClosestColorName(int color) {
 		List<ColorName> colorNames = searchColors.get();
 		if (colorNames.isEmpty()) {
 			colorNames = defaultColors;
 		}
-		return colorNames
-			.stream()
-			.min(Comparator.comparing(entry -> {
-				int namedColor = entry.color();
-				double distance = ColorUtil.slowPerceptualColorDistanceSquared(namedColor, color);
-				return Math.abs(distance);
-			}))
-			.map(ColorName::name)
-			.orElseThrow();
+		ColorNameTable colorNameTable = this.colorNameTable;
+		// the config value is replaced with a new list when the config file changes
+		if (colorNameTable == null || colorNameTable.colorNames() != colorNames) {
+			colorNameTable = ColorNameTable.create(colorNames);
+			this.colorNameTable = colorNameTable;
+		}
+		return colorNameTable.getClosestColorName(color);
 	}
 }
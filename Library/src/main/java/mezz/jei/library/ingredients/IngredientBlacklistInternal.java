@@ -7,15 +7,18 @@ import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.core.util.WeakList;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class IngredientBlacklistInternal implements IIngredientManager.IIngredientListener {
 	public interface IListener {
 		<V> void onIngredientVisibilityChanged(ITypedIngredient<V> ingredient, boolean visible);
 	}
 
-	private final Set<String> ingredientBlacklist = new HashSet<>();
+	/**
+	 * Concurrent, because it is checked by recipe lookups on the recipe gui's lookup thread.
+	 */
+	private final Set<String> ingredientBlacklist = ConcurrentHashMap.newKeySet();
 	private final WeakList<IListener> listeners = new WeakList<>();
 
 	public <V> void addIngredientToBlacklist(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
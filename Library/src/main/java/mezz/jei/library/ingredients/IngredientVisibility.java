@@ -1,5 +1,7 @@
 package mezz.jei.library.ingredients;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.ITypedIngredient;
@@ -12,15 +14,47 @@ import mezz.jei.core.util.WeakList;
 import mezz.jei.library.config.EditModeConfig;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class IngredientVisibility implements IIngredientVisibility {
+	private static final int MAX_CACHED_INGREDIENTS = 200_000;
+
 	private final IngredientBlacklistInternal blacklist;
 	private final IClientToggleState toggleState;
 	private final IEditModeConfig editModeConfig;
 	private final IIngredientManager ingredientManager;
 	private final WeakList<IListener> listeners = new WeakList<>();
 
+	/**
+	 * Checking visibility asks the blacklist, the server, the ingredient's tags and the edit mode config,
+	 * so the results are cached for each typed ingredient.
+	 * Typed ingredients are held weakly and compared by identity, which is much cheaper than working out their uids,
+	 * and most of them, like the ingredient list and recipe ingredients, are created once and checked many times.
+	 * Any change to the blacklist or edit mode config clears the cache, those changes are rare.
+	 * Tags and the ingredients on the server can only change when JEI restarts, which creates a new cache.
+	 */
+	private final Cache<ITypedIngredient<?>, Visibility> visibilityCache = CacheBuilder.newBuilder()
+		.weakKeys()
+		.maximumSize(MAX_CACHED_INGREDIENTS)
+		.build();
+	/**
+	 * Incremented when the cache is cleared, so that a result worked out before the change is not cached after it.
+	 */
+	private final AtomicInteger cacheGeneration = new AtomicInteger();
+
+	private enum Visibility {
+		VISIBLE,
+		/**
+		 * Hidden by the api blacklist, by not being on the server, or by the hidden ingredient tag.
+		 */
+		HIDDEN,
+		/**
+		 * Hidden using the config file, which is still shown while edit mode is enabled.
+		 */
+		HIDDEN_BY_CONFIG
+	}
+
 	public IngredientVisibility(
 		IngredientBlacklistInternal blacklist,
 		IClientToggleState toggleState,
@@ -32,8 +66,8 @@ public class IngredientVisibility implements IIngredientVisibility {
 		this.editModeConfig = editModeConfig;
 		this.ingredientManager = ingredientManager;
 
-		blacklist.registerListener(this::notifyListenersOfVisibilityChange);
-		editModeConfig.registerListener(this::notifyListenersOfVisibilityChange);
+		blacklist.registerListener(this::onVisibilityChanged);
+		editModeConfig.registerListener(this::onVisibilityChanged);
 	}
 
 	@Override
@@ -52,17 +86,50 @@ public class IngredientVisibility implements IIngredientVisibility {
 	}
 
 	public <V> boolean isIngredientVisible(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
+		Visibility visibility = visibilityCache.getIfPresent(typedIngredient);
+		if (visibility == null) {
+			int generation = cacheGeneration.get();
+			visibility = getVisibility(typedIngredient, ingredientHelper);
+			visibilityCache.put(typedIngredient, visibility);
+			if (generation != cacheGeneration.get()) {
+				// the cache was cleared while this was worked out
+				visibilityCache.invalidate(typedIngredient);
+			}
+		}
+		return switch (visibility) {
+			case VISIBLE -> true;
+			case HIDDEN -> false;
+			case HIDDEN_BY_CONFIG -> toggleState.isEditModeEnabled();
+		};
+	}
+
+	private <V> Visibility getVisibility(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
+		if (isIngredientHidden(typedIngredient, ingredientHelper)) {
+			return Visibility.HIDDEN;
+		}
+		if (editModeConfig.isIngredientHiddenUsingConfigFile(typedIngredient)) {
+			return Visibility.HIDDEN_BY_CONFIG;
+		}
+		return Visibility.VISIBLE;
+	}
+
+	private <V> boolean isIngredientHidden(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
 		if (blacklist.isIngredientBlacklistedByApi(typedIngredient, ingredientHelper)) {
-			return false;
+			return true;
 		}
 		if (!ingredientHelper.isIngredientOnServer(typedIngredient.getIngredient())) {
-			return false;
+			return true;
 		}
 		Stream<ResourceLocation> tags = ingredientHelper.getTagStream(typedIngredient.getIngredient());
-		if (tags.anyMatch(Constants.HIDDEN_INGREDIENT_TAG::equals)) {
-			return false;
-		}
-		return toggleState.isEditModeEnabled() || !editModeConfig.isIngredientHiddenUsingConfigFile(typedIngredient);
+		return tags.anyMatch(Constants.HIDDEN_INGREDIENT_TAG::equals);
+	}
+
+	/**
+	 * Forgets the cached visibility of all ingredients.
+	 */
+	public void clearCache() {
+		cacheGeneration.incrementAndGet();
+		visibilityCache.invalidateAll();
 	}
 
 	@Override
@@ -70,6 +137,12 @@ public class IngredientVisibility implements IIngredientVisibility {
 		this.listeners.add(listener);
 	}
 
+	private <T> void onVisibilityChanged(ITypedIngredient<T> ingredient, boolean visible) {
+		// a change to a wildcard uid can change the visibility of many ingredients, so the whole cache is cleared
+		clearCache();
+		notifyListenersOfVisibilityChange(ingredient, visible);
+	}
+
 	private <T> void notifyListenersOfVisibilityChange(ITypedIngredient<T> ingredient, boolean visible) {
 		listeners.forEach(listener -> listener.onIngredientVisibilityChanged(ingredient, visible));
 	}
@@ -23,4 +23,12 @@ public class SubtypeManager implements ISubtypeManager {
 			.map(subtypeInterpreter -> subtypeInterpreter.apply(ingredient, context))
 			.orElse(IIngredientSubtypeInterpreter.NONE);
 	}
+
+	@Override
+	public <T> boolean hasSubtypeInterpreter(IIngredientTypeWithSubtypes<?, T> ingredientType, T ingredient) {
+		ErrorUtil.checkNotNull(ingredientType, "ingredientType");
+		ErrorUtil.checkNotNull(ingredient, "ingredient");
+
+		return interpreters.get(ingredientType, ingredient).isPresent();
+	}
 }
@@ -1,19 +1,35 @@
 package mezz.jei.library.load;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import mezz.jei.api.IModPlugin;
+import mezz.jei.core.util.StartupProfiler;
 import net.minecraft.resources.ResourceLocation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class PluginCaller {
 	private static final Logger LOGGER = LogManager.getLogger();
 
 	public static void callOnPlugins(String title, List<IModPlugin> plugins, Consumer<IModPlugin> func) {
+		callOnPlugins(title, plugins, func, StartupProfiler.disabled());
+	}
+
+	public static void callOnPlugins(String title, List<IModPlugin> plugins, Consumer<IModPlugin> func, StartupProfiler profiler) {
 		LOGGER.info("{}...", title);
 		Stopwatch stopwatch = Stopwatch.createStarted();
 
@@ -24,7 +40,114 @@ public class PluginCaller {
 				try {
 					ResourceLocation pluginUid = plugin.getPluginUid();
 					timer.begin(title, pluginUid);
+					StartupProfiler.Measurement measurement = profiler.begin();
 					func.accept(plugin);
+					measurement.end(title, pluginUid.toString());
+					timer.end();
+				} catch (RuntimeException | LinkageError e) {
+					LOGGER.error("Caught an error from mod plugin: {} {}", plugin.getClass(), plugin.getPluginUid(), e);
+					erroredPlugins.add(plugin);
+				}
+			}
+			plugins.removeAll(erroredPlugins);
+		}
+
+		LOGGER.info("{} took {}", title, stopwatch);
+	}
+
+	/**
+	 * The result of calling a plugin on a worker thread.
+	 *
+	 * @param error the error the plugin threw, or null if it finished normally.
+	 */
+	private record WorkerResult<C>(C context, @Nullable Throwable error) {}
+
+	/**
+	 * Calls the plugins like {@link #callOnPlugins}, but the plugins that are thread-safe are all started at once on worker threads.
+	 *
+	 * Each plugin call gets its own context from {@code createContext}, like a buffered registration.
+	 * The contexts are finished on the calling thread in plugin order, waiting for worker threads when needed,
+	 * so the results are the same as when the plugins are called one at a time.
+	 */
+	public static <C> void callOnPluginsConcurrently(
+		String title,
+		List<IModPlugin> plugins,
+		Predicate<IModPlugin> isThreadSafe,
+		Supplier<C> createContext,
+		BiConsumer<IModPlugin, C> func,
+		Consumer<C> finishContext,
+		StartupProfiler profiler
+	) {
+		List<IModPlugin> threadSafePlugins = plugins.stream()
+			.filter(isThreadSafe)
+			.toList();
+		if (threadSafePlugins.isEmpty()) {
+			callOnPlugins(title, plugins, p -> {
+				C context = createContext.get();
+				try {
+					func.accept(p, context);
+				} finally {
+					finishContext.accept(context);
+				}
+			}, profiler);
+			return;
+		}
+
+		LOGGER.info("{} ({} plugins concurrently)...", title, threadSafePlugins.size());
+		Stopwatch stopwatch = Stopwatch.createStarted();
+
+		int threadCount = Math.min(threadSafePlugins.size(), Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+			.setNameFormat("JEI Plugin Registration %d")
+			.setDaemon(true)
+			.build()
+		);
+
+		try (PluginCallerTimer timer = new PluginCallerTimer()) {
+			Map<IModPlugin, Future<WorkerResult<C>>> futures = new IdentityHashMap<>();
+			for (IModPlugin plugin : threadSafePlugins) {
+				C context = createContext.get();
+				Future<WorkerResult<C>> future = executor.submit(() -> {
+					try {
+						StartupProfiler.Measurement measurement = profiler.begin();
+						func.accept(plugin, context);
+						measurement.end(title, plugin.getPluginUid().toString());
+						return new WorkerResult<>(context, null);
+					} catch (RuntimeException | LinkageError e) {
+						return new WorkerResult<>(context, e);
+					}
+				});
+				futures.put(plugin, future);
+			}
+
+			List<IModPlugin> erroredPlugins = new ArrayList<>();
+			for (IModPlugin plugin : plugins) {
+				try {
+					ResourceLocation pluginUid = plugin.getPluginUid();
+					// for thread-safe plugins, the timer reports how long we wait for them to finish
+					timer.begin(title, pluginUid);
+					Future<WorkerResult<C>> future = futures.get(plugin);
+					if (future == null) {
+						C context = createContext.get();
+						StartupProfiler.Measurement measurement = profiler.begin();
+						try {
+							func.accept(plugin, context);
+						} finally {
+							finishContext.accept(context);
+						}
+						measurement.end(title, pluginUid.toString());
+					} else {
+						WorkerResult<C> result = Futures.getUnchecked(future);
+						// keep what the plugin registered before any error, like when it is called on this thread
+						finishContext.accept(result.context());
+						Throwable error = result.error();
+						if (error instanceof RuntimeException runtimeException) {
+							throw runtimeException;
+						}
+						if (error instanceof LinkageError linkageError) {
+							throw linkageError;
+						}
+					}
 					timer.end();
 				} catch (RuntimeException | LinkageError e) {
 					LOGGER.error("Caught an error from mod plugin: {} {}", plugin.getClass(), plugin.getPluginUid(), e);
@@ -32,6 +155,8 @@ public class PluginCaller {
 				}
 			}
 			plugins.removeAll(erroredPlugins);
+		} finally {
+			executor.shutdownNow();
 		}
 
 		LOGGER.info("{} took {}", title, stopwatch);
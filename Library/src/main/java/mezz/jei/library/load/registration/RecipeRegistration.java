@@ -13,7 +13,9 @@ import mezz.jei.common.util.ErrorUtil;
 import mezz.jei.library.ingredients.IngredientInfoRecipe;
 import mezz.jei.library.recipes.RecipeManagerInternal;
 import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class RecipeRegistration implements IRecipeRegistration {
@@ -22,6 +24,17 @@ public class RecipeRegistration implements IRecipeRegistration {
 	private final IIngredientVisibility ingredientVisibility;
 	private final IVanillaRecipeFactory vanillaRecipeFactory;
 	private final RecipeManagerInternal recipeManager;
+	/**
+	 * Recipes added to a buffered registration are kept here until {@link #addBufferedRecipes()} is called,
+	 * instead of being added to the recipe manager straight away.
+	 */
+	private final @Nullable List<BufferedRecipes<?>> bufferedRecipes;
+
+	private record BufferedRecipes<T>(RecipeType<T> recipeType, List<T> recipes) {
+		private void addTo(RecipeManagerInternal recipeManager) {
+			recipeManager.addRecipes(recipeType, recipes);
+		}
+	}
 
 	public RecipeRegistration(
 		IJeiHelpers jeiHelpers,
@@ -29,12 +42,46 @@ public class RecipeRegistration implements IRecipeRegistration {
 		IIngredientVisibility ingredientVisibility,
 		IVanillaRecipeFactory vanillaRecipeFactory,
 		RecipeManagerInternal recipeManager
+	) {
+		this(jeiHelpers, ingredientManager, ingredientVisibility, vanillaRecipeFactory, recipeManager, null);
+	}
+
+	private RecipeRegistration(
+		IJeiHelpers jeiHelpers,
+		IIngredientManager ingredientManager,
+		IIngredientVisibility ingredientVisibility,
+		IVanillaRecipeFactory vanillaRecipeFactory,
+		RecipeManagerInternal recipeManager,
+		@Nullable List<BufferedRecipes<?>> bufferedRecipes
 	) {
 		this.jeiHelpers = jeiHelpers;
 		this.ingredientManager = ingredientManager;
 		this.ingredientVisibility = ingredientVisibility;
 		this.vanillaRecipeFactory = vanillaRecipeFactory;
 		this.recipeManager = recipeManager;
+		this.bufferedRecipes = bufferedRecipes;
+	}
+
+	/**
+	 * Creates a registration for one plugin to use on a worker thread.
+	 * It keeps the added recipes until {@link #addBufferedRecipes()} is called on the main thread,
+	 * so that recipes can be added in the same order as when the plugins are called one at a time.
+	 */
+	public RecipeRegistration createBuffered() {
+		return new RecipeRegistration(jeiHelpers, ingredientManager, ingredientVisibility, vanillaRecipeFactory, recipeManager, new ArrayList<>());
+	}
+
+	/**
+	 * Adds the recipes that were added to this buffered registration to the recipe manager.
+	 */
+	public void addBufferedRecipes() {
+		if (bufferedRecipes == null) {
+			return;
+		}
+		for (BufferedRecipes<?> recipes : bufferedRecipes) {
+			recipes.addTo(recipeManager);
+		}
+		bufferedRecipes.clear();
 	}
 
 	@Override
@@ -61,7 +108,12 @@ public class RecipeRegistration implements IRecipeRegistration {
 	public <T> void addRecipes(RecipeType<T> recipeType, List<T> recipes) {
 		ErrorUtil.checkNotNull(recipeType, "recipeType");
 		ErrorUtil.checkNotNull(recipes, "recipes");
-		this.recipeManager.addRecipes(recipeType, recipes);
+		if (bufferedRecipes != null) {
+			// copy the list, plugins may reuse it after adding it
+			bufferedRecipes.add(new BufferedRecipes<>(recipeType, new ArrayList<>(recipes)));
+		} else {
+			this.recipeManager.addRecipes(recipeType, recipes);
+		}
 	}
 
 	@Override
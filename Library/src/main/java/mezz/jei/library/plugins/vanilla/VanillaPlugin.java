@@ -142,6 +142,15 @@ public class VanillaPlugin implements IModPlugin {
 		return ResourceLocation.fromNamespaceAndPath(ModIds.JEI_ID, "minecraft");
 	}
 
+	/**
+	 * The vanilla recipes are only read from the client level's recipe manager, which does not change while plugins are loading,
+	 * and every recipe is added through the registration.
+	 */
+	@Override
+	public boolean isRecipeRegistrationThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public void registerItemSubtypes(ISubtypeRegistration registration) {
 		registration.registerSubtypeInterpreter(Items.TIPPED_ARROW, PotionSubtypeInterpreter.INSTANCE);
@@ -10,6 +10,7 @@ import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.advanced.IRecipeManagerPlugin;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.core.collect.UidInterner;
 import mezz.jei.library.focus.Focus;
 import mezz.jei.library.recipes.collect.RecipeMap;
 import mezz.jei.library.recipes.collect.RecipeTypeData;
@@ -17,21 +18,29 @@ import mezz.jei.library.recipes.collect.RecipeTypeDataMap;
 
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Stream;
 
 public class InternalRecipeManagerPlugin implements IRecipeManagerPlugin {
 	private final IIngredientManager ingredientManager;
 	private final RecipeTypeDataMap recipeCategoriesMap;
 	private final EnumMap<RecipeIngredientRole, RecipeMap> recipeMaps;
+	/**
+	 * Held while reading the recipe maps, because recipes can be added to them on other threads.
+	 * Results are copied before it is released.
+	 */
+	private final Lock recipeMapsReadLock;
 
 	public InternalRecipeManagerPlugin(
 		IIngredientManager ingredientManager,
 		RecipeTypeDataMap recipeCategoriesMap,
-		EnumMap<RecipeIngredientRole, RecipeMap> recipeMaps
+		EnumMap<RecipeIngredientRole, RecipeMap> recipeMaps,
+		Lock recipeMapsReadLock
 	) {
 		this.ingredientManager = ingredientManager;
 		this.recipeCategoriesMap = recipeCategoriesMap;
 		this.recipeMaps = recipeMaps;
+		this.recipeMapsReadLock = recipeMapsReadLock;
 	}
 
 	@Override
@@ -43,8 +52,17 @@ public class InternalRecipeManagerPlugin implements IRecipeManagerPlugin {
 		IIngredientType<V> ingredientType = ingredient.getType();
 		IIngredientHelper<V> ingredientHelper = this.ingredientManager.getIngredientHelper(ingredientType);
 		String ingredientUid = ingredientHelper.getUniqueId(ingredient.getIngredient(), UidContext.Recipe);
-		return recipeMap.getRecipeTypes(ingredientUid)
-			.toList();
+		recipeMapsReadLock.lock();
+		try {
+			int ingredientId = recipeMap.getIngredientId(ingredientUid);
+			if (ingredientId == UidInterner.NO_ID) {
+				return List.of();
+			}
+			return recipeMap.getRecipeTypes(ingredientId)
+				.toList();
+		} finally {
+			recipeMapsReadLock.unlock();
+		}
 	}
 
 	@Override
@@ -58,19 +76,37 @@ public class InternalRecipeManagerPlugin implements IRecipeManagerPlugin {
 
 		RecipeMap recipeMap = this.recipeMaps.get(role);
 		RecipeType<T> recipeType = recipeCategory.getRecipeType();
-		List<T> recipes = recipeMap.getRecipes(recipeType, ingredientUid);
-		if (recipeMap.isCatalystForRecipeCategory(recipeType, ingredientUid)) {
-			List<T> recipesForCategory = getRecipes(recipeCategory);
-			return Stream.concat(recipes.stream(), recipesForCategory.stream())
-				.distinct()
-				.toList();
+		recipeMapsReadLock.lock();
+		try {
+			int ingredientId = recipeMap.getIngredientId(ingredientUid);
+			if (ingredientId == UidInterner.NO_ID) {
+				return List.of();
+			}
+			List<T> recipes = recipeMap.getRecipes(recipeType, ingredientId);
+			if (recipeMap.isCatalystForRecipeCategory(recipeType, ingredientId)) {
+				List<T> recipesForCategory = getRecipes(recipeType);
+				return Stream.concat(recipes.stream(), recipesForCategory.stream())
+					.distinct()
+					.toList();
+			}
+			return List.copyOf(recipes);
+		} finally {
+			recipeMapsReadLock.unlock();
 		}
-		return recipes;
 	}
 
 	@Override
 	public <T> List<T> getRecipes(IRecipeCategory<T> recipeCategory) {
 		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+		recipeMapsReadLock.lock();
+		try {
+			return getRecipes(recipeType);
+		} finally {
+			recipeMapsReadLock.unlock();
+		}
+	}
+
+	private <T> List<T> getRecipes(RecipeType<T> recipeType) {
 		RecipeTypeData<T> recipeTypeData = recipeCategoriesMap.get(recipeType);
 		return recipeTypeData.getRecipes();
 	}
@@ -0,0 +1,13 @@
+package mezz.jei.library.recipes;
+
+import java.time.Duration;
+
+/**
+ * Limits on how long calls to advanced recipe manager plugins may take.
+ *
+ * @param budget             calls that take longer than this are counted as overruns.
+ * @param timeout            calls are abandoned after this long, or {@link Duration#ZERO} to always wait for them.
+ * @param demoteSlowPlugins  true if plugins with too many overruns in a row should only be called from background threads.
+ *                           Only safe when recipes are looked up on a background thread, otherwise their recipes would be missing.
+ */
+public record PluginCallLimits(Duration budget, Duration timeout, boolean demoteSlowPlugins) {}
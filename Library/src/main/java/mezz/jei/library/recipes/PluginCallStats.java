@@ -0,0 +1,137 @@
+package mezz.jei.library.recipes;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the calls to one advanced recipe manager plugin and how long they took.
+ *
+ * When demotion is enabled it is also the plugin's circuit breaker: a plugin that goes over its time budget
+ * several calls in a row is demoted to only being called from background threads, so that it can't freeze the client.
+ * Some of the calls from the client thread are still let through while it is demoted,
+ * and it is trusted on the client thread again once it has stayed within its budget for a while.
+ */
+public class PluginCallStats {
+	/**
+	 * The number of most recent call times that are kept to find the percentiles.
+	 */
+	private static final int LATENCY_SAMPLES = 1024;
+	private static final int DEMOTE_AFTER_OVERRUNS = 5;
+	private static final int PROMOTE_AFTER_CALLS = 20;
+	/**
+	 * While demoted, one call from the client thread is let through after this many have been skipped,
+	 * to find out if the plugin is fast again.
+	 */
+	private static final int PROBE_AFTER_SKIPPED_CALLS = 10;
+
+	private final String pluginName;
+	private final boolean canBeDemoted;
+	private final long[] latencyNanos = new long[LATENCY_SAMPLES];
+	private long calls;
+	private long overruns;
+	private long timeouts;
+	private long skipped;
+	private int consecutiveOverruns;
+	private int consecutiveCallsInBudget;
+	private int skippedSinceLastCall;
+	private volatile boolean demoted;
+
+	/**
+	 * @param canBeDemoted false to only count the calls, without ever demoting the plugin
+	 */
+	public PluginCallStats(String pluginName, boolean canBeDemoted) {
+		this.pluginName = pluginName;
+		this.canBeDemoted = canBeDemoted;
+	}
+
+	public String getPluginName() {
+		return pluginName;
+	}
+
+	/**
+	 * @return true if the plugin should only be called from background threads.
+	 */
+	public boolean isDemoted() {
+		return demoted;
+	}
+
+	/**
+	 * @param timedOut true if the call was abandoned because it took too long
+	 * @return true if the plugin was demoted because of this call
+	 */
+	public synchronized boolean recordCall(long nanos, long budgetNanos, boolean timedOut) {
+		latencyNanos[(int) (calls % LATENCY_SAMPLES)] = nanos;
+		calls++;
+		if (timedOut) {
+			timeouts++;
+		}
+
+		if (timedOut || nanos > budgetNanos) {
+			overruns++;
+			consecutiveCallsInBudget = 0;
+			consecutiveOverruns++;
+			if (canBeDemoted && !demoted && consecutiveOverruns >= DEMOTE_AFTER_OVERRUNS) {
+				demoted = true;
+				return true;
+			}
+		} else {
+			consecutiveOverruns = 0;
+			consecutiveCallsInBudget++;
+			if (demoted && consecutiveCallsInBudget >= PROMOTE_AFTER_CALLS) {
+				demoted = false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Decides whether a call from the client thread should be skipped, and counts it if it is.
+	 *
+	 * @return true if the plugin is demoted and this call is not one of the ones let through to check on it.
+	 */
+	public synchronized boolean trySkipCall() {
+		if (!demoted) {
+			return false;
+		}
+		if (skippedSinceLastCall >= PROBE_AFTER_SKIPPED_CALLS) {
+			skippedSinceLastCall = 0;
+			return false;
+		}
+		skippedSinceLastCall++;
+		skipped++;
+		return true;
+	}
+
+	/**
+	 * @param percentile from 0 to 100
+	 * @return the call time in nanoseconds at the percentile of the most recent calls.
+	 */
+	public synchronized long getLatencyPercentile(double percentile) {
+		int sampleCount = (int) Math.min(calls, LATENCY_SAMPLES);
+		if (sampleCount == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(latencyNanos, sampleCount);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+		return sorted[Math.max(0, Math.min(index, sampleCount - 1))];
+	}
+
+	public synchronized String getSummary() {
+		return String.format(
+			"%s: %d calls, p50 %.2f ms, p99 %.2f ms, %d over budget, %d timed out, %d skipped%s",
+			pluginName,
+			calls,
+			toMillis(getLatencyPercentile(50)),
+			toMillis(getLatencyPercentile(99)),
+			overruns,
+			timeouts,
+			skipped,
+			demoted ? " (demoted to background threads)" : ""
+		);
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
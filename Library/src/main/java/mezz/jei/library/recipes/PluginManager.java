@@ -1,32 +1,86 @@
 package mezz.jei.library.recipes;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import mezz.jei.api.recipe.IFocus;
 import mezz.jei.api.recipe.IFocusGroup;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.advanced.IRecipeManagerPlugin;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.library.recipes.collect.RecipeTypeData;
+import net.minecraft.client.Minecraft;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 public class PluginManager {
 	private static final Logger LOGGER = LogManager.getLogger();
+	/**
+	 * The most plugin calls with a timeout that can run at once.
+	 */
+	private static final int MAX_PLUGIN_CALL_THREADS = 4;
+	/**
+	 * Runs plugin calls that have a timeout.
+	 * Calls that time out can't be stopped and keep their thread until they return,
+	 * so when every thread is busy new calls are skipped instead of starting more threads.
+	 */
+	private static final ExecutorService PLUGIN_CALL_EXECUTOR = new ThreadPoolExecutor(
+		0,
+		MAX_PLUGIN_CALL_THREADS,
+		60,
+		TimeUnit.SECONDS,
+		new SynchronousQueue<>(),
+		new ThreadFactoryBuilder()
+			.setNameFormat("JEI Recipe Plugin Call %d")
+			.setDaemon(true)
+			.build()
+	);
 
-	private @Unmodifiable List<IRecipeManagerPlugin> plugins = new ArrayList<>();
+	private volatile @Unmodifiable List<IRecipeManagerPlugin> plugins;
+	private final IRecipeManagerPlugin internalRecipeManagerPlugin;
+	private final Map<IRecipeManagerPlugin, PluginCallStats> pluginCallStats = new IdentityHashMap<>();
+	private final PluginCallLimits limits;
 
-	public PluginManager(IRecipeManagerPlugin internalRecipeManagerPlugin, List<IRecipeManagerPlugin> plugins) {
-		this.plugins.add(internalRecipeManagerPlugin);
-		this.plugins.addAll(plugins);
+	public PluginManager(IRecipeManagerPlugin internalRecipeManagerPlugin, List<IRecipeManagerPlugin> plugins, PluginCallLimits limits) {
+		this.internalRecipeManagerPlugin = internalRecipeManagerPlugin;
+		this.limits = limits;
+		List<IRecipeManagerPlugin> allPlugins = new ArrayList<>(plugins.size() + 1);
+		allPlugins.add(internalRecipeManagerPlugin);
+		allPlugins.addAll(plugins);
+		this.plugins = Collections.unmodifiableList(allPlugins);
+		for (IRecipeManagerPlugin plugin : this.plugins) {
+			this.pluginCallStats.put(plugin, new PluginCallStats(plugin.getClass().getName(), limits.demoteSlowPlugins()));
+		}
+	}
+
+	/**
+	 * @return the call statistics of every plugin, including ones that have been disabled because they crashed.
+	 */
+	public List<PluginCallStats> getPluginCallStats() {
+		return List.copyOf(this.pluginCallStats.values());
 	}
 
 	public <T> Stream<T> getRecipes(RecipeTypeData<T> recipeTypeData, IFocusGroup focusGroup, boolean includeHidden) {
@@ -45,6 +99,115 @@ public class PluginManager {
 		return recipes;
 	}
 
+	/**
+	 * Like {@link #getRecipes(RecipeTypeData, IFocusGroup, boolean)}, but each plugin is only asked for its recipes
+	 * when the ones before it have all been used, and only the recipes that have been used are checked for duplicates.
+	 * Streams can't do this, they take all the results of a plugin at once when iterated.
+	 */
+	public <T> LookupIterator<T> getRecipeIterator(RecipeTypeData<T> recipeTypeData, IFocusGroup focusGroup, boolean includeHidden) {
+		IRecipeCategory<T> recipeCategory = recipeTypeData.getRecipeCategory();
+
+		List<PluginRecipes<T>> pluginRecipes = new ArrayList<>();
+		for (IRecipeManagerPlugin plugin : this.plugins) {
+			boolean otherPlugin = plugin != this.internalRecipeManagerPlugin;
+			if (focusGroup.isEmpty()) {
+				pluginRecipes.add(new PluginRecipes<>(otherPlugin, () -> getRecipes(plugin, recipeCategory)));
+			} else {
+				for (IFocus<?> focus : focusGroup.getAllFocuses()) {
+					pluginRecipes.add(new PluginRecipes<>(otherPlugin, () -> getRecipes(plugin, recipeCategory, focus)));
+				}
+			}
+		}
+
+		Set<T> hiddenRecipes = includeHidden ? Set.of() : recipeTypeData.getHiddenRecipes();
+		return new LookupIterator<>(pluginRecipes.iterator(), hiddenRecipes);
+	}
+
+	/**
+	 * @param otherPlugin true if the recipes come from a plugin other than JEI's own
+	 * @param recipes     supplies the plugin's recipes, or null if they are missing because the call was skipped or failed
+	 */
+	private record PluginRecipes<T>(boolean otherPlugin, Supplier<Stream<T>> recipes) {}
+
+	/**
+	 * Goes through the recipes of each plugin in turn, skipping duplicates and hidden recipes,
+	 * and tracks whether the results can be cached.
+	 */
+	public static class LookupIterator<T> extends AbstractIterator<T> {
+		private final Iterator<PluginRecipes<T>> pluginRecipes;
+		private final Set<T> hiddenRecipes;
+		private final Set<T> foundRecipes = new HashSet<>();
+		private Iterator<T> currentRecipes = Collections.emptyIterator();
+		private boolean currentFromOtherPlugin = false;
+		private boolean fromOtherPlugins = false;
+		private boolean missingPluginResults = false;
+
+		private LookupIterator(Iterator<PluginRecipes<T>> pluginRecipes, Set<T> hiddenRecipes) {
+			this.pluginRecipes = pluginRecipes;
+			this.hiddenRecipes = hiddenRecipes;
+		}
+
+		/**
+		 * @return false if any of the recipes returned so far came from a plugin other than JEI's own,
+		 * or if a plugin's recipes are missing because its call was skipped or failed.
+		 */
+		public boolean isCacheable() {
+			return !fromOtherPlugins && !missingPluginResults;
+		}
+
+		@Override
+		protected T computeNext() {
+			while (true) {
+				while (currentRecipes.hasNext()) {
+					T recipe = currentRecipes.next();
+					if (!hiddenRecipes.contains(recipe) && foundRecipes.add(recipe)) {
+						fromOtherPlugins |= currentFromOtherPlugin;
+						return recipe;
+					}
+				}
+				if (!pluginRecipes.hasNext()) {
+					return endOfData();
+				}
+				PluginRecipes<T> next = pluginRecipes.next();
+				Stream<T> recipes = next.recipes().get();
+				if (recipes == null) {
+					missingPluginResults = true;
+					currentRecipes = Collections.emptyIterator();
+				} else {
+					currentRecipes = recipes.iterator();
+				}
+				currentFromOtherPlugin = next.otherPlugin();
+			}
+		}
+	}
+
+	/**
+	 * The results of a lookup, and whether they can be cached.
+	 *
+	 * @param cacheable false if any plugin other than JEI's own contributed to the results,
+	 *                  or if a plugin's results are missing because its call was skipped or failed.
+	 */
+	public record LookupResult<T>(@Unmodifiable List<T> results, boolean cacheable) {}
+
+	/**
+	 * Like {@link #getRecipeTypes(IFocusGroup)}, but collects all the recipe types and tracks whether they can be cached.
+	 */
+	public LookupResult<RecipeType<?>> collectRecipeTypes(IFocusGroup focusGroup) {
+		Set<RecipeType<?>> results = new LinkedHashSet<>();
+		boolean cacheable = true;
+		for (IRecipeManagerPlugin plugin : this.plugins) {
+			for (IFocus<?> focus : focusGroup.getAllFocuses()) {
+				List<RecipeType<?>> pluginResults = tryCallPlugin(plugin, () -> plugin.getRecipeTypes(focus));
+				if (pluginResults == null) {
+					cacheable = false;
+				} else if (results.addAll(pluginResults) && plugin != this.internalRecipeManagerPlugin) {
+					cacheable = false;
+				}
+			}
+		}
+		return new LookupResult<>(List.copyOf(results), cacheable);
+	}
+
 	public Stream<RecipeType<?>> getRecipeTypes(IFocusGroup focusGroup) {
 		return this.plugins.stream()
 			.flatMap(p -> getPluginRecipeTypeStream(p, focusGroup))
@@ -91,20 +254,95 @@ public class PluginManager {
 	}
 
 	private <T> T safeCallPlugin(IRecipeManagerPlugin plugin, Supplier<T> supplier, T defaultValue) {
+		T result = tryCallPlugin(plugin, supplier);
+		return result == null ? defaultValue : result;
+	}
+
+	/**
+	 * @return the result of the call, or null if it was skipped, timed out, or crashed.
+	 */
+	@Nullable
+	private <T> T tryCallPlugin(IRecipeManagerPlugin plugin, Supplier<T> supplier) {
+		PluginCallStats stats = this.pluginCallStats.get(plugin);
+		// JEI's own plugin is trusted, only the plugins from other mods are limited
+		boolean limited = plugin != this.internalRecipeManagerPlugin;
+		if (limited && stats.isDemoted() && Minecraft.getInstance().isSameThread() && stats.trySkipCall()) {
+			return null;
+		}
+
 		Stopwatch stopWatch = Stopwatch.createStarted();
 		try {
-			T result = supplier.get();
-			stopWatch.stop();
-			if (stopWatch.elapsed(TimeUnit.MILLISECONDS) > 10) {
-				LOGGER.warn("Recipe registry plugin is slow, took {}. {}", stopWatch, plugin.getClass());
+			T result;
+			if (limited && limits.timeout().isPositive()) {
+				result = callWithTimeout(supplier);
+			} else {
+				result = supplier.get();
 			}
+			stopWatch.stop();
+			recordCall(plugin, stats, stopWatch, false);
 			return result;
+		} catch (TimeoutException e) {
+			stopWatch.stop();
+			LOGGER.warn("Recipe registry plugin timed out after {}, its results are being skipped. {}", stopWatch, plugin.getClass());
+			recordCall(plugin, stats, stopWatch, true);
+			return null;
 		} catch (RuntimeException | LinkageError e) {
 			LOGGER.error("Recipe registry plugin crashed, it is being disabled: {}", plugin.getClass(), e);
-			// make a copy, in order to avoid modifying the current stream
-			this.plugins = new ArrayList<>(this.plugins);
-			this.plugins.remove(plugin);
-			return defaultValue;
+			disablePlugin(plugin);
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the plugin list with a copy that does not have the plugin,
+	 * so that lookups which are currently using the list are not affected.
+	 */
+	private synchronized void disablePlugin(IRecipeManagerPlugin plugin) {
+		List<IRecipeManagerPlugin> remainingPlugins = new ArrayList<>(this.plugins);
+		remainingPlugins.remove(plugin);
+		this.plugins = Collections.unmodifiableList(remainingPlugins);
+	}
+
+	private void recordCall(IRecipeManagerPlugin plugin, PluginCallStats stats, Stopwatch stopWatch, boolean timedOut) {
+		long nanos = stopWatch.elapsed(TimeUnit.NANOSECONDS);
+		long budgetNanos = limits.budget().toNanos();
+		if (!timedOut && nanos > budgetNanos) {
+			LOGGER.warn("Recipe registry plugin is slow, took {}. {}", stopWatch, plugin.getClass());
+		}
+		if (stats.recordCall(nanos, budgetNanos, timedOut)) {
+			LOGGER.warn(
+				"Recipe registry plugin went over its time budget of {} ms too many times in a row, " +
+				"it will only be called from background threads until it is faster. {}",
+				limits.budget().toMillis(), plugin.getClass()
+			);
+		}
+	}
+
+	private <T> T callWithTimeout(Supplier<T> supplier) throws TimeoutException {
+		Future<T> future;
+		try {
+			future = PLUGIN_CALL_EXECUTOR.submit(supplier::get);
+		} catch (RejectedExecutionException e) {
+			throw new TimeoutException("Every plugin call thread is still busy with a call that timed out");
+		}
+		try {
+			return future.get(limits.timeout().toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			future.cancel(true);
+			throw e;
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new TimeoutException("Interrupted while waiting for the plugin");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new RuntimeException(cause);
 		}
 	}
 }
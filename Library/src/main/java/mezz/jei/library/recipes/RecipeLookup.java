@@ -3,6 +3,7 @@ package mezz.jei.library.recipes;
 import mezz.jei.api.recipe.IFocus;
 import mezz.jei.api.recipe.IFocusGroup;
 import mezz.jei.api.recipe.IRecipeLookup;
+import mezz.jei.api.recipe.IRecipeLookupCursor;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.library.focus.FocusGroup;
@@ -40,4 +41,9 @@ public class RecipeLookup<R> implements IRecipeLookup<R> {
 	public Stream<R> get() {
 		return recipeManager.getRecipesStream(recipeType, focusGroup, includeHidden);
 	}
+
+	@Override
+	public IRecipeLookupCursor<R> getCursor() {
+		return recipeManager.getRecipeCursor(recipeType, focusGroup, includeHidden);
+	}
 }
@@ -0,0 +1,173 @@
+package mezz.jei.library.recipes;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.api.runtime.IIngredientManager;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Remembers the results of recipe lookups with a focus, so that looking up the same ingredient again is quick.
+ *
+ * Focuses are compared by the uids of their ingredients, because focuses for the same ingredient
+ * are usually created again for each lookup.
+ * The uids are the {@link UidContext#Recipe} ones that the recipe maps use, so ingredients that find the same recipes share entries.
+ * Results that plugins from other mods contributed to must not be cached,
+ * because those plugins can look at more of an ingredient than its uid.
+ *
+ * A lookup gets the {@link #getGeneration() generation} before it starts, and its results are only cached
+ * if nothing was removed from the cache while it was running, so results from before a change are not cached after it.
+ *
+ * Entries are only removed when something they depend on changes:
+ * recipes being added or hidden only affect the entries for their recipe type,
+ * and recipe categories being hidden only affect the category entries that could have contained them.
+ */
+public class RecipeLookupCache {
+	private static final int MAX_CATEGORY_ENTRIES = 256;
+	/**
+	 * The total number of recipes in all the cached recipe lists.
+	 */
+	private static final int MAX_CACHED_RECIPES = 200_000;
+
+	private final IIngredientManager ingredientManager;
+	private final Cache<FocusKey, CategoriesEntry> categoriesCache = CacheBuilder.newBuilder()
+		.maximumSize(MAX_CATEGORY_ENTRIES)
+		.build();
+	private final Cache<RecipesKey, List<?>> recipesCache = CacheBuilder.newBuilder()
+		.maximumWeight(MAX_CACHED_RECIPES)
+		.<RecipesKey, List<?>>weigher((key, recipes) -> recipes.size() + 1)
+		.build();
+
+	/**
+	 * Incremented whenever entries are removed.
+	 * Guarded by this.
+	 */
+	private int generation;
+
+	public RecipeLookupCache(IIngredientManager ingredientManager) {
+		this.ingredientManager = ingredientManager;
+	}
+
+	private record FocusUid(RecipeIngredientRole role, String ingredientUid) {}
+
+	public record FocusKey(List<FocusUid> focuses) {}
+
+	private record RecipesKey(FocusKey focusKey, RecipeType<?> recipeType, boolean includeHidden) {}
+
+	/**
+	 * @param recipeTypes all the recipe types that were found for the focus, including ones that are hidden.
+	 */
+	private record CategoriesEntry(Set<RecipeType<?>> recipeTypes, List<IRecipeCategory<?>> visibleCategories) {}
+
+	public FocusKey createKey(IFocusGroup focuses) {
+		List<FocusUid> focusUids = focuses.getAllFocuses()
+			.stream()
+			.map(this::createFocusUid)
+			.toList();
+		return new FocusKey(focusUids);
+	}
+
+	private <V> FocusUid createFocusUid(IFocus<V> focus) {
+		ITypedIngredient<V> typedIngredient = focus.getTypedValue();
+		IIngredientType<V> type = typedIngredient.getType();
+		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(type);
+		String uid = type.getUid() + ":" + ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Recipe);
+		return new FocusUid(focus.getRole(), uid);
+	}
+
+	public synchronized int getGeneration() {
+		return generation;
+	}
+
+	@Nullable
+	@Unmodifiable
+	public List<IRecipeCategory<?>> getVisibleCategories(FocusKey focusKey) {
+		CategoriesEntry entry = categoriesCache.getIfPresent(focusKey);
+		if (entry == null) {
+			return null;
+		}
+		return entry.visibleCategories();
+	}
+
+	/**
+	 * @param generation  the {@link #getGeneration() generation} from before the lookup started.
+	 * @param recipeTypes all the recipe types that were found for the focus, including ones that are hidden.
+	 */
+	public synchronized void putVisibleCategories(int generation, FocusKey focusKey, Set<RecipeType<?>> recipeTypes, List<IRecipeCategory<?>> visibleCategories) {
+		if (generation != this.generation) {
+			return;
+		}
+		categoriesCache.put(focusKey, new CategoriesEntry(Set.copyOf(recipeTypes), List.copyOf(visibleCategories)));
+	}
+
+	@Nullable
+	@Unmodifiable
+	public <T> List<T> getRecipes(FocusKey focusKey, RecipeType<T> recipeType, boolean includeHidden) {
+		@SuppressWarnings("unchecked")
+		List<T> recipes = (List<T>) recipesCache.getIfPresent(new RecipesKey(focusKey, recipeType, includeHidden));
+		return recipes;
+	}
+
+	/**
+	 * @param generation the {@link #getGeneration() generation} from before the lookup started.
+	 */
+	public synchronized <T> void putRecipes(int generation, FocusKey focusKey, RecipeType<T> recipeType, boolean includeHidden, @Unmodifiable List<T> recipes) {
+		if (generation != this.generation) {
+			return;
+		}
+		recipesCache.put(new RecipesKey(focusKey, recipeType, includeHidden), recipes);
+	}
+
+	/**
+	 * Called when recipes of this type are hidden or unhidden.
+	 */
+	public synchronized void onRecipeVisibilityChanged(RecipeType<?> recipeType) {
+		generation++;
+		recipesCache.asMap()
+			.keySet()
+			.removeIf(key -> key.recipeType().equals(recipeType));
+		onRecipeCategoryVisibilityChanged(recipeType);
+	}
+
+	/**
+	 * Called when recipes of this type are added.
+	 * New recipes can make the recipe type show up for focuses that it was not found for before.
+	 */
+	public synchronized void onRecipesAdded(RecipeType<?> recipeType) {
+		generation++;
+		recipesCache.asMap()
+			.keySet()
+			.removeIf(key -> key.recipeType().equals(recipeType));
+		categoriesCache.invalidateAll();
+	}
+
+	/**
+	 * Called when a recipe category is hidden or unhidden.
+	 */
+	public synchronized void onRecipeCategoryVisibilityChanged(RecipeType<?> recipeType) {
+		generation++;
+		categoriesCache.asMap()
+			.values()
+			.removeIf(entry -> entry.recipeTypes().contains(recipeType));
+	}
+
+	/**
+	 * Called when ingredients are hidden or shown, which can hide or show recipe categories with all of their catalysts hidden.
+	 */
+	public synchronized void onIngredientVisibilityChanged() {
+		generation++;
+		categoriesCache.invalidateAll();
+	}
+}
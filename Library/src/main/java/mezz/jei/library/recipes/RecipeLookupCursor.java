@@ -0,0 +1,85 @@
+package mezz.jei.library.recipes;
+
+import com.google.common.base.Preconditions;
+import mezz.jei.api.recipe.IRecipeLookupCursor;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class RecipeLookupCursor<R> implements IRecipeLookupCursor<R> {
+	private final Iterator<R> remainingRecipes;
+	private final List<R> foundRecipes = new ArrayList<>();
+	private @Nullable Consumer<@Unmodifiable List<R>> onComplete;
+
+	public static <R> RecipeLookupCursor<R> of(List<R> recipes) {
+		RecipeLookupCursor<R> cursor = new RecipeLookupCursor<>(recipes.iterator());
+		cursor.findRecipes(recipes.size());
+		return cursor;
+	}
+
+	public RecipeLookupCursor(Iterator<R> recipes) {
+		this(recipes, null);
+	}
+
+	/**
+	 * @param onComplete called once with all the recipes, when the last one has been found
+	 */
+	public RecipeLookupCursor(Iterator<R> recipes, @Nullable Consumer<@Unmodifiable List<R>> onComplete) {
+		this.remainingRecipes = recipes;
+		this.onComplete = onComplete;
+	}
+
+	@Override
+	@Unmodifiable
+	public List<R> getRecipes(int startIndex, int count) {
+		Preconditions.checkArgument(startIndex >= 0, "startIndex cannot be negative: %s", startIndex);
+		Preconditions.checkArgument(count >= 0, "count cannot be negative: %s", count);
+
+		int endIndex = (int) Math.min((long) startIndex + count, Integer.MAX_VALUE);
+		findRecipes(endIndex);
+		if (startIndex >= foundRecipes.size()) {
+			return List.of();
+		}
+		endIndex = Math.min(endIndex, foundRecipes.size());
+		return List.copyOf(foundRecipes.subList(startIndex, endIndex));
+	}
+
+	@Override
+	public int getFoundCount() {
+		return foundRecipes.size();
+	}
+
+	@Override
+	public boolean isComplete() {
+		return checkComplete();
+	}
+
+	@Override
+	public int getRecipeCount() {
+		findRecipes(Integer.MAX_VALUE);
+		return foundRecipes.size();
+	}
+
+	private void findRecipes(int count) {
+		while (foundRecipes.size() < count && remainingRecipes.hasNext()) {
+			foundRecipes.add(remainingRecipes.next());
+		}
+		checkComplete();
+	}
+
+	private boolean checkComplete() {
+		if (remainingRecipes.hasNext()) {
+			return false;
+		}
+		if (onComplete != null) {
+			Consumer<List<R>> onComplete = this.onComplete;
+			this.onComplete = null;
+			onComplete.accept(List.copyOf(foundRecipes));
+		}
+		return true;
+	}
+}
@@ -41,6 +41,20 @@ public class RecipeManager implements IRecipeManager {
 		this.ingredientVisibility = ingredientVisibility;
 	}
 
+	/**
+	 * Starts preparing any recipes that are waiting to be indexed, see {@link RecipeManagerInternal#startBackgroundIndexing()}.
+	 */
+	public void startBackgroundIndexing() {
+		internal.startBackgroundIndexing();
+	}
+
+	/**
+	 * @return how long the calls to each advanced recipe manager plugin have taken, for debugging slow lookups.
+	 */
+	public List<PluginCallStats> getPluginCallStats() {
+		return internal.getPluginCallStats();
+	}
+
 	@Override
 	public <R> IRecipeLookup<R> createRecipeLookup(RecipeType<R> recipeType) {
 		ErrorUtil.checkNotNull(recipeType, "recipeType");
@@ -135,4 +149,11 @@ public class RecipeManager implements IRecipeManager {
 	public Optional<RecipeType<?>> getRecipeType(ResourceLocation recipeUid) {
 		return internal.getRecipeType(recipeUid);
 	}
+
+	@Override
+	public <T> Optional<T> getRecipeByRegistryName(RecipeType<T> recipeType, ResourceLocation registryName) {
+		ErrorUtil.checkNotNull(recipeType, "recipeType");
+		ErrorUtil.checkNotNull(registryName, "registryName");
+		return internal.getRecipeByRegistryName(recipeType, registryName);
+	}
 }
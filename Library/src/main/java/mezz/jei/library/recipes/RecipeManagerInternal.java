@@ -1,9 +1,16 @@
 package mezz.jei.library.recipes;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.recipe.IFocus;
 import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.IRecipeLookupCursor;
 import mezz.jei.api.recipe.RecipeIngredientRole;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.advanced.IRecipeManagerPlugin;
@@ -12,9 +19,12 @@ import mezz.jei.api.recipe.category.extensions.IRecipeCategoryDecorator;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.api.runtime.IIngredientVisibility;
 import mezz.jei.common.util.ErrorUtil;
+import mezz.jei.core.collect.UidInterner;
+import mezz.jei.core.util.StartupProfiler;
 import mezz.jei.library.config.RecipeCategorySortingConfig;
 import mezz.jei.library.ingredients.IIngredientSupplier;
 import mezz.jei.library.recipes.collect.RecipeMap;
+import mezz.jei.library.recipes.collect.RecipeRegistryNameIndex;
 import mezz.jei.library.recipes.collect.RecipeTypeData;
 import mezz.jei.library.recipes.collect.RecipeTypeDataMap;
 import mezz.jei.library.util.IngredientSupplierHelper;
@@ -25,17 +35,37 @@ import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 
 public class RecipeManagerInternal {
 	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int PARALLEL_CHUNK_SIZE = 256;
+	private static final ExecutorService BACKGROUND_INDEXER = Executors.newSingleThreadExecutor(
+		new ThreadFactoryBuilder()
+			.setNameFormat("JEI Recipe Indexer %d")
+			.setDaemon(true)
+			.setPriority(Thread.MIN_PRIORITY)
+			.build()
+	);
 
 	@Unmodifiable
 	private final List<IRecipeCategory<?>> recipeCategories;
@@ -45,12 +75,31 @@ public class RecipeManagerInternal {
 	private final Comparator<IRecipeCategory<?>> recipeCategoryComparator;
 	private final EnumMap<RecipeIngredientRole, RecipeMap> recipeMaps;
 	private final PluginManager pluginManager;
-	private final Set<RecipeType<?>> hiddenRecipeTypes = new HashSet<>();
+	private final Set<RecipeType<?>> hiddenRecipeTypes = ConcurrentHashMap.newKeySet();
 	private final IIngredientVisibility ingredientVisibility;
+	private final boolean parallelRecipeRegistration;
+	private final boolean lazyRecipeIndexing;
+	/**
+	 * Recipes that were registered in lazy indexing mode and have not been added to the recipe maps yet, by recipe type.
+	 * Each recipe type is indexed on its own, so looking up one recipe type never waits for the others.
+	 */
+	private final Map<RecipeType<?>, PendingRecipes<?>> pendingRecipes = new ConcurrentHashMap<>();
+	/**
+	 * Guards the recipe maps and the recipes of each recipe type.
+	 * Recipes are added and hidden with the write lock held, and the internal recipe manager plugin looks them up with the read lock held,
+	 * because lookups can happen on other threads while recipe types are being indexed.
+	 * The write lock must never be taken while holding the read lock.
+	 */
+	private final ReadWriteLock recipeMapsLock = new ReentrantReadWriteLock();
+	private final RecipeRegistrationTimes recipeRegistrationTimes = new RecipeRegistrationTimes();
+
+	private final RecipeLookupCache lookupCache;
+	@SuppressWarnings("FieldCanBeLocal") // the ingredient visibility only keeps a weak reference to its listeners
+	private final IIngredientVisibility.IListener visibilityListener;
 
 	@Nullable
 	@Unmodifiable
-	private List<IRecipeCategory<?>> recipeCategoriesVisibleCache = null;
+	private volatile List<IRecipeCategory<?>> recipeCategoriesVisibleCache = null;
 
 	public RecipeManagerInternal(
 		List<IRecipeCategory<?>> recipeCategories,
@@ -59,13 +108,27 @@ public class RecipeManagerInternal {
 		IIngredientManager ingredientManager,
 		List<IRecipeManagerPlugin> plugins,
 		RecipeCategorySortingConfig recipeCategorySortingConfig,
-		IIngredientVisibility ingredientVisibility
+		IIngredientVisibility ingredientVisibility,
+		boolean parallelRecipeRegistration,
+		boolean lazyRecipeIndexing,
+		PluginCallLimits pluginCallLimits
 	) {
 		ErrorUtil.checkNotEmpty(recipeCategories, "recipeCategories");
 
 		this.recipeCategoryDecorators = recipeCategoryDecorators;
 		this.ingredientManager = ingredientManager;
 		this.ingredientVisibility = ingredientVisibility;
+		this.parallelRecipeRegistration = parallelRecipeRegistration;
+		this.lazyRecipeIndexing = lazyRecipeIndexing;
+		this.lookupCache = new RecipeLookupCache(ingredientManager);
+		this.visibilityListener = new IIngredientVisibility.IListener() {
+			@Override
+			public <V> void onIngredientVisibilityChanged(ITypedIngredient<V> ingredient, boolean visible) {
+				recipeCategoriesVisibleCache = null;
+				lookupCache.onIngredientVisibilityChanged();
+			}
+		};
+		ingredientVisibility.registerListener(this.visibilityListener);
 
 		Collection<RecipeType<?>> recipeTypes = recipeCategories.stream()
 			.<RecipeType<?>>map(IRecipeCategory::getRecipeType)
@@ -73,8 +136,9 @@ public class RecipeManagerInternal {
 		Comparator<RecipeType<?>> recipeTypeComparator = recipeCategorySortingConfig.getComparator(recipeTypes);
 
 		this.recipeMaps = new EnumMap<>(RecipeIngredientRole.class);
+		UidInterner uidInterner = new UidInterner();
 		for (RecipeIngredientRole role : RecipeIngredientRole.values()) {
-			RecipeMap recipeMap = new RecipeMap(recipeTypeComparator, ingredientManager, role);
+			RecipeMap recipeMap = new RecipeMap(recipeTypeComparator, ingredientManager, role, uidInterner);
 			this.recipeMaps.put(role, recipeMap);
 		}
 
@@ -97,57 +161,429 @@ public class RecipeManagerInternal {
 		IRecipeManagerPlugin internalRecipeManagerPlugin = new InternalRecipeManagerPlugin(
 			ingredientManager,
 			recipeTypeDataMap,
-			recipeMaps
+			recipeMaps,
+			recipeMapsLock.readLock()
 		);
-		this.pluginManager = new PluginManager(internalRecipeManagerPlugin, plugins);
+		this.pluginManager = new PluginManager(internalRecipeManagerPlugin, plugins, pluginCallLimits);
 	}
 
-	public <T> void addRecipes(RecipeType<T> recipeType, List<T> recipes) {
+	public synchronized <T> void addRecipes(RecipeType<T> recipeType, List<T> recipes) {
 		LOGGER.debug("Adding recipes: {}", recipeType.getUid());
+		long startTime = System.nanoTime();
 		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
 		IRecipeCategory<T> recipeCategory = recipeTypeData.getRecipeCategory();
 		Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
 
-		List<T> addedRecipes = recipes.stream()
-			.filter(recipe -> addRecipe(recipeCategory, recipe, hiddenRecipes))
-			.toList();
+		// hidden recipes are checked now, because they can be unhidden before the rest is prepared
+		List<T> unhiddenRecipes = new ArrayList<>(recipes.size());
+		for (T recipe : recipes) {
+			if (!hiddenRecipes.contains(recipe)) {
+				unhiddenRecipes.add(recipe);
+			} else if (LOGGER.isDebugEnabled()) {
+				String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
+				LOGGER.debug("Recipe not added because it is hidden: {}", recipeInfo);
+			}
+		}
 
-		if (!addedRecipes.isEmpty()) {
-			recipeTypeData.addRecipes(addedRecipes);
-			recipeCategoriesVisibleCache = null;
+		if (lazyRecipeIndexing) {
+			FutureTask<PreparedRecipes<T>> task = new FutureTask<>(() -> prepareRecipes(recipeCategory, unhiddenRecipes, recipes.size()));
+			PendingBatch<T> batch = new PendingBatch<>(unhiddenRecipes, task);
+			while (true) {
+				@SuppressWarnings("unchecked")
+				PendingRecipes<T> pending = (PendingRecipes<T>) pendingRecipes.computeIfAbsent(recipeType, k -> new PendingRecipes<>(recipeCategory));
+				if (pending.add(batch)) {
+					break;
+				}
+				// it was indexed while this was being added, start a new one
+				pendingRecipes.remove(recipeType, pending);
+			}
+		} else {
+			PreparedRecipes<T> preparedRecipes = prepareRecipes(recipeCategory, unhiddenRecipes, recipes.size());
+			addPreparedRecipes(recipeType, recipeTypeData, preparedRecipes, System.nanoTime() - startTime);
 		}
 	}
 
-	private <T> boolean addRecipe(IRecipeCategory<T> recipeCategory, T recipe, Set<T> hiddenRecipes) {
-		RecipeType<T> recipeType = recipeCategory.getRecipeType();
-		if (hiddenRecipes.contains(recipe)) {
-			if (LOGGER.isDebugEnabled()) {
-				String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
-				LOGGER.debug("Recipe not added because it is hidden: {}", recipeInfo);
+	/**
+	 * A recipe that is ready to be added, with the uids of its ingredients for each role.
+	 */
+	private record PreparedRecipe<T>(T recipe, Map<RecipeIngredientRole, List<List<String>>> ingredientUids) {}
+
+	/**
+	 * The recipes from one call to {@link #addRecipes} that are ready to be added.
+	 *
+	 * @param recipeCount       the number of recipes that were registered, including ones that will not be added.
+	 * @param nanos             how long it took to prepare the recipes
+	 * @param ingredientUidsByRole the uids of all the ingredients of the recipes, for checking if they contain a focus
+	 */
+	private record PreparedRecipes<T>(List<PreparedRecipe<T>> recipes, int recipeCount, long nanos, Map<RecipeIngredientRole, Set<String>> ingredientUidsByRole) {
+		public boolean containsAny(List<FocusUid> focusUids) {
+			for (FocusUid focusUid : focusUids) {
+				Set<String> ingredientUids = ingredientUidsByRole.get(focusUid.role());
+				if (ingredientUids != null && ingredientUids.contains(focusUid.ingredientUid())) {
+					return true;
+				}
 			}
 			return false;
 		}
+	}
+
+	/**
+	 * The recipes from one call to {@link #addRecipes} in lazy indexing mode, and the task that prepares them.
+	 */
+	private static class PendingBatch<T> {
+		private final List<T> recipes;
+		private final FutureTask<PreparedRecipes<T>> task;
+		private volatile boolean started = false;
+
+		public PendingBatch(List<T> recipes, FutureTask<PreparedRecipes<T>> task) {
+			this.recipes = recipes;
+			this.task = task;
+		}
+
+		public List<T> recipes() {
+			return recipes;
+		}
+
+		/**
+		 * @return true if the recipes have been prepared, or some thread is preparing them now.
+		 */
+		public boolean isStarted() {
+			return started;
+		}
+
+		public void prepareInBackground() {
+			started = true;
+			task.run();
+		}
+
+		/**
+		 * Prepares the recipes on this thread, or waits for the background indexer if it has already started.
+		 */
+		public PreparedRecipes<T> prepare() {
+			started = true;
+			// this does nothing if the background indexer has already started the task
+			task.run();
+			return Futures.getUnchecked(task);
+		}
+	}
+
+	/**
+	 * The recipes of one recipe type that have not been added to the recipe maps yet.
+	 * Indexing holds this object's lock, so a recipe type is only indexed once
+	 * and lookups for it wait until it is done, without blocking lookups for other recipe types.
+	 */
+	private static class PendingRecipes<T> {
+		private final IRecipeCategory<T> recipeCategory;
+		private final List<PendingBatch<T>> batches = new ArrayList<>();
+		private boolean indexed = false;
+		/**
+		 * Built the first time a pending recipe is looked up by registry name.
+		 * Guarded by itself rather than this, so that it can be used while the recipes are being indexed.
+		 */
+		private final RecipeRegistryNameIndex<T> recipesByRegistryName;
+		private int batchesInRegistryNameIndex = 0;
+
+		public PendingRecipes(IRecipeCategory<T> recipeCategory) {
+			this.recipeCategory = recipeCategory;
+			this.recipesByRegistryName = new RecipeRegistryNameIndex<>(recipeCategory, 0);
+		}
+
+		/**
+		 * @return false if these recipes have already been indexed, and a new {@link PendingRecipes} is needed.
+		 */
+		public synchronized boolean add(PendingBatch<T> batch) {
+			if (indexed) {
+				return false;
+			}
+			batches.add(batch);
+			return true;
+		}
+
+		public synchronized List<PendingBatch<T>> getBatches() {
+			return List.copyOf(batches);
+		}
+
+		/**
+		 * Looks up a recipe that has been registered but not indexed yet, without waiting for it to be prepared.
+		 */
+		@Nullable
+		public T getRecipeByRegistryName(ResourceLocation registryName) {
+			List<PendingBatch<T>> batches = getBatches();
+			synchronized (recipesByRegistryName) {
+				for (; batchesInRegistryNameIndex < batches.size(); batchesInRegistryNameIndex++) {
+					recipesByRegistryName.addAll(batches.get(batchesInRegistryNameIndex).recipes());
+				}
+				T recipe = recipesByRegistryName.get(registryName);
+				if (recipe != null && recipeCategory.isHandled(recipe)) {
+					return recipe;
+				}
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * An ingredient in a focus, by the uid that the recipe maps use for it.
+	 */
+	private record FocusUid(RecipeIngredientRole role, String ingredientUid) {}
+
+	/**
+	 * Adds the prepared recipes to the recipe maps.
+	 */
+	private <T> void addPreparedRecipes(RecipeType<T> recipeType, RecipeTypeData<T> recipeTypeData, PreparedRecipes<T> preparedRecipes, long prepareNanos) {
+		Lock writeLock = recipeMapsLock.writeLock();
+		writeLock.lock();
+		try {
+			long startTime = System.nanoTime();
+			List<T> addedRecipes = new ArrayList<>(preparedRecipes.recipes().size());
+			for (PreparedRecipe<T> preparedRecipe : preparedRecipes.recipes()) {
+				T recipe = preparedRecipe.recipe();
+				preparedRecipe.ingredientUids().forEach((role, ingredientUids) -> {
+					RecipeMap recipeMap = recipeMaps.get(role);
+					recipeMap.addRecipe(recipeType, recipe, ingredientUids);
+				});
+				addedRecipes.add(recipe);
+			}
+
+			if (!addedRecipes.isEmpty()) {
+				recipeTypeData.addRecipes(addedRecipes);
+				recipeCategoriesVisibleCache = null;
+				lookupCache.onRecipesAdded(recipeType);
+			}
+			long nanos = prepareNanos + System.nanoTime() - startTime;
+			recipeRegistrationTimes.add(recipeType, preparedRecipes.recipeCount(), addedRecipes.size(), nanos);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds the recipes of this type that were registered in lazy indexing mode,
+	 * preparing any of them that the background indexer has not prepared yet.
+	 */
+	private <T> void indexPendingRecipes(RecipeType<T> recipeType) {
+		@SuppressWarnings("unchecked")
+		PendingRecipes<T> pending = (PendingRecipes<T>) pendingRecipes.get(recipeType);
+		if (pending == null) {
+			return;
+		}
+		synchronized (pending) {
+			if (pending.indexed) {
+				return;
+			}
+			LOGGER.debug("Indexing recipes: {}", recipeType.getUid());
+			RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
+			for (PendingBatch<T> batch : pending.batches) {
+				long startTime = System.nanoTime();
+				try {
+					PreparedRecipes<T> preparedRecipes = batch.prepare();
+					// count the time it took to prepare, or the time spent waiting for the background indexer to finish
+					long prepareNanos = Math.max(preparedRecipes.nanos(), System.nanoTime() - startTime);
+					addPreparedRecipes(recipeType, recipeTypeData, preparedRecipes, prepareNanos);
+				} catch (RuntimeException e) {
+					LOGGER.error("Failed to index recipes for recipe type: {}", recipeType.getUid(), e);
+				}
+			}
+			pending.indexed = true;
+			pendingRecipes.remove(recipeType, pending);
+		}
+	}
+
+	/**
+	 * Adds the recipes that were registered in lazy indexing mode for the recipe types that contain any of the focused ingredients.
+	 * Only the recipe types that match are prepared and added to the recipe maps, see {@link #containsAny(PendingRecipes, List)}.
+	 * Recipe types that contain a focused ingredient only as a catalyst are already in the recipe maps,
+	 * and their recipes are indexed when they are looked up.
+	 */
+	private void indexPendingRecipes(IFocusGroup focuses) {
+		if (pendingRecipes.isEmpty()) {
+			return;
+		}
+		List<FocusUid> focusUids = focuses.getAllFocuses()
+			.stream()
+			.map(this::createFocusUid)
+			.toList();
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		int indexedCount = 0;
+		for (Map.Entry<RecipeType<?>, PendingRecipes<?>> entry : pendingRecipes.entrySet()) {
+			if (containsAny(entry.getValue(), focusUids)) {
+				indexPendingRecipes(entry.getKey());
+				indexedCount++;
+			}
+		}
+		if (indexedCount > 0) {
+			LOGGER.debug("Indexing the recipes of {} recipe types for a focus took {}", indexedCount, stopwatch);
+		}
+	}
+
+	/**
+	 * Batches that have been prepared, or that the background indexer is preparing now, are checked by their prepared uids.
+	 * The others are checked without preparing them, so that a lookup does not have to prepare the recipes of every recipe type.
+	 */
+	private <T> boolean containsAny(PendingRecipes<T> pending, List<FocusUid> focusUids) {
+		for (PendingBatch<T> batch : pending.getBatches()) {
+			try {
+				boolean containsAny;
+				if (batch.isStarted()) {
+					containsAny = batch.prepare().containsAny(focusUids);
+				} else {
+					containsAny = containsAny(pending.recipeCategory, batch.recipes(), focusUids);
+				}
+				if (containsAny) {
+					return true;
+				}
+			} catch (RuntimeException | LinkageError e) {
+				// indexing the recipe type logs the error
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if any of the recipes contain a focused ingredient, by getting the uids of their ingredients in only the focused roles.
+	 * This stops at the first match and does not keep anything, unlike {@link #prepareRecipes}.
+	 */
+	private <T> boolean containsAny(IRecipeCategory<T> recipeCategory, List<T> recipes, List<FocusUid> focusUids) {
+		for (T recipe : recipes) {
+			if (!recipeCategory.isHandled(recipe)) {
+				continue;
+			}
+			IIngredientSupplier ingredientSupplier = IngredientSupplierHelper.getIngredientSupplier(recipe, recipeCategory, ingredientManager);
+			if (ingredientSupplier == null) {
+				continue;
+			}
+			for (FocusUid focusUid : focusUids) {
+				RecipeMap recipeMap = recipeMaps.get(focusUid.role());
+				for (List<String> ingredientUids : recipeMap.getIngredientUids(ingredientSupplier)) {
+					if (ingredientUids.contains(focusUid.ingredientUid())) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private <V> FocusUid createFocusUid(IFocus<V> focus) {
+		ITypedIngredient<V> typedIngredient = focus.getTypedValue();
+		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(typedIngredient.getType());
+		String ingredientUid = ingredientHelper.getUniqueId(typedIngredient.getIngredient(), UidContext.Recipe);
+		return new FocusUid(focus.getRole(), ingredientUid);
+	}
+
+	public List<PluginCallStats> getPluginCallStats() {
+		return pluginManager.getPluginCallStats();
+	}
+
+	/**
+	 * In lazy indexing mode, starts preparing all the pending recipes on a low priority background thread,
+	 * so that they are ready by the time they are looked up.
+	 * The prepared recipes are still only added to the recipe maps by the first lookup that needs them.
+	 * The thread is shared by every recipe manager, so restarting JEI does not start another one.
+	 */
+	public void startBackgroundIndexing() {
+		if (pendingRecipes.isEmpty()) {
+			return;
+		}
+		pendingRecipes.values()
+			.stream()
+			.<PendingBatch<?>>flatMap(pending -> pending.getBatches().stream())
+			.forEach(batch -> BACKGROUND_INDEXER.execute(batch::prepareInBackground));
+	}
+
+	/**
+	 * Prepares the recipes in chunks on the common pool when parallel recipe registration is enabled.
+	 * The results are in the same order as the recipes, so they are added in the order they were registered.
+	 */
+	private <T> PreparedRecipes<T> prepareRecipes(IRecipeCategory<T> recipeCategory, List<T> recipes, int recipeCount) {
+		long startTime = System.nanoTime();
+		List<PreparedRecipe<T>> preparedRecipes;
+		if (parallelRecipeRegistration && recipes.size() > PARALLEL_CHUNK_SIZE) {
+			List<ForkJoinTask<List<PreparedRecipe<T>>>> tasks = new ArrayList<>();
+			for (int start = 0; start < recipes.size(); start += PARALLEL_CHUNK_SIZE) {
+				List<T> chunk = recipes.subList(start, Math.min(start + PARALLEL_CHUNK_SIZE, recipes.size()));
+				tasks.add(ForkJoinPool.commonPool().submit(() -> prepareChunk(recipeCategory, chunk)));
+			}
+			preparedRecipes = new ArrayList<>(recipes.size());
+			for (ForkJoinTask<List<PreparedRecipe<T>>> task : tasks) {
+				preparedRecipes.addAll(task.join());
+			}
+		} else {
+			preparedRecipes = prepareChunk(recipeCategory, recipes);
+		}
+		Map<RecipeIngredientRole, Set<String>> ingredientUidsByRole = new EnumMap<>(RecipeIngredientRole.class);
+		if (lazyRecipeIndexing) {
+			for (PreparedRecipe<T> preparedRecipe : preparedRecipes) {
+				preparedRecipe.ingredientUids().forEach((role, ingredientUids) -> {
+					Set<String> uids = ingredientUidsByRole.computeIfAbsent(role, k -> new HashSet<>());
+					ingredientUids.forEach(uids::addAll);
+				});
+			}
+		}
+		return new PreparedRecipes<>(preparedRecipes, recipeCount, System.nanoTime() - startTime, ingredientUidsByRole);
+	}
+
+	private <T> List<PreparedRecipe<T>> prepareChunk(IRecipeCategory<T> recipeCategory, List<T> recipes) {
+		List<PreparedRecipe<T>> preparedRecipes = new ArrayList<>(recipes.size());
+		for (T recipe : recipes) {
+			PreparedRecipe<T> preparedRecipe = prepareRecipe(recipeCategory, recipe);
+			if (preparedRecipe != null) {
+				preparedRecipes.add(preparedRecipe);
+			}
+		}
+		return preparedRecipes;
+	}
+
+	/**
+	 * Checks if the recipe can be added and gets the uids of its ingredients, without changing anything.
+	 * This is safe to call from multiple threads, as long as the recipe category is.
+	 *
+	 * @return null if the recipe should not be added
+	 */
+	@Nullable
+	private <T> PreparedRecipe<T> prepareRecipe(IRecipeCategory<T> recipeCategory, T recipe) {
 		if (!recipeCategory.isHandled(recipe)) {
 			if (LOGGER.isDebugEnabled()) {
 				String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
 				LOGGER.debug("Recipe not added because the recipe category cannot handle it: {}", recipeInfo);
 			}
-			return false;
+			return null;
 		}
 		IIngredientSupplier ingredientSupplier = IngredientSupplierHelper.getIngredientSupplier(recipe, recipeCategory, ingredientManager);
 		if (ingredientSupplier == null) {
-			return false;
+			return null;
 		}
 
 		try {
-			for (RecipeMap recipeMap : recipeMaps.values()) {
-				recipeMap.addRecipe(recipeType, recipe, ingredientSupplier);
-			}
-			return true;
+			Map<RecipeIngredientRole, List<List<String>>> ingredientUids = new EnumMap<>(RecipeIngredientRole.class);
+			recipeMaps.forEach((role, recipeMap) -> ingredientUids.put(role, recipeMap.getIngredientUids(ingredientSupplier)));
+			return new PreparedRecipe<>(recipe, ingredientUids);
 		} catch (RuntimeException | LinkageError e) {
 			String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
 			LOGGER.error("Found a broken recipe, failed to addRecipe: {}\n", recipeInfo, e);
-			return false;
+			return null;
+		}
+	}
+
+	/**
+	 * Logs which recipe categories took the longest to add their recipes to.
+	 */
+	public void logRecipeRegistrationTimes() {
+		recipeRegistrationTimes.logSummary();
+	}
+
+	/**
+	 * Adds the time it took to add the recipes of each recipe type to the startup profiler.
+	 * In lazy indexing mode this only includes the recipe types that have been indexed so far.
+	 */
+	public void reportRecipeRegistrationTimes(StartupProfiler profiler) {
+		Lock readLock = recipeMapsLock.readLock();
+		readLock.lock();
+		try {
+			recipeRegistrationTimes.reportTo(profiler);
+		} finally {
+			readLock.unlock();
 		}
 	}
 
@@ -185,17 +621,43 @@ public class RecipeManagerInternal {
 	}
 
 	private Stream<IRecipeCategory<?>> getRecipeCategoriesCached(Collection<IRecipeCategory<?>> recipeCategories, IFocusGroup focuses, boolean includeHidden) {
-		if (recipeCategories.isEmpty() && focuses.isEmpty() && !includeHidden) {
-			if (this.recipeCategoriesVisibleCache == null) {
-				this.recipeCategoriesVisibleCache = getRecipeCategoriesUncached(recipeCategories, focuses, includeHidden)
-					.toList();
+		if (recipeCategories.isEmpty() && !includeHidden) {
+			if (focuses.isEmpty()) {
+				List<IRecipeCategory<?>> visibleCategories = this.recipeCategoriesVisibleCache;
+				if (visibleCategories == null) {
+					visibleCategories = getRecipeCategoriesUncached(recipeCategories, focuses, includeHidden)
+						.toList();
+					this.recipeCategoriesVisibleCache = visibleCategories;
+				}
+				return visibleCategories.stream();
 			}
-			return this.recipeCategoriesVisibleCache.stream();
+			return getVisibleRecipeCategoriesCached(focuses).stream();
 		}
 
 		return getRecipeCategoriesUncached(recipeCategories, focuses, includeHidden);
 	}
 
+	private List<IRecipeCategory<?>> getVisibleRecipeCategoriesCached(IFocusGroup focuses) {
+		indexPendingRecipes(focuses);
+		RecipeLookupCache.FocusKey focusKey = lookupCache.createKey(focuses);
+		List<IRecipeCategory<?>> visibleCategories = lookupCache.getVisibleCategories(focusKey);
+		if (visibleCategories == null) {
+			int generation = lookupCache.getGeneration();
+			PluginManager.LookupResult<RecipeType<?>> lookup = this.pluginManager.collectRecipeTypes(focuses);
+			Set<RecipeType<?>> recipeTypes = Set.copyOf(lookup.results());
+			visibleCategories = recipeTypes.stream()
+				.map(recipeTypeDataMap::get)
+				.<IRecipeCategory<?>>map(RecipeTypeData::getRecipeCategory)
+				.filter(c -> !isCategoryHidden(c, focuses))
+				.sorted(this.recipeCategoryComparator)
+				.toList();
+			if (lookup.cacheable()) {
+				lookupCache.putVisibleCategories(generation, focusKey, recipeTypes, visibleCategories);
+			}
+		}
+		return visibleCategories;
+	}
+
 	private Stream<IRecipeCategory<?>> getRecipeCategoriesUncached(Collection<IRecipeCategory<?>> recipeCategories, IFocusGroup focuses, boolean includeHidden) {
 		Stream<IRecipeCategory<?>> categoryStream;
 		if (focuses.isEmpty()) {
@@ -208,6 +670,7 @@ public class RecipeManagerInternal {
 					.distinct();
 			}
 		} else {
+			indexPendingRecipes(focuses);
 			// focus => get all recipe categories from plugins with the focus
 			categoryStream = this.pluginManager.getRecipeTypes(focuses)
 				.map(recipeTypeDataMap::get)
@@ -226,11 +689,52 @@ public class RecipeManagerInternal {
 		return categoryStream.sorted(this.recipeCategoryComparator);
 	}
 
+	/**
+	 * The recipes are streamed as they are found, so this is quick when only the first recipe is needed.
+	 * If all the recipes for the focus have already been cached they are used instead.
+	 */
 	public <T> Stream<T> getRecipesStream(RecipeType<T> recipeType, IFocusGroup focuses, boolean includeHidden) {
+		indexPendingRecipes(recipeType);
 		RecipeTypeData<T> recipeTypeData = this.recipeTypeDataMap.get(recipeType);
+		if (!focuses.isEmpty()) {
+			RecipeLookupCache.FocusKey focusKey = lookupCache.createKey(focuses);
+			List<T> recipes = lookupCache.getRecipes(focusKey, recipeType, includeHidden);
+			if (recipes != null) {
+				return recipes.stream();
+			}
+		}
 		return this.pluginManager.getRecipes(recipeTypeData, focuses, includeHidden);
 	}
 
+	/**
+	 * Like {@link #getRecipesStream(RecipeType, IFocusGroup, boolean)}, but recipes are only looked up as they are needed.
+	 * If all the recipes for the focus have already been cached they are used instead.
+	 *
+	 * This is how the recipes gui looks up recipes, so when a cursor with a focus has found all of its recipes
+	 * they are cached for the next lookup, unless plugins from other mods contributed to them or were skipped.
+	 */
+	public <T> IRecipeLookupCursor<T> getRecipeCursor(RecipeType<T> recipeType, IFocusGroup focuses, boolean includeHidden) {
+		indexPendingRecipes(recipeType);
+		RecipeTypeData<T> recipeTypeData = this.recipeTypeDataMap.get(recipeType);
+		if (focuses.isEmpty()) {
+			Iterator<T> recipes = this.pluginManager.getRecipeIterator(recipeTypeData, focuses, includeHidden);
+			return new RecipeLookupCursor<>(recipes);
+		}
+
+		RecipeLookupCache.FocusKey focusKey = lookupCache.createKey(focuses);
+		List<T> cachedRecipes = lookupCache.getRecipes(focusKey, recipeType, includeHidden);
+		if (cachedRecipes != null) {
+			return RecipeLookupCursor.of(cachedRecipes);
+		}
+		int generation = lookupCache.getGeneration();
+		PluginManager.LookupIterator<T> recipes = this.pluginManager.getRecipeIterator(recipeTypeData, focuses, includeHidden);
+		return new RecipeLookupCursor<>(recipes, foundRecipes -> {
+			if (recipes.isCacheable()) {
+				lookupCache.putRecipes(generation, focusKey, recipeType, includeHidden, foundRecipes);
+			}
+		});
+	}
+
 	public <T> Stream<ITypedIngredient<?>> getRecipeCatalystStream(RecipeType<T> recipeType, boolean includeHidden) {
 		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
 		List<ITypedIngredient<?>> catalysts = recipeTypeData.getRecipeCategoryCatalysts();
@@ -244,32 +748,65 @@ public class RecipeManagerInternal {
 	public <T> void hideRecipes(RecipeType<T> recipeType, Collection<T> recipes) {
 		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
 		Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
-		hiddenRecipes.addAll(recipes);
+		Lock writeLock = recipeMapsLock.writeLock();
+		writeLock.lock();
+		try {
+			hiddenRecipes.addAll(recipes);
+		} finally {
+			writeLock.unlock();
+		}
 		recipeCategoriesVisibleCache = null;
+		lookupCache.onRecipeVisibilityChanged(recipeType);
 	}
 
 	public <T> void unhideRecipes(RecipeType<T> recipeType, Collection<T> recipes) {
 		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
 		Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
-		hiddenRecipes.removeAll(recipes);
+		Lock writeLock = recipeMapsLock.writeLock();
+		writeLock.lock();
+		try {
+			hiddenRecipes.removeAll(recipes);
+		} finally {
+			writeLock.unlock();
+		}
 		recipeCategoriesVisibleCache = null;
+		lookupCache.onRecipeVisibilityChanged(recipeType);
 	}
 
 	public void hideRecipeCategory(RecipeType<?> recipeType) {
 		hiddenRecipeTypes.add(recipeType);
 		recipeCategoriesVisibleCache = null;
+		lookupCache.onRecipeCategoryVisibilityChanged(recipeType);
 	}
 
 	public void unhideRecipeCategory(RecipeType<?> recipeType) {
 		recipeTypeDataMap.validate(recipeType);
 		hiddenRecipeTypes.remove(recipeType);
 		recipeCategoriesVisibleCache = null;
+		lookupCache.onRecipeCategoryVisibilityChanged(recipeType);
 	}
 
 	public Optional<RecipeType<?>> getRecipeType(ResourceLocation recipeUid) {
 		return recipeTypeDataMap.getType(recipeUid);
 	}
 
+	public <T> Optional<T> getRecipeByRegistryName(RecipeType<T> recipeType, ResourceLocation registryName) {
+		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
+		T recipe = recipeTypeData.getRecipeByRegistryName(registryName);
+		if (recipe == null) {
+			// recipes that have not been indexed yet are found without waiting for them to be indexed
+			@SuppressWarnings("unchecked")
+			PendingRecipes<T> pending = (PendingRecipes<T>) pendingRecipes.get(recipeType);
+			if (pending != null) {
+				recipe = pending.getRecipeByRegistryName(registryName);
+			}
+		}
+		if (recipe == null || recipeTypeData.getHiddenRecipes().contains(recipe)) {
+			return Optional.empty();
+		}
+		return Optional.of(recipe);
+	}
+
 	@Unmodifiable
 	@SuppressWarnings("unchecked")
 	public <T> List<IRecipeCategoryDecorator<T>> getRecipeCategoryDecorators(RecipeType<T> recipeType) {
@@ -0,0 +1,92 @@
+package mezz.jei.library.recipes;
+
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.core.util.StartupProfiler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of how long it takes to add the recipes of each recipe type,
+ * so slow recipe categories can be found in the log.
+ */
+public class RecipeRegistrationTimes {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int TOP_CATEGORY_COUNT = 10;
+
+	private final Map<RecipeType<?>, Entry> entries = new LinkedHashMap<>();
+
+	private static class Entry {
+		private long nanos;
+		private int recipeCount;
+		private int addedCount;
+
+		private void add(Entry other) {
+			this.nanos += other.nanos;
+			this.recipeCount += other.recipeCount;
+			this.addedCount += other.addedCount;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s for %d recipes (%d added)", Duration.ofNanos(nanos), recipeCount, addedCount);
+		}
+	}
+
+	public void add(RecipeType<?> recipeType, int recipeCount, int addedCount, long nanos) {
+		Entry entry = entries.computeIfAbsent(recipeType, k -> new Entry());
+		entry.nanos += nanos;
+		entry.recipeCount += recipeCount;
+		entry.addedCount += addedCount;
+	}
+
+	public void reportTo(StartupProfiler profiler) {
+		entries.forEach((recipeType, entry) ->
+			profiler.addRecipeType(new StartupProfiler.RecipeTypeEntry(
+				recipeType.getUid().toString(),
+				entry.nanos,
+				entry.recipeCount,
+				entry.addedCount
+			))
+		);
+	}
+
+	public void logSummary() {
+		if (entries.isEmpty()) {
+			return;
+		}
+		List<Map.Entry<RecipeType<?>, Entry>> byTime = entries.entrySet()
+			.stream()
+			.sorted(Comparator.comparingLong((Map.Entry<RecipeType<?>, Entry> e) -> e.getValue().nanos).reversed())
+			.toList();
+
+		Map<String, Entry> byMod = new HashMap<>();
+		for (Map.Entry<RecipeType<?>, Entry> e : byTime) {
+			String modId = e.getKey().getUid().getNamespace();
+			byMod.computeIfAbsent(modId, k -> new Entry()).add(e.getValue());
+		}
+
+		LOGGER.info("Slowest recipe categories to add recipes to:");
+		for (Map.Entry<RecipeType<?>, Entry> e : byTime.subList(0, Math.min(TOP_CATEGORY_COUNT, byTime.size()))) {
+			LOGGER.info("  {}: {}", e.getKey().getUid(), e.getValue());
+		}
+		LOGGER.info("Time to add recipes by mod:");
+		byMod.entrySet()
+			.stream()
+			.sorted(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().nanos).reversed())
+			.forEach(e -> LOGGER.info("  {}: {}", e.getKey(), e.getValue()));
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Time to add recipes by recipe category:");
+			for (Map.Entry<RecipeType<?>, Entry> e : byTime) {
+				LOGGER.debug("  {}: {}", e.getKey().getUid(), e.getValue());
+			}
+		}
+	}
+}
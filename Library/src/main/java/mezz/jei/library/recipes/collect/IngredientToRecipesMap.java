@@ -1,29 +1,69 @@
 package mezz.jei.library.recipes.collect;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import mezz.jei.core.collect.UidInterner;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+/**
+ * Links ingredient uid ids from a {@link UidInterner} to the recipes that contain them.
+ *
+ * Each recipe is stored once, and each ingredient has a posting list of indexes into the recipes.
+ */
 public class IngredientToRecipesMap<R> {
-	private final Map<String, List<R>> uidToRecipes = new HashMap<>();
+	private final List<R> recipes = new ArrayList<>();
+	private final Int2ObjectMap<IntArrayList> uidToRecipeIndexes = new Int2ObjectOpenHashMap<>();
 
-	public void add(R recipe, List<String> ingredientUids) {
-		for (String uid : ingredientUids) {
-			List<R> recipes = uidToRecipes.computeIfAbsent(uid, k -> new ArrayList<>());
+	public void add(R recipe, int[] ingredientUids) {
+		int recipeIndex = recipes.size() - 1;
+		// recipes are added once for each of their ingredient types, one after another
+		if (recipeIndex < 0 || recipes.get(recipeIndex) != recipe) {
+			recipeIndex++;
 			recipes.add(recipe);
 		}
+		for (int uid : ingredientUids) {
+			IntArrayList recipeIndexes = uidToRecipeIndexes.get(uid);
+			if (recipeIndexes == null) {
+				// most ingredients are only in a few recipes of each type
+				recipeIndexes = new IntArrayList(1);
+				uidToRecipeIndexes.put(uid, recipeIndexes);
+			}
+			recipeIndexes.add(recipeIndex);
+		}
 	}
 
 	@UnmodifiableView
-	public List<R> get(String ingredientUid) {
-		List<R> recipes = uidToRecipes.get(ingredientUid);
-		if (recipes == null) {
+	public List<R> get(int ingredientUid) {
+		IntArrayList recipeIndexes = uidToRecipeIndexes.get(ingredientUid);
+		if (recipeIndexes == null) {
 			return Collections.emptyList();
 		}
-		return Collections.unmodifiableList(recipes);
+		return new RecipesView<>(recipes, recipeIndexes);
+	}
+
+	private static class RecipesView<R> extends AbstractList<R> {
+		private final List<R> recipes;
+		private final IntArrayList recipeIndexes;
+
+		public RecipesView(List<R> recipes, IntArrayList recipeIndexes) {
+			this.recipes = recipes;
+			this.recipeIndexes = recipeIndexes;
+		}
+
+		@Override
+		public R get(int index) {
+			return recipes.get(recipeIndexes.getInt(index));
+		}
+
+		@Override
+		public int size() {
+			return recipeIndexes.size();
+		}
 	}
 }
@@ -10,14 +10,14 @@ import java.util.Map;
 public class RecipeIngredientTable {
 	private final Map<RecipeType<?>, IngredientToRecipesMap<?>> map = new HashMap<>();
 
-	public <V> void add(V recipe, RecipeType<V> recipeType, List<String> ingredientUids) {
+	public <V> void add(V recipe, RecipeType<V> recipeType, int[] ingredientUids) {
 		@SuppressWarnings("unchecked")
 		IngredientToRecipesMap<V> ingredientToRecipesMap = (IngredientToRecipesMap<V>) this.map.computeIfAbsent(recipeType, k -> new IngredientToRecipesMap<>());
 		ingredientToRecipesMap.add(recipe, ingredientUids);
 	}
 
 	@UnmodifiableView
-	public <V> List<V> get(RecipeType<V> recipeType, String ingredientUid) {
+	public <V> List<V> get(RecipeType<V> recipeType, int ingredientUid) {
 		@SuppressWarnings("unchecked")
 		IngredientToRecipesMap<V> ingredientToRecipesMap = (IngredientToRecipesMap<V>) this.map.get(recipeType);
 		if (ingredientToRecipesMap == null) {
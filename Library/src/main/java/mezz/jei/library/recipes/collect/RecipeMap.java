@@ -1,79 +1,119 @@
 package mezz.jei.library.recipes.collect;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArraySet;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.recipe.RecipeIngredientRole;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.runtime.IIngredientManager;
-import mezz.jei.core.collect.SetMultiMap;
+import mezz.jei.core.collect.UidInterner;
 import mezz.jei.library.ingredients.IIngredientSupplier;
 import org.jetbrains.annotations.UnmodifiableView;
 
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * A RecipeMap efficiently links recipes, IRecipeCategory, and Ingredients.
+ *
+ * Ingredients are keyed by the id their uid is given by a {@link UidInterner},
+ * which can be shared by several maps so that a lookup only has to hash the uid once.
  */
 public class RecipeMap {
 	private final RecipeIngredientTable recipeTable = new RecipeIngredientTable();
-	private final SetMultiMap<String, RecipeType<?>> ingredientUidToCategoryMap = new SetMultiMap<>();
-	private final SetMultiMap<String, RecipeType<?>> categoryCatalystUidToRecipeCategoryMap = new SetMultiMap<>();
+	private final Int2ObjectMap<Set<RecipeType<?>>> ingredientUidToCategoryMap = new Int2ObjectOpenHashMap<>();
+	private final Int2ObjectMap<Set<RecipeType<?>>> categoryCatalystUidToRecipeCategoryMap = new Int2ObjectOpenHashMap<>();
 	private final Comparator<RecipeType<?>> recipeTypeComparator;
 	private final IIngredientManager ingredientManager;
 	private final RecipeIngredientRole role;
+	private final UidInterner uidInterner;
 
-	public RecipeMap(Comparator<RecipeType<?>> recipeTypeComparator, IIngredientManager ingredientManager, RecipeIngredientRole role) {
+	public RecipeMap(Comparator<RecipeType<?>> recipeTypeComparator, IIngredientManager ingredientManager, RecipeIngredientRole role, UidInterner uidInterner) {
 		this.recipeTypeComparator = recipeTypeComparator;
 		this.ingredientManager = ingredientManager;
 		this.role = role;
+		this.uidInterner = uidInterner;
 	}
 
-	public Stream<RecipeType<?>> getRecipeTypes(String ingredientUid) {
-		Collection<RecipeType<?>> recipeCategoryUids = ingredientUidToCategoryMap.get(ingredientUid);
-		Collection<RecipeType<?>> catalystRecipeCategoryUids = categoryCatalystUidToRecipeCategoryMap.get(ingredientUid);
+	/**
+	 * @return the id of the ingredient uid, or {@link UidInterner#NO_ID} if no recipe or catalyst contains it.
+	 */
+	public int getIngredientId(String ingredientUid) {
+		return uidInterner.getId(ingredientUid);
+	}
+
+	public Stream<RecipeType<?>> getRecipeTypes(int ingredientId) {
+		Set<RecipeType<?>> recipeCategoryUids = ingredientUidToCategoryMap.getOrDefault(ingredientId, Set.of());
+		Set<RecipeType<?>> catalystRecipeCategoryUids = categoryCatalystUidToRecipeCategoryMap.getOrDefault(ingredientId, Set.of());
 		return Stream.concat(recipeCategoryUids.stream(), catalystRecipeCategoryUids.stream())
 			.sorted(recipeTypeComparator);
 	}
 
 	public void addCatalystForCategory(RecipeType<?> recipeType, String ingredientUid) {
-		categoryCatalystUidToRecipeCategoryMap.put(ingredientUid, recipeType);
+		int ingredientId = uidInterner.intern(ingredientUid);
+		put(categoryCatalystUidToRecipeCategoryMap, ingredientId, recipeType);
 	}
 
 	@UnmodifiableView
-	public <T> List<T> getRecipes(RecipeType<T> recipeType, String ingredientUid) {
-		return recipeTable.get(recipeType, ingredientUid);
+	public <T> List<T> getRecipes(RecipeType<T> recipeType, int ingredientId) {
+		return recipeTable.get(recipeType, ingredientId);
 	}
 
-	public <T> boolean isCatalystForRecipeCategory(RecipeType<T> recipeType, String ingredientUid) {
-		Collection<RecipeType<?>> catalystCategories = categoryCatalystUidToRecipeCategoryMap.get(ingredientUid);
-		return catalystCategories.contains(recipeType);
+	public <T> boolean isCatalystForRecipeCategory(RecipeType<T> recipeType, int ingredientId) {
+		Set<RecipeType<?>> catalystCategories = categoryCatalystUidToRecipeCategoryMap.get(ingredientId);
+		return catalystCategories != null && catalystCategories.contains(recipeType);
 	}
 
-	public <T> void addRecipe(RecipeType<T> recipeType, T recipe, IIngredientSupplier ingredientSupplier) {
-		ingredientSupplier.getIngredientTypes(this.role)
-			.forEach(ingredientType ->
-				addRecipe(recipe, recipeType, ingredientSupplier, ingredientType)
-			);
+	/**
+	 * Gets the uids of the recipe's ingredients in this map's role, without changing this map.
+	 * This is safe to call from multiple threads, so it can be done in parallel before the recipes are added.
+	 *
+	 * @return a list of distinct uids for each ingredient type the recipe has valid ingredients of.
+	 */
+	public List<List<String>> getIngredientUids(IIngredientSupplier ingredientSupplier) {
+		return ingredientSupplier.getIngredientTypes(this.role)
+			.map(ingredientType -> getIngredientUids(ingredientSupplier, ingredientType))
+			.filter(uids -> !uids.isEmpty())
+			.toList();
 	}
 
-	private <T, V> void addRecipe(T recipe, RecipeType<T> recipeType, IIngredientSupplier ingredientSupplier, IIngredientType<V> ingredientType) {
+	private <V> List<String> getIngredientUids(IIngredientSupplier ingredientSupplier, IIngredientType<V> ingredientType) {
 		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(ingredientType);
 
-		List<String> ingredientUids = ingredientSupplier.getIngredientStream(ingredientType, this.role)
+		return ingredientSupplier.getIngredientStream(ingredientType, this.role)
 			.filter(ingredientHelper::isValidIngredient)
 			.map(i -> ingredientHelper.getUniqueId(i, UidContext.Recipe))
 			.distinct()
 			.toList();
+	}
 
-		if (!ingredientUids.isEmpty()) {
-			for (String uid : ingredientUids) {
-				ingredientUidToCategoryMap.put(uid, recipeType);
+	/**
+	 * @param ingredientUids the uids from {@link #getIngredientUids(IIngredientSupplier)}
+	 */
+	public <T> void addRecipe(RecipeType<T> recipeType, T recipe, List<List<String>> ingredientUids) {
+		for (List<String> uids : ingredientUids) {
+			int[] ingredientIds = new int[uids.size()];
+			for (int i = 0; i < ingredientIds.length; i++) {
+				int ingredientId = uidInterner.intern(uids.get(i));
+				ingredientIds[i] = ingredientId;
+				put(ingredientUidToCategoryMap, ingredientId, recipeType);
 			}
-			recipeTable.add(recipe, recipeType, ingredientUids);
+			recipeTable.add(recipe, recipeType, ingredientIds);
+		}
+	}
+
+	private static void put(Int2ObjectMap<Set<RecipeType<?>>> map, int ingredientId, RecipeType<?> recipeType) {
+		Set<RecipeType<?>> recipeTypes = map.get(ingredientId);
+		if (recipeTypes == null) {
+			// each ingredient is only in a few recipe types, a small array set is much lighter than a hash set
+			recipeTypes = new ObjectArraySet<>(1);
+			map.put(ingredientId, recipeTypes);
 		}
+		recipeTypes.add(recipeType);
 	}
 }
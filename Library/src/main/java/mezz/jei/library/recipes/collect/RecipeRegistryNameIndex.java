@@ -0,0 +1,56 @@
+package mezz.jei.library.recipes.collect;
+
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import net.minecraft.resources.ResourceLocation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recipes of one recipe type by their {@link IRecipeCategory#getRegistryName}.
+ * Not thread-safe, callers must synchronize.
+ */
+public class RecipeRegistryNameIndex<T> {
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private final IRecipeCategory<T> recipeCategory;
+	private final Map<ResourceLocation, T> recipes;
+
+	public RecipeRegistryNameIndex(IRecipeCategory<T> recipeCategory, int expectedSize) {
+		this.recipeCategory = recipeCategory;
+		this.recipes = new HashMap<>(expectedSize);
+	}
+
+	/**
+	 * Adds the recipes that have a registry name.
+	 * If a registry name is already in the index, the recipe that was added first is kept.
+	 */
+	public void addAll(Collection<T> recipes) {
+		int errorCount = 0;
+		for (T recipe : recipes) {
+			try {
+				ResourceLocation registryName = recipeCategory.getRegistryName(recipe);
+				if (registryName != null) {
+					this.recipes.putIfAbsent(registryName, recipe);
+				}
+			} catch (RuntimeException | LinkageError e) {
+				if (errorCount == 0) {
+					LOGGER.error("Failed to get the registry name of a recipe for recipe type: {}", recipeCategory.getRecipeType().getUid(), e);
+				}
+				errorCount++;
+			}
+		}
+		if (errorCount > 1) {
+			LOGGER.error("Failed to get the registry names of {} recipes for recipe type: {}", errorCount, recipeCategory.getRecipeType().getUid());
+		}
+	}
+
+	@Nullable
+	public T get(ResourceLocation registryName) {
+		return recipes.get(registryName);
+	}
+}
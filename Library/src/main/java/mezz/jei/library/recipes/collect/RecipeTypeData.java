@@ -2,8 +2,9 @@ package mezz.jei.library.recipes.collect;
 
 import mezz.jei.api.ingredients.ITypedIngredient;
 import mezz.jei.api.recipe.category.IRecipeCategory;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
-import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -16,7 +17,20 @@ public class RecipeTypeData<T> {
 	private final IRecipeCategory<T> recipeCategory;
 	private final List<ITypedIngredient<?>> recipeCategoryCatalysts;
 	private final List<T> recipes = new ArrayList<>();
-	private final Set<T> hiddenRecipes = Collections.newSetFromMap(new IdentityHashMap<>());
+	/**
+	 * A copy of the recipes that can be handed out to recipe lookups, made again after more recipes are added.
+	 * Guarded by this.
+	 */
+	private @Nullable List<T> recipesSnapshot;
+	/**
+	 * Synchronized, because it is checked by recipe lookups on the recipe gui's lookup thread.
+	 */
+	private final Set<T> hiddenRecipes = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+	/**
+	 * Recipes by their {@link IRecipeCategory#getRegistryName}, built the first time a recipe is looked up by registry name.
+	 * Guarded by this.
+	 */
+	private @Nullable RecipeRegistryNameIndex<T> recipesByRegistryName;
 
 	public RecipeTypeData(IRecipeCategory<T> recipeCategory, List<ITypedIngredient<?>> recipeCategoryCatalysts) {
 		this.recipeCategory = recipeCategory;
@@ -32,13 +46,34 @@ public class RecipeTypeData<T> {
 		return recipeCategoryCatalysts;
 	}
 
-	@UnmodifiableView
-	public List<T> getRecipes() {
-		return Collections.unmodifiableList(recipes);
+	@Unmodifiable
+	public synchronized List<T> getRecipes() {
+		List<T> snapshot = recipesSnapshot;
+		if (snapshot == null) {
+			snapshot = List.copyOf(recipes);
+			recipesSnapshot = snapshot;
+		}
+		return snapshot;
 	}
 
-	public void addRecipes(Collection<T> recipes) {
+	public synchronized void addRecipes(Collection<T> recipes) {
 		this.recipes.addAll(recipes);
+		this.recipesSnapshot = null;
+		if (recipesByRegistryName != null) {
+			recipesByRegistryName.addAll(recipes);
+		}
+	}
+
+	/**
+	 * @return the first recipe added with the given registry name, or null if there is none.
+	 */
+	@Nullable
+	public synchronized T getRecipeByRegistryName(ResourceLocation registryName) {
+		if (recipesByRegistryName == null) {
+			recipesByRegistryName = new RecipeRegistryNameIndex<>(recipeCategory, recipes.size());
+			recipesByRegistryName.addAll(recipes);
+		}
+		return recipesByRegistryName.get(registryName);
 	}
 
 	public Set<T> getHiddenRecipes() {
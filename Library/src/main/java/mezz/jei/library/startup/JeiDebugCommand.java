@@ -0,0 +1,53 @@
+package mezz.jei.library.startup;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import mezz.jei.library.recipes.PluginCallStats;
+import mezz.jei.library.recipes.RecipeManager;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Client command for finding slow mod integrations:
+ * {@code /jei debug plugins} prints how long the calls to each advanced recipe manager plugin have taken.
+ *
+ * The command has no arguments that depend on the command source,
+ * so it can be registered with the client command dispatcher of any platform.
+ */
+public final class JeiDebugCommand {
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private JeiDebugCommand() {}
+
+	public static <S> LiteralArgumentBuilder<S> create(Supplier<RecipeManager> recipeManagerSupplier) {
+		return LiteralArgumentBuilder.<S>literal("jei")
+			.then(LiteralArgumentBuilder.<S>literal("debug")
+				.then(LiteralArgumentBuilder.<S>literal("plugins")
+					.executes(context -> printPluginCallStats(recipeManagerSupplier.get()))
+				)
+			);
+	}
+
+	private static int printPluginCallStats(RecipeManager recipeManager) {
+		if (recipeManager == null) {
+			sendMessage("JEI is not running.");
+			return 0;
+		}
+		List<PluginCallStats> pluginCallStats = recipeManager.getPluginCallStats();
+		sendMessage("JEI recipe manager plugin calls:");
+		for (PluginCallStats stats : pluginCallStats) {
+			sendMessage(stats.getSummary());
+		}
+		return pluginCallStats.size();
+	}
+
+	private static void sendMessage(String message) {
+		LOGGER.info(message);
+		Minecraft minecraft = Minecraft.getInstance();
+		minecraft.gui.getChat().addMessage(Component.literal(message));
+	}
+}
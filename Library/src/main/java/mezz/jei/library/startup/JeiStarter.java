@@ -1,6 +1,7 @@
 package mezz.jei.library.startup;
 
 import com.google.common.collect.ImmutableTable;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import mezz.jei.api.IModPlugin;
 import mezz.jei.api.helpers.IColorHelper;
 import mezz.jei.api.helpers.IModIdHelper;
@@ -19,6 +20,7 @@ import mezz.jei.common.config.file.FileWatcher;
 import mezz.jei.common.platform.Services;
 import mezz.jei.common.util.ErrorUtil;
 import mezz.jei.core.util.LoggedTimer;
+import mezz.jei.core.util.StartupProfiler;
 import mezz.jei.common.config.file.ConfigSchemaBuilder;
 import mezz.jei.common.config.file.IConfigSchemaBuilder;
 import mezz.jei.library.color.ColorHelper;
@@ -42,7 +44,9 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -58,6 +62,7 @@ public final class JeiStarter {
 	@SuppressWarnings("FieldCanBeLocal")
 	private final FileWatcher fileWatcher = new FileWatcher("JEI Config File Watcher");
 	private final ConfigManager configManager;
+	private @Nullable RecipeManager recipeManager;
 
 	public JeiStarter(StartData data) {
 		ErrorUtil.checkNotEmpty(data.plugins(), "plugins");
@@ -105,12 +110,13 @@ public final class JeiStarter {
 
 		LoggedTimer totalTime = new LoggedTimer();
 		totalTime.start("Starting JEI");
+		StartupProfiler profiler = DebugConfig.isStartupProfilerEnabled() ? new StartupProfiler() : StartupProfiler.disabled();
 
 		IColorHelper colorHelper = new ColorHelper(colorNameConfig);
 
 		IClientToggleState toggleState = Internal.getClientToggleState();
 
-		PluginLoader pluginLoader = new PluginLoader(data, modIdFormatConfig, colorHelper);
+		PluginLoader pluginLoader = new PluginLoader(data, modIdFormatConfig, colorHelper, profiler);
 		JeiHelpers jeiHelpers = pluginLoader.getJeiHelpers();
 		IModIdHelper modIdHelper = jeiHelpers.getModIdHelper();
 
@@ -153,7 +159,7 @@ public final class JeiStarter {
 			recipeTransferManager,
 			screenHelper
 		);
-		PluginCaller.callOnPlugins("Registering Runtime", plugins, p -> p.registerRuntime(runtimeRegistration));
+		PluginCaller.callOnPlugins("Registering Runtime", plugins, p -> p.registerRuntime(runtimeRegistration), profiler);
 
 		JeiRuntime jeiRuntime = new JeiRuntime(
 			recipeManager,
@@ -172,14 +178,38 @@ public final class JeiStarter {
 		);
 		timer.stop();
 
-		PluginCaller.callOnPlugins("Sending Runtime", plugins, p -> p.onRuntimeAvailable(jeiRuntime));
+		PluginCaller.callOnPlugins("Sending Runtime", plugins, p -> p.onRuntimeAvailable(jeiRuntime), profiler);
 
 		totalTime.stop();
+
+		if (profiler.isEnabled()) {
+			writeStartupProfile(profiler, configDir);
+		}
+
+		recipeManager.startBackgroundIndexing();
+		this.recipeManager = recipeManager;
+	}
+
+	private static void writeStartupProfile(StartupProfiler profiler, Path configDir) {
+		try {
+			profiler.writeReport(configDir, "jei-startup-profile");
+			LOGGER.info("Wrote the JEI startup profile to {}", configDir.resolve("jei-startup-profile.json"));
+		} catch (IOException e) {
+			LOGGER.error("Failed to write the JEI startup profile to {}", configDir, e);
+		}
 	}
 
 	public void stop() {
 		LOGGER.info("Stopping JEI");
+		this.recipeManager = null;
 		List<IModPlugin> plugins = data.plugins();
 		PluginCaller.callOnPlugins("Sending Runtime Unavailable", plugins, IModPlugin::onRuntimeUnavailable);
 	}
+
+	/**
+	 * Creates JEI's client debug commands, for the platform to register.
+	 */
+	public <S> LiteralArgumentBuilder<S> createDebugCommand() {
+		return JeiDebugCommand.create(() -> recipeManager);
+	}
 }
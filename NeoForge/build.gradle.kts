@@ -12,6 +12,7 @@ plugins {
 	id("net.darkhax.curseforgegradle") version("1.0.8")
 	id("com.modrinth.minotaur") version("2.+")
 	id("net.neoforged.gradle.userdev")
+	id("me.champeau.jmh")
 }
 
 // gradle.properties
@@ -19,6 +20,7 @@ val curseHomepageUrl: String by extra
 val curseProjectId: String by extra
 val neoforgeVersion: String by extra
 val jUnitVersion: String by extra
+val jmhVersion: String by extra
 val minecraftVersion: String by extra
 val modGroup: String by extra
 val modId: String by extra
@@ -39,6 +41,12 @@ sourceSets {
 			setSrcDirs(emptyList<String>())
 		}
 	}
+	named("jmh") {
+		resources {
+			//The benchmarks have no resources
+			setSrcDirs(emptyList<String>())
+		}
+	}
 }
 
 val dependencyProjects: List<Project> = listOf(
@@ -197,6 +205,12 @@ tasks.named<Test>("test") {
 	}
 }
 
+jmh {
+	this.jmhVersion.set(jmhVersion)
+	// the benchmarks build their fixtures from the test plugin and helpers
+	includeTests.set(true)
+}
+
 artifacts {
 	archives(tasks.jar.get())
 	archives(sourcesJarTask.get())
@@ -0,0 +1,155 @@
+package mezz.jei.benchmark.bookmarks;
+
+import mezz.jei.api.helpers.IGuiHelper;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.IFocusFactory;
+import mezz.jei.api.recipe.IRecipeManager;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.gui.bookmarks.BookmarkList;
+import mezz.jei.gui.bookmarks.IBookmark;
+import mezz.jei.gui.bookmarks.IngredientBookmark;
+import mezz.jei.gui.config.IBookmarkConfig;
+import mezz.jei.library.ingredients.TypedIngredient;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestClientConfig;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import net.minecraft.core.RegistryAccess;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toggles bookmarks in a real {@link BookmarkList} of ingredient bookmarks, and gets the elements that the bookmark grid shows.
+ * <p>
+ * Each toggle also serializes the bookmarks for the next save, like in game.
+ * The bookmark config here serializes bookmarks to their ingredient's name and does not write the file,
+ * so only ingredient bookmarks are used, and the recipe manager, focus factory and gui helper are not needed.
+ * <p>
+ * Run with {@code ./gradlew :NeoForge:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookmarkListBenchmark {
+	private static final int TOGGLE_COUNT = 256;
+
+	@Param({"10000"})
+	public int bookmarkCount;
+
+	@Nullable
+	private BookmarkList bookmarkList;
+	private IBookmark[] toggledBookmarks = new IBookmark[0];
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		IIngredientManager ingredientManager = ingredientManagerBuilder.build();
+
+		//noinspection DataFlowIssue
+		BookmarkList bookmarkList = new BookmarkList(
+			null,
+			null,
+			ingredientManager,
+			RegistryAccess.EMPTY,
+			new NameBookmarkConfig(),
+			new TestClientConfig(false),
+			null
+		);
+		for (int i = 0; i < bookmarkCount; i++) {
+			bookmarkList.addToList(createBookmark(ingredientManager, i), false);
+		}
+		this.bookmarkList = bookmarkList;
+
+		Random random = new Random(42);
+		toggledBookmarks = new IBookmark[TOGGLE_COUNT];
+		for (int i = 0; i < TOGGLE_COUNT; i++) {
+			// a new bookmark for an existing ingredient, like toggling a bookmark from the ingredient list
+			toggledBookmarks[i] = createBookmark(ingredientManager, random.nextInt(bookmarkCount));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (bookmarkList != null) {
+			bookmarkList.flushSave();
+		}
+	}
+
+	private static IBookmark createBookmark(IIngredientManager ingredientManager, int number) {
+		ITypedIngredient<TestIngredient> typedIngredient = TypedIngredient.createUnvalidated(TestIngredient.TYPE, new TestIngredient(number));
+		return IngredientBookmark.create(typedIngredient, ingredientManager);
+	}
+
+	/**
+	 * Removes a bookmark and adds it back, like pressing the bookmark key twice on an ingredient.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(TOGGLE_COUNT * 2)
+	public void toggle() {
+		BookmarkList bookmarkList = Objects.requireNonNull(this.bookmarkList);
+		for (IBookmark bookmark : toggledBookmarks) {
+			bookmarkList.toggleBookmark(bookmark);
+			bookmarkList.toggleBookmark(bookmark);
+		}
+	}
+
+	/**
+	 * Gets the elements to show, which the bookmark grid does several times every frame.
+	 */
+	@Benchmark
+	public void gridRefresh(Blackhole blackhole) {
+		blackhole.consume(Objects.requireNonNull(bookmarkList).getElements());
+	}
+
+	private static class NameBookmarkConfig implements IBookmarkConfig {
+		@Override
+		public Map<IBookmark, String> serializeBookmarks(IRecipeManager recipeManager, IFocusFactory focusFactory, IGuiHelper guiHelper, IIngredientManager ingredientManager, RegistryAccess registryAccess, List<IBookmark> bookmarks) {
+			Map<IBookmark, String> lines = new HashMap<>();
+			for (IBookmark bookmark : bookmarks) {
+				if (bookmark instanceof IngredientBookmark<?> ingredientBookmark) {
+					lines.put(bookmark, "I:" + ingredientBookmark.getIngredient().getIngredient());
+				}
+			}
+			return lines;
+		}
+
+		@Override
+		public void writeBookmarks(List<String> lines) {
+
+		}
+
+		@Override
+		public void loadBookmarks(IRecipeManager recipeManager, IFocusFactory focusFactory, IGuiHelper guiHelper, IIngredientManager ingredientManager, RegistryAccess registryAccess, BookmarkList bookmarkList) {
+
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package mezz.jei.benchmark.color;
+
+import mezz.jei.common.config.file.ConfigSchemaBuilder;
+import mezz.jei.library.color.ColorName;
+import mezz.jei.library.color.ColorUtil;
+import mezz.jei.library.config.ColorNameConfig;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the closest color name with a real {@link ColorNameConfig}, which looks it up in its color name table,
+ * against the linear scan over the search colors that it used before,
+ * for random colors like the ones extracted from ingredient textures when building the {@code ^} color search index.
+ * <p>
+ * The config file is never loaded, so the default search colors are used.
+ * <p>
+ * Run with {@code ./gradlew :NeoForge:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorNameBenchmark {
+	private static final int COLOR_COUNT = 50_000;
+
+	@Param({"linearScan", "colorNameConfig"})
+	public String lookupType;
+
+	private int[] colors = new int[0];
+	@Nullable
+	private ColorNameConfig colorNameConfig;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(42);
+		colors = new int[COLOR_COUNT];
+		for (int i = 0; i < COLOR_COUNT; i++) {
+			colors[i] = random.nextInt(0x1000000);
+		}
+
+		ConfigSchemaBuilder schemaBuilder = new ConfigSchemaBuilder(Path.of("jei-colors.ini"));
+		ColorNameConfig colorNameConfig = new ColorNameConfig(schemaBuilder);
+		// builds the color name table before measuring
+		colorNameConfig.getClosestColorName(0);
+		this.colorNameConfig = colorNameConfig;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COLOR_COUNT)
+	public void getClosestColorName(Blackhole blackhole) {
+		if (lookupType.equals("colorNameConfig")) {
+			ColorNameConfig colorNameConfig = Objects.requireNonNull(this.colorNameConfig);
+			for (int color : colors) {
+				blackhole.consume(colorNameConfig.getClosestColorName(color));
+			}
+		} else {
+			for (int color : colors) {
+				blackhole.consume(getClosestColorNameLinear(color));
+			}
+		}
+	}
+
+	/**
+	 * The previous {@link ColorNameConfig#getClosestColorName}, which measured the distance to every search color.
+	 */
+	private static String getClosestColorNameLinear(int color) {
+		List<ColorName> colorNames = ColorNameConfig.getDefaultColors();
+		return colorNames
+			.stream()
+			.min(Comparator.comparing(entry -> {
+				int namedColor = entry.color();
+				double distance = ColorUtil.slowPerceptualColorDistanceSquared(namedColor, color);
+				return Math.abs(distance);
+			}))
+			.map(ColorName::name)
+			.orElseThrow();
+	}
+}
@@ -0,0 +1,157 @@
+package mezz.jei.benchmark.recipes;
+
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.core.collect.UidInterner;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.library.recipes.collect.IngredientToRecipesMap;
+import mezz.jei.library.recipes.collect.RecipeMap;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import mezz.jei.test.lib.TestRecipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and looks up a real {@link RecipeMap}, which keeps its recipes for each type in an {@link IngredientToRecipesMap},
+ * on a synthetic recipe registry of {@link TestRecipe}s.
+ * <p>
+ * The ingredient uids of each recipe are worked out up front, like {@code RecipeManagerInternal} does in parallel
+ * before the recipes are added, so {@link #build()} only measures filling the index.
+ * <p>
+ * Run with {@code ./gradlew :NeoForge:jmh}.
+ * With the gc profiler ({@code -prof gc}), the {@code gc.alloc.rate.norm} of {@link #build()} shows the bytes allocated to build the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class RecipeIndexBenchmark {
+	private static final int RECIPE_TYPE_COUNT = 40;
+	private static final int LOOKUP_COUNT = 1024;
+
+	@Param({"100000"})
+	public int recipeCount;
+
+	private final IIngredientManager ingredientManager = createIngredientManager();
+	private List<RecipeType<TestRecipe>> recipeTypes = List.of();
+	private List<SyntheticRecipe> recipes = List.of();
+	private RecipeMap recipeMap = createRecipeMap();
+	private String[] lookupUids = new String[0];
+	private int[] lookupTypes = new int[0];
+
+	/**
+	 * @param ingredientUids the uids of the recipe's inputs, in the shape returned by {@link RecipeMap#getIngredientUids}
+	 */
+	private record SyntheticRecipe(RecipeType<TestRecipe> recipeType, TestRecipe recipe, List<List<String>> ingredientUids) {}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		IIngredientHelper<TestIngredient> ingredientHelper = ingredientManager.getIngredientHelper(TestIngredient.TYPE);
+
+		List<RecipeType<TestRecipe>> recipeTypeList = new ArrayList<>(RECIPE_TYPE_COUNT);
+		for (int i = 0; i < RECIPE_TYPE_COUNT; i++) {
+			recipeTypeList.add(RecipeType.create("jei_benchmark", "recipe_type_" + i, TestRecipe.class));
+		}
+		recipeTypes = recipeTypeList;
+
+		Random random = new Random(42);
+		int ingredientCount = recipeCount / 2;
+		List<SyntheticRecipe> recipeList = new ArrayList<>(recipeCount);
+		for (int i = 0; i < recipeCount; i++) {
+			int inputCount = 1 + random.nextInt(9);
+			List<TestIngredient> inputs = new ArrayList<>(inputCount);
+			for (int j = 0; j < inputCount; j++) {
+				inputs.add(new TestIngredient(random.nextInt(ingredientCount)));
+			}
+			List<String> ingredientUids = inputs.stream()
+				.map(input -> ingredientHelper.getUniqueId(input, UidContext.Recipe))
+				.distinct()
+				.toList();
+			RecipeType<TestRecipe> recipeType = recipeTypeList.get(random.nextInt(RECIPE_TYPE_COUNT));
+			TestRecipe recipe = new TestRecipe(null, inputs.getFirst());
+			recipeList.add(new SyntheticRecipe(recipeType, recipe, List.of(ingredientUids)));
+		}
+		recipes = recipeList;
+
+		lookupUids = new String[LOOKUP_COUNT];
+		lookupTypes = new int[LOOKUP_COUNT];
+		for (int i = 0; i < LOOKUP_COUNT; i++) {
+			TestIngredient ingredient = new TestIngredient(random.nextInt(ingredientCount));
+			lookupUids[i] = ingredientHelper.getUniqueId(ingredient, UidContext.Recipe);
+			lookupTypes[i] = random.nextInt(RECIPE_TYPE_COUNT);
+		}
+
+		recipeMap = build();
+	}
+
+	/**
+	 * Looks up the recipe types and then the recipes of one type for each ingredient,
+	 * like opening the recipes gui for an ingredient.
+	 * The uid strings are copied first, because each lookup gets a newly created uid with no cached hash code.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(LOOKUP_COUNT)
+	public void lookup(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUP_COUNT; i++) {
+			String uid = new String(lookupUids[i]);
+			int ingredientId = recipeMap.getIngredientId(uid);
+			blackhole.consume(recipeMap.getRecipeTypes(ingredientId).toList());
+			List<TestRecipe> found = recipeMap.getRecipes(recipeTypes.get(lookupTypes[i]), ingredientId);
+			for (TestRecipe recipe : found) {
+				blackhole.consume(recipe);
+			}
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	public RecipeMap build() {
+		RecipeMap recipeMap = createRecipeMap();
+		for (SyntheticRecipe recipe : recipes) {
+			recipeMap.addRecipe(recipe.recipeType(), recipe.recipe(), recipe.ingredientUids());
+		}
+		return recipeMap;
+	}
+
+	private RecipeMap createRecipeMap() {
+		Comparator<RecipeType<?>> recipeTypeComparator = Comparator.comparing(recipeType -> recipeType.getUid().toString());
+		return new RecipeMap(recipeTypeComparator, ingredientManager, RecipeIngredientRole.INPUT, new UidInterner());
+	}
+
+	private static IIngredientManager createIngredientManager() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		return ingredientManagerBuilder.build();
+	}
+}
@@ -0,0 +1,159 @@
+package mezz.jei.benchmark.search;
+
+import mezz.jei.api.helpers.IColorHelper;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.api.runtime.IIngredientVisibility;
+import mezz.jei.common.config.IClientConfig;
+import mezz.jei.gui.filter.FilterTextSource;
+import mezz.jei.gui.ingredients.IIngredientSorter;
+import mezz.jei.gui.ingredients.IListElement;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.ingredients.IngredientFilter;
+import mezz.jei.gui.ingredients.IngredientListElementFactory;
+import mezz.jei.gui.overlay.elements.IElement;
+import mezz.jei.library.config.EditModeConfig;
+import mezz.jei.library.ingredients.IngredientBlacklistInternal;
+import mezz.jei.library.ingredients.IngredientVisibility;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestClientConfig;
+import mezz.jei.test.lib.TestClientToggleState;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestIngredientFilterConfig;
+import mezz.jei.test.lib.TestModIdHelper;
+import mezz.jei.test.lib.TestPlugin;
+import net.minecraft.core.NonNullList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs filter queries through a real {@link IngredientFilter}, set up the same way as {@code IngredientFilterTest},
+ * so the search storages, the search result cache and the pre-sorted list all see real {@link IListElementInfo}s.
+ * <p>
+ * Run with {@code ./gradlew :NeoForge:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class IngredientFilterBenchmark {
+	@Param({"10000", "50000"})
+	public int ingredientCount;
+
+	/**
+	 * The filter text to search for.
+	 * Every ingredient's name and tooltip contain "ingredient", and "#12" matches about 1% of them.
+	 */
+	@Param({"", "#12", "ingredient 1 -5"})
+	public String filter;
+
+	@Nullable
+	private IngredientFilter ingredientFilter;
+	@Nullable
+	private FilterTextSource filterTextSource;
+	private boolean trailingSpace;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IColorHelper colorHelper = new TestColorHelper();
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, colorHelper);
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		IIngredientManager ingredientManager = ingredientManagerBuilder.build();
+
+		List<TestIngredient> ingredients = new ArrayList<>(ingredientCount);
+		for (int i = TestPlugin.BASE_INGREDIENT_COUNT; i < ingredientCount; i++) {
+			ingredients.add(new TestIngredient(i));
+		}
+		ingredientManager.addIngredientsAtRuntime(TestIngredient.TYPE, ingredients);
+
+		NonNullList<IListElement<?>> baseList = IngredientListElementFactory.createBaseList(ingredientManager);
+		EditModeConfig editModeConfig = new EditModeConfig(new NullSerializer(), ingredientManager);
+		IngredientBlacklistInternal blacklist = new IngredientBlacklistInternal();
+		IIngredientVisibility ingredientVisibility = new IngredientVisibility(blacklist, new TestClientToggleState(), editModeConfig, ingredientManager);
+		IClientConfig clientConfig = new TestClientConfig(false);
+		IIngredientSorter ingredientListSorter = (a, b) -> Comparator.comparing(IListElementInfo::getModNameForSorting);
+
+		this.filterTextSource = new FilterTextSource();
+		this.ingredientFilter = new IngredientFilter(
+			filterTextSource,
+			clientConfig,
+			new TestIngredientFilterConfig(),
+			ingredientManager,
+			ingredientListSorter,
+			baseList,
+			new TestModIdHelper(),
+			ingredientVisibility,
+			colorHelper
+		);
+	}
+
+	/**
+	 * Re-running the query after the filter text changed.
+	 * The search results of each token are already cached, so this measures combining them
+	 * and building the ordered ingredient list.
+	 */
+	@Benchmark
+	public List<IElement<?>> retypeFilter() {
+		setFilterText();
+		return Objects.requireNonNull(ingredientFilter).getElements();
+	}
+
+	/**
+	 * Searching with every cache invalidated, like the first query after the ingredient list changes.
+	 */
+	@Benchmark
+	public List<IElement<?>> searchAfterInvalidate() {
+		IngredientFilter ingredientFilter = Objects.requireNonNull(this.ingredientFilter);
+		ingredientFilter.invalidateCache();
+		setFilterText();
+		return ingredientFilter.getElements();
+	}
+
+	/**
+	 * Alternates between two spellings of the same query, so every call sees a changed filter text.
+	 */
+	private void setFilterText() {
+		trailingSpace = !trailingSpace;
+		String filterText = trailingSpace ? filter + " " : filter;
+		Objects.requireNonNull(filterTextSource).setFilterText(filterText);
+	}
+
+	private static class NullSerializer implements EditModeConfig.ISerializer {
+		@Override
+		public void initialize(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void save(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void load(EditModeConfig config) {
+
+		}
+	}
+}
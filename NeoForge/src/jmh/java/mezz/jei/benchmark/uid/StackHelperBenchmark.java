@@ -0,0 +1,129 @@
+package mezz.jei.benchmark.uid;
+
+import mezz.jei.api.constants.VanillaTypes;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.common.util.StackHelper;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.plugins.vanilla.brewing.PotionSubtypeInterpreter;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.alchemy.Potion;
+import net.minecraft.world.item.alchemy.PotionContents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares working out item stack uids from scratch every time against {@link StackHelper#getUniqueIdentifierForStack},
+ * on real item stacks from the vanilla registries.
+ * <p>
+ * Stacks "with subtypes" are potions, which have a subtype interpreter that reads their components.
+ * Each lookup asks for the uid of a stack that was created up front, like the ingredients of registered recipes.
+ * <p>
+ * Run with {@code ./gradlew :NeoForge:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StackHelperBenchmark {
+	private static final int STACK_COUNT = 20_000;
+	private static final int LOOKUP_COUNT = 1024;
+
+	@Param({"false", "true"})
+	public boolean withSubtypes;
+
+	@Param({"uncached", "cached"})
+	public String uidMode;
+
+	private SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+	private StackHelper stackHelper = new StackHelper(subtypeManager);
+	private ItemStack[] lookupStacks = new ItemStack[0];
+
+	@Setup
+	public void setup() {
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+
+		SubtypeInterpreters interpreters = new SubtypeInterpreters();
+		interpreters.addInterpreter(VanillaTypes.ITEM_STACK, Items.POTION, PotionSubtypeInterpreter.INSTANCE);
+		interpreters.addInterpreter(VanillaTypes.ITEM_STACK, Items.SPLASH_POTION, PotionSubtypeInterpreter.INSTANCE);
+		interpreters.addInterpreter(VanillaTypes.ITEM_STACK, Items.LINGERING_POTION, PotionSubtypeInterpreter.INSTANCE);
+		this.subtypeManager = new SubtypeManager(interpreters);
+		this.stackHelper = new StackHelper(subtypeManager);
+
+		Random random = new Random(42);
+		List<ItemStack> stacks = new ArrayList<>(STACK_COUNT);
+		if (withSubtypes) {
+			List<Item> potionItems = List.of(Items.POTION, Items.SPLASH_POTION, Items.LINGERING_POTION);
+			List<Holder.Reference<Potion>> potions = BuiltInRegistries.POTION.holders().toList();
+			for (int i = 0; i < STACK_COUNT; i++) {
+				Item item = potionItems.get(random.nextInt(potionItems.size()));
+				Holder<Potion> potion = potions.get(random.nextInt(potions.size()));
+				stacks.add(PotionContents.createItemStack(item, potion));
+			}
+		} else {
+			List<Item> items = BuiltInRegistries.ITEM.stream()
+				.filter(item -> item != Items.AIR)
+				.filter(item -> !subtypeManager.hasSubtypeInterpreter(VanillaTypes.ITEM_STACK, new ItemStack(item)))
+				.toList();
+			for (int i = 0; i < STACK_COUNT; i++) {
+				stacks.add(new ItemStack(items.get(random.nextInt(items.size()))));
+			}
+		}
+
+		lookupStacks = new ItemStack[LOOKUP_COUNT];
+		for (int i = 0; i < LOOKUP_COUNT; i++) {
+			lookupStacks[i] = stacks.get(random.nextInt(STACK_COUNT));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUP_COUNT)
+	public void getUniqueId(Blackhole blackhole) {
+		if (uidMode.equals("cached")) {
+			for (ItemStack stack : lookupStacks) {
+				blackhole.consume(stackHelper.getUniqueIdentifierForStack(stack, UidContext.Ingredient));
+			}
+		} else {
+			for (ItemStack stack : lookupStacks) {
+				blackhole.consume(getUncachedUid(stack));
+			}
+		}
+	}
+
+	/**
+	 * The previous uid function: the registry name string and subtype info are created for every call.
+	 */
+	private String getUncachedUid(ItemStack stack) {
+		String result = BuiltInRegistries.ITEM.getKey(stack.getItem()).toString();
+		String subtypeInfo = subtypeManager.getSubtypeInfo(VanillaTypes.ITEM_STACK, stack, UidContext.Ingredient);
+		if (!subtypeInfo.isEmpty()) {
+			result = result + ':' + subtypeInfo;
+		}
+		return result;
+	}
+}
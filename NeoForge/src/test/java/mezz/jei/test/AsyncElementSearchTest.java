@@ -0,0 +1,122 @@
+package mezz.jei.test;
+
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.core.search.SearchMode;
+import mezz.jei.gui.search.AsyncElementSearch;
+import mezz.jei.gui.search.ElementPrefixParser;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredientFilterConfig;
+import mezz.jei.test.lib.TestListElementInfo;
+import mezz.jei.test.lib.TestModIdHelper;
+import mezz.jei.test.lib.TestPlugin;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class AsyncElementSearchTest {
+	private static final int BATCH_SIZE = 1000;
+
+	private IIngredientManager ingredientManager;
+	private ElementPrefixParser elementPrefixParser;
+	private AtomicInteger indexProgress;
+	private AsyncElementSearch search;
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		TestColorHelper colorHelper = new TestColorHelper();
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, colorHelper);
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, new TestIngredientFilterConfig(), colorHelper, new TestModIdHelper());
+		this.indexProgress = new AtomicInteger();
+		this.search = new AsyncElementSearch(elementPrefixParser, null, indexProgress::incrementAndGet);
+	}
+
+	@Test
+	public void testSearchWhileAndAfterIndexing() throws InterruptedException {
+		search.addAll(List.copyOf(TestListElementInfo.create(ingredientManager, 0, BATCH_SIZE)));
+		Assertions.assertEquals(Set.of(123), search("&test_ingredient_123"));
+
+		// the second batch is merged into the index that the first one built
+		search.addAll(List.copyOf(TestListElementInfo.create(ingredientManager, BATCH_SIZE, BATCH_SIZE)));
+		Set<Integer> expected = Set.of(123, 1230, 1231, 1232, 1233, 1234, 1235, 1236, 1237, 1238, 1239);
+		Assertions.assertEquals(expected, search("&test_ingredient_123"));
+		Assertions.assertEquals(Set.of(1234), search("&test_ingredient_1234"));
+
+		awaitIndexProgress(2);
+		Assertions.assertEquals(expected, search("&test_ingredient_123"));
+		Assertions.assertEquals(Set.of(1234), search("&test_ingredient_1234"));
+		Assertions.assertEquals(Set.of(1999), search("tooltip 1999"));
+		Assertions.assertEquals(2 * BATCH_SIZE, search("@jeitestmod").size());
+	}
+
+	@Test
+	public void testSingleElementsAreAddedAfterBatches() throws InterruptedException {
+		search.addAll(List.copyOf(TestListElementInfo.create(ingredientManager, 0, BATCH_SIZE)));
+		TestListElementInfo added = TestListElementInfo.create(ingredientManager, 5000, 1).getFirst();
+		search.add(added);
+		Assertions.assertEquals(Set.of(5000), search("&test_ingredient_5000"));
+
+		awaitIndexProgress(1);
+		Assertions.assertEquals(Set.of(5000), search("&test_ingredient_5000"));
+		Assertions.assertEquals(Set.of(5000), search("#tooltip 5000"));
+		Assertions.assertEquals(BATCH_SIZE + 1, search.getAllIngredients().size());
+	}
+
+	/**
+	 * Tooltips are not thread-safe, see {@link ElementPrefixParser#isThreadSafe}.
+	 */
+	@Test
+	public void testTooltipsAreOnlyReadOnTheCallingThread() throws InterruptedException {
+		List<TestListElementInfo> first = TestListElementInfo.create(ingredientManager, 0, BATCH_SIZE);
+		List<TestListElementInfo> second = TestListElementInfo.create(ingredientManager, BATCH_SIZE, BATCH_SIZE);
+		search.addAll(List.copyOf(first));
+		search.addAll(List.copyOf(second));
+		awaitIndexProgress(2);
+		Assertions.assertEquals(Set.of(42), search("#tooltip 42"));
+
+		Set<Thread> callingThread = Set.of(Thread.currentThread());
+		for (TestListElementInfo info : first) {
+			Assertions.assertEquals(callingThread, info.getTooltipThreads(), info.getName());
+		}
+		for (TestListElementInfo info : second) {
+			Assertions.assertEquals(callingThread, info.getTooltipThreads(), info.getName());
+		}
+	}
+
+	private Set<Integer> search(String text) {
+		ElementPrefixParser.TokenInfo tokenInfo = elementPrefixParser.parseToken(text).orElseThrow();
+		return search.getSearchResults(tokenInfo)
+			.stream()
+			.map(info -> ((TestListElementInfo) info).getNumber())
+			.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Waits until every prefix that is built in the background has finished this many batches.
+	 */
+	private void awaitIndexProgress(int batches) throws InterruptedException {
+		long backgroundPrefixes = elementPrefixParser.allPrefixInfos()
+			.stream()
+			.filter(prefixInfo -> prefixInfo != ElementPrefixParser.NO_PREFIX)
+			.filter(prefixInfo -> prefixInfo.getMode() != SearchMode.DISABLED)
+			.filter(elementPrefixParser::isThreadSafe)
+			.count();
+		long expected = batches * backgroundPrefixes;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (indexProgress.get() < expected) {
+			Assertions.assertTrue(System.nanoTime() < deadline, "timed out waiting for the search indexes to build");
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package mezz.jei.test;
+
+import mezz.jei.core.util.NearestColorTable;
+import mezz.jei.library.color.ColorName;
+import mezz.jei.library.color.ColorUtil;
+import mezz.jei.library.config.ColorNameConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ColorNameTableTest {
+	/**
+	 * The perceptual distance is not smooth, so this checks every rgb color instead of a sample.
+	 */
+	@Test
+	public void testDefaultColorsMatchLinearScanForEveryColor() {
+		int[] colors = ColorNameConfig.getDefaultColors()
+			.stream()
+			.mapToInt(ColorName::color)
+			.toArray();
+		NearestColorTable table = new NearestColorTable(
+			colors,
+			ColorUtil::slowPerceptualColorDistanceSquared,
+			ColorUtil.SLOW_PERCEPTUAL_COLOR_DISTANCE_BORDER_MARGIN
+		);
+
+		int mismatches = 0;
+		int firstMismatch = -1;
+		for (int color = 0; color <= 0xFFFFFF; color++) {
+			if (table.getClosestIndex(color) != table.findClosestIndex(color)) {
+				if (mismatches == 0) {
+					firstMismatch = color;
+				}
+				mismatches++;
+			}
+		}
+		Assertions.assertEquals(0, mismatches, "first mismatch: %06X".formatted(firstMismatch));
+	}
+}
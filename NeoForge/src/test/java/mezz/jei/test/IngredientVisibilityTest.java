@@ -0,0 +1,109 @@
+package mezz.jei.test;
+
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.config.EditModeConfig;
+import mezz.jei.library.ingredients.IngredientBlacklistInternal;
+import mezz.jei.library.ingredients.IngredientVisibility;
+import mezz.jei.library.ingredients.TypedIngredient;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestClientToggleState;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestIngredientHelper;
+import mezz.jei.test.lib.TestPlugin;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IngredientVisibilityTest {
+	private IngredientBlacklistInternal blacklist;
+	private IngredientVisibility ingredientVisibility;
+	private CountingIngredientHelper ingredientHelper;
+	private ITypedIngredient<TestIngredient> typedIngredient;
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		IIngredientManager ingredientManager = ingredientManagerBuilder.build();
+
+		this.blacklist = new IngredientBlacklistInternal();
+		EditModeConfig editModeConfig = new EditModeConfig(new NullSerializer(), ingredientManager);
+		this.ingredientVisibility = new IngredientVisibility(blacklist, new TestClientToggleState(), editModeConfig, ingredientManager);
+		this.ingredientHelper = new CountingIngredientHelper();
+		this.typedIngredient = TypedIngredient.createUnvalidated(TestIngredient.TYPE, new TestIngredient(1));
+	}
+
+	@Test
+	public void testVisibilityIsCached() {
+		Assertions.assertTrue(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+		Assertions.assertTrue(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+		Assertions.assertEquals(1, ingredientHelper.serverChecks);
+	}
+
+	@Test
+	public void testChangesClearTheCache() {
+		Assertions.assertTrue(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+
+		blacklist.addIngredientToBlacklist(typedIngredient, ingredientHelper);
+		Assertions.assertFalse(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+
+		blacklist.removeIngredientFromBlacklist(typedIngredient, ingredientHelper);
+		Assertions.assertTrue(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+	}
+
+	@Test
+	public void testResultFromBeforeAChangeIsNotCached() {
+		// the ingredient is removed from the server while its visibility is being worked out
+		ingredientHelper.afterServerCheck = () -> {
+			ingredientHelper.onServer = false;
+			ingredientVisibility.clearCache();
+		};
+		Assertions.assertTrue(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+
+		ingredientHelper.afterServerCheck = null;
+		Assertions.assertFalse(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+		Assertions.assertEquals(2, ingredientHelper.serverChecks);
+
+		Assertions.assertFalse(ingredientVisibility.isIngredientVisible(typedIngredient, ingredientHelper));
+		Assertions.assertEquals(2, ingredientHelper.serverChecks);
+	}
+
+	private static class CountingIngredientHelper extends TestIngredientHelper {
+		private int serverChecks = 0;
+		private boolean onServer = true;
+		private @Nullable Runnable afterServerCheck;
+
+		@Override
+		public boolean isIngredientOnServer(TestIngredient ingredient) {
+			serverChecks++;
+			boolean result = onServer;
+			if (afterServerCheck != null) {
+				afterServerCheck.run();
+			}
+			return result;
+		}
+	}
+
+	private static class NullSerializer implements EditModeConfig.ISerializer {
+		@Override
+		public void initialize(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void save(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void load(EditModeConfig config) {
+
+		}
+	}
+}
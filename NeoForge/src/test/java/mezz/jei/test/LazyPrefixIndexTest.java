@@ -0,0 +1,136 @@
+package mezz.jei.test;
+
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.core.search.SearchMode;
+import mezz.jei.core.search.suffixarray.GeneralizedSuffixArray;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.search.LazyPrefixIndex;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestListElementInfo;
+import mezz.jei.test.lib.TestPlugin;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+public class LazyPrefixIndexTest {
+	/**
+	 * The number of elements that {@link LazyPrefixIndex} extracts the strings for at a time.
+	 */
+	private static final int CHUNK_SIZE = 1024;
+
+	private IIngredientManager ingredientManager;
+	private ISearchStorage<IListElementInfo<?>> storage;
+	/**
+	 * Released to let the background thread extract the strings past the first chunk.
+	 */
+	private CountDownLatch firstChunkOnly;
+	private LazyPrefixIndex lazyPrefixIndex;
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+
+		this.firstChunkOnly = new CountDownLatch(1);
+		PrefixInfo<IListElementInfo<?>> prefixInfo = new PrefixInfo<>(
+			'#',
+			() -> SearchMode.ENABLED,
+			info -> {
+				TestListElementInfo testInfo = (TestListElementInfo) info;
+				if (testInfo.getNumber() == CHUNK_SIZE) {
+					awaitUninterruptibly(firstChunkOnly);
+				}
+				return List.of("tooltip " + testInfo.getNumber());
+			},
+			GeneralizedSuffixArray::new
+		);
+		this.storage = prefixInfo.createStorage();
+		this.lazyPrefixIndex = new LazyPrefixIndex(prefixInfo, storage, () -> {});
+	}
+
+	@Test
+	public void testNothingIsIndexedUntilStarted() throws InterruptedException {
+		firstChunkOnly.countDown();
+		lazyPrefixIndex.addAll(List.copyOf(TestListElementInfo.create(ingredientManager, 0, 10)));
+		Thread.sleep(50);
+		Assertions.assertFalse(lazyPrefixIndex.update());
+		Assertions.assertEquals(Set.of(), search("tooltip"));
+
+		lazyPrefixIndex.start();
+		awaitUpdate(() -> search("tooltip").size() == 10);
+	}
+
+	@Test
+	public void testPartialResultsAreMergedByUpdate() throws InterruptedException {
+		try {
+			lazyPrefixIndex.addAll(List.copyOf(TestListElementInfo.create(ingredientManager, 0, 3 * CHUNK_SIZE)));
+			lazyPrefixIndex.start();
+
+			// the background thread is stopped at the start of the second chunk
+			awaitUpdate(() -> !search("tooltip").isEmpty());
+			Assertions.assertEquals(CHUNK_SIZE, search("tooltip").size());
+			Assertions.assertEquals(Set.of(1000), search("tooltip 1000"));
+			Assertions.assertEquals(Set.of(), search("tooltip 2000"));
+			Assertions.assertTrue(lazyPrefixIndex.statistics().startsWith("still indexing"), lazyPrefixIndex.statistics());
+		} finally {
+			firstChunkOnly.countDown();
+		}
+
+		awaitUpdate(() -> search("tooltip").size() == 3 * CHUNK_SIZE);
+		Assertions.assertEquals(Set.of(2000), search("tooltip 2000"));
+		Assertions.assertFalse(lazyPrefixIndex.update());
+
+		// elements added after starting are indexed right away
+		lazyPrefixIndex.addAll(List.copyOf(TestListElementInfo.create(ingredientManager, 5000, 1)));
+		awaitUpdate(() -> search("tooltip 5000").equals(Set.of(5000)));
+		Assertions.assertEquals(3 * CHUNK_SIZE + 1, search("tooltip").size());
+		Assertions.assertFalse(lazyPrefixIndex.statistics().startsWith("still indexing"), lazyPrefixIndex.statistics());
+	}
+
+	private Set<Integer> search(String token) {
+		Set<Integer> results = new HashSet<>();
+		storage.getSearchResults(token, infos -> {
+			for (IListElementInfo<?> info : infos) {
+				results.add(((TestListElementInfo) info).getNumber());
+			}
+		});
+		return results;
+	}
+
+	/**
+	 * Merges the finished chunks into the storage with {@link LazyPrefixIndex#update()} until the condition is met.
+	 */
+	private void awaitUpdate(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (true) {
+			lazyPrefixIndex.update();
+			if (condition.getAsBoolean()) {
+				return;
+			}
+			Assertions.assertTrue(System.nanoTime() < deadline, "timed out waiting for the search index to build");
+			Thread.sleep(1);
+		}
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
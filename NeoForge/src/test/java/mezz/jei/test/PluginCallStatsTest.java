@@ -0,0 +1,102 @@
+package mezz.jei.test;
+
+import mezz.jei.library.recipes.PluginCallStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PluginCallStatsTest {
+	private static final long BUDGET_NANOS = 1_000;
+	private static final long FAST_NANOS = 10;
+	private static final long SLOW_NANOS = 10_000;
+	/**
+	 * The number of overruns in a row that demote a plugin.
+	 */
+	private static final int DEMOTE_AFTER_OVERRUNS = 5;
+	/**
+	 * The number of calls in budget in a row that promote a demoted plugin.
+	 */
+	private static final int PROMOTE_AFTER_CALLS = 20;
+	/**
+	 * The number of calls from the client thread that are skipped before one is let through while demoted.
+	 */
+	private static final int PROBE_AFTER_SKIPPED_CALLS = 10;
+
+	@Test
+	public void testDemotedAfterOverrunsInARow() {
+		PluginCallStats stats = new PluginCallStats("test", true);
+		for (int i = 0; i < DEMOTE_AFTER_OVERRUNS - 1; i++) {
+			Assertions.assertFalse(stats.recordCall(SLOW_NANOS, BUDGET_NANOS, false));
+		}
+		// a call in budget starts the count again
+		Assertions.assertFalse(stats.recordCall(FAST_NANOS, BUDGET_NANOS, false));
+		for (int i = 0; i < DEMOTE_AFTER_OVERRUNS - 1; i++) {
+			Assertions.assertFalse(stats.recordCall(SLOW_NANOS, BUDGET_NANOS, false));
+		}
+		Assertions.assertFalse(stats.isDemoted());
+		Assertions.assertFalse(stats.trySkipCall());
+
+		Assertions.assertTrue(stats.recordCall(SLOW_NANOS, BUDGET_NANOS, true));
+		Assertions.assertTrue(stats.isDemoted());
+		Assertions.assertTrue(stats.trySkipCall());
+		// it is only reported once
+		Assertions.assertFalse(stats.recordCall(SLOW_NANOS, BUDGET_NANOS, false));
+	}
+
+	@Test
+	public void testNeverDemotedWhenDemotionIsDisabled() {
+		PluginCallStats stats = new PluginCallStats("test", false);
+		for (int i = 0; i < 10 * DEMOTE_AFTER_OVERRUNS; i++) {
+			Assertions.assertFalse(stats.recordCall(SLOW_NANOS, BUDGET_NANOS, false));
+		}
+		Assertions.assertFalse(stats.isDemoted());
+		Assertions.assertFalse(stats.trySkipCall());
+		Assertions.assertTrue(stats.getSummary().contains(10 * DEMOTE_AFTER_OVERRUNS + " over budget"), stats.getSummary());
+	}
+
+	@Test
+	public void testSkippedCallsAreProbedUntilPromoted() {
+		PluginCallStats stats = new PluginCallStats("test", true);
+		demote(stats);
+
+		int skipped = 0;
+		int probes = 0;
+		while (stats.isDemoted()) {
+			if (stats.trySkipCall()) {
+				skipped++;
+			} else {
+				// the probe is let through and is fast now
+				probes++;
+				stats.recordCall(FAST_NANOS, BUDGET_NANOS, false);
+			}
+			Assertions.assertTrue(probes <= PROMOTE_AFTER_CALLS, "the plugin was never promoted");
+		}
+		Assertions.assertEquals(PROMOTE_AFTER_CALLS, probes);
+		Assertions.assertEquals(PROMOTE_AFTER_CALLS * PROBE_AFTER_SKIPPED_CALLS, skipped);
+		Assertions.assertFalse(stats.trySkipCall());
+		Assertions.assertTrue(stats.getSummary().contains(skipped + " skipped"), stats.getSummary());
+	}
+
+	@Test
+	public void testSlowProbeKeepsThePluginDemoted() {
+		PluginCallStats stats = new PluginCallStats("test", true);
+		demote(stats);
+
+		for (int i = 0; i < PROMOTE_AFTER_CALLS - 1; i++) {
+			stats.recordCall(FAST_NANOS, BUDGET_NANOS, false);
+		}
+		Assertions.assertFalse(stats.recordCall(SLOW_NANOS, BUDGET_NANOS, false));
+		Assertions.assertTrue(stats.isDemoted());
+
+		for (int i = 0; i < PROMOTE_AFTER_CALLS; i++) {
+			stats.recordCall(FAST_NANOS, BUDGET_NANOS, false);
+		}
+		Assertions.assertFalse(stats.isDemoted());
+	}
+
+	private static void demote(PluginCallStats stats) {
+		for (int i = 0; i < DEMOTE_AFTER_OVERRUNS; i++) {
+			stats.recordCall(SLOW_NANOS, BUDGET_NANOS, false);
+		}
+		Assertions.assertTrue(stats.isDemoted());
+	}
+}
@@ -0,0 +1,146 @@
+package mezz.jei.test;
+
+import mezz.jei.api.IModPlugin;
+import mezz.jei.api.constants.ModIds;
+import mezz.jei.core.util.StartupProfiler;
+import mezz.jei.library.load.PluginCaller;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+public class PluginCallerTest {
+	private static final String TITLE = "Registering recipes";
+
+	@Test
+	public void testContextsAreFinishedInPluginOrder() {
+		List<IModPlugin> plugins = new ArrayList<>(List.of(
+			new TestModPlugin("a", true),
+			new TestModPlugin("b", false),
+			new TestModPlugin("c", true),
+			new TestModPlugin("d", true)
+		));
+		// the first plugins take the longest, so the worker threads finish them last
+		List<String> finished = callOnPlugins(plugins, (plugin, registration) -> {
+			sleep(plugin.name.equals("a") ? 50 : plugin.name.equals("c") ? 20 : 0);
+			registration.add(plugin);
+		});
+
+		Assertions.assertEquals(List.of("a", "b", "c", "d"), finished);
+		Assertions.assertEquals(4, plugins.size());
+	}
+
+	@Test
+	public void testOnlyThreadSafePluginsRunOnWorkerThreads() {
+		Thread callingThread = Thread.currentThread();
+		List<IModPlugin> plugins = new ArrayList<>(List.of(
+			new TestModPlugin("safe", true),
+			new TestModPlugin("unsafe", false)
+		));
+		List<String> finished = callOnPlugins(plugins, (plugin, registration) -> {
+			boolean onCallingThread = Thread.currentThread() == callingThread;
+			Assertions.assertEquals(!plugin.threadSafe, onCallingThread, plugin.name);
+			registration.add(plugin);
+		});
+
+		Assertions.assertEquals(List.of("safe", "unsafe"), finished);
+	}
+
+	@Test
+	public void testErroredPluginsAreRemovedAndKeepTheirRegistrations() {
+		TestModPlugin crashingThreadSafe = new TestModPlugin("crashingThreadSafe", true);
+		TestModPlugin crashing = new TestModPlugin("crashing", false);
+		List<IModPlugin> plugins = new ArrayList<>(List.of(
+			new TestModPlugin("a", true),
+			crashingThreadSafe,
+			crashing,
+			new TestModPlugin("b", false)
+		));
+		List<String> finished = callOnPlugins(plugins, (plugin, registration) -> {
+			registration.add(plugin);
+			if (plugin == crashingThreadSafe || plugin == crashing) {
+				throw new IllegalStateException("test crash");
+			}
+		});
+
+		Assertions.assertEquals(List.of("a", "crashingThreadSafe", "crashing", "b"), finished);
+		Assertions.assertEquals(2, plugins.size());
+		Assertions.assertFalse(plugins.contains(crashingThreadSafe));
+		Assertions.assertFalse(plugins.contains(crashing));
+	}
+
+	@Test
+	public void testNoThreadSafePlugins() {
+		List<IModPlugin> plugins = new ArrayList<>(List.of(
+			new TestModPlugin("a", false),
+			new TestModPlugin("b", false)
+		));
+		List<String> finished = callOnPlugins(plugins, (plugin, registration) -> registration.add(plugin));
+
+		Assertions.assertEquals(List.of("a", "b"), finished);
+	}
+
+	/**
+	 * @return the names registered by each plugin, in the order that their registrations were finished.
+	 */
+	private static List<String> callOnPlugins(List<IModPlugin> plugins, BiConsumer<TestModPlugin, TestRegistration> func) {
+		List<String> finished = new ArrayList<>();
+		Thread callingThread = Thread.currentThread();
+		PluginCaller.callOnPluginsConcurrently(
+			TITLE,
+			plugins,
+			IModPlugin::isRecipeRegistrationThreadSafe,
+			TestRegistration::new,
+			(plugin, registration) -> func.accept((TestModPlugin) plugin, registration),
+			registration -> {
+				Assertions.assertSame(callingThread, Thread.currentThread(), "registrations must be finished on the calling thread");
+				if (registration.name != null) {
+					finished.add(registration.name);
+				}
+			},
+			StartupProfiler.disabled()
+		);
+		return finished;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class TestRegistration {
+		private @Nullable String name;
+
+		public void add(TestModPlugin plugin) {
+			this.name = plugin.name;
+		}
+	}
+
+	private static class TestModPlugin implements IModPlugin {
+		private final String name;
+		private final boolean threadSafe;
+
+		public TestModPlugin(String name, boolean threadSafe) {
+			this.name = name;
+			this.threadSafe = threadSafe;
+		}
+
+		@Override
+		public ResourceLocation getPluginUid() {
+			return ResourceLocation.fromNamespaceAndPath(ModIds.JEI_ID, name.toLowerCase(Locale.ROOT));
+		}
+
+		@Override
+		public boolean isRecipeRegistrationThreadSafe() {
+			return threadSafe;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package mezz.jei.test;
+
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.focus.Focus;
+import mezz.jei.library.focus.FocusGroup;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.library.recipes.RecipeLookupCache;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import mezz.jei.test.lib.TestRecipe;
+import mezz.jei.test.lib.TestRecipeCategory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class RecipeLookupCacheTest {
+	private static final RecipeType<TestRecipe> OTHER_TYPE = RecipeType.create("jei_test", "other", TestRecipe.class);
+	private static final TestRecipe RECIPE = new TestRecipe(null, new TestIngredient(1));
+
+	private IIngredientManager ingredientManager;
+	private RecipeLookupCache lookupCache;
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+		this.lookupCache = new RecipeLookupCache(ingredientManager);
+	}
+
+	@Test
+	public void testFocusesForTheSameIngredientShareEntries() {
+		RecipeLookupCache.FocusKey focusKey = lookupCache.createKey(createInputFocus(1));
+		Assertions.assertEquals(focusKey, lookupCache.createKey(createInputFocus(1)));
+		Assertions.assertNotEquals(focusKey, lookupCache.createKey(createInputFocus(2)));
+
+		lookupCache.putRecipes(lookupCache.getGeneration(), focusKey, TestRecipeCategory.TYPE, false, List.of(RECIPE));
+		RecipeLookupCache.FocusKey sameIngredient = lookupCache.createKey(createInputFocus(1));
+		Assertions.assertEquals(List.of(RECIPE), lookupCache.getRecipes(sameIngredient, TestRecipeCategory.TYPE, false));
+		Assertions.assertNull(lookupCache.getRecipes(sameIngredient, TestRecipeCategory.TYPE, true));
+	}
+
+	@Test
+	public void testResultsFromBeforeAChangeAreNotCached() {
+		RecipeLookupCache.FocusKey focusKey = lookupCache.createKey(createInputFocus(1));
+
+		int generation = lookupCache.getGeneration();
+		// recipes are added while the lookup is running
+		lookupCache.onRecipesAdded(OTHER_TYPE);
+		lookupCache.putRecipes(generation, focusKey, TestRecipeCategory.TYPE, false, List.of(RECIPE));
+		lookupCache.putVisibleCategories(generation, focusKey, Set.of(TestRecipeCategory.TYPE), List.of(new TestRecipeCategory()));
+		Assertions.assertNull(lookupCache.getRecipes(focusKey, TestRecipeCategory.TYPE, false));
+		Assertions.assertNull(lookupCache.getVisibleCategories(focusKey));
+
+		generation = lookupCache.getGeneration();
+		lookupCache.putRecipes(generation, focusKey, TestRecipeCategory.TYPE, false, List.of(RECIPE));
+		Assertions.assertEquals(List.of(RECIPE), lookupCache.getRecipes(focusKey, TestRecipeCategory.TYPE, false));
+	}
+
+	@Test
+	public void testChangesOnlyRemoveTheEntriesThatDependOnThem() {
+		RecipeLookupCache.FocusKey focusKey = lookupCache.createKey(createInputFocus(1));
+		List<IRecipeCategory<?>> categories = List.of(new TestRecipeCategory());
+		int generation = lookupCache.getGeneration();
+		lookupCache.putRecipes(generation, focusKey, TestRecipeCategory.TYPE, false, List.of(RECIPE));
+		lookupCache.putRecipes(generation, focusKey, OTHER_TYPE, false, List.of(RECIPE));
+		lookupCache.putVisibleCategories(generation, focusKey, Set.of(TestRecipeCategory.TYPE), categories);
+
+		lookupCache.onRecipeCategoryVisibilityChanged(OTHER_TYPE);
+		Assertions.assertEquals(categories, lookupCache.getVisibleCategories(focusKey));
+
+		lookupCache.onRecipeVisibilityChanged(OTHER_TYPE);
+		Assertions.assertNull(lookupCache.getRecipes(focusKey, OTHER_TYPE, false));
+		Assertions.assertEquals(List.of(RECIPE), lookupCache.getRecipes(focusKey, TestRecipeCategory.TYPE, false));
+		Assertions.assertEquals(categories, lookupCache.getVisibleCategories(focusKey));
+
+		lookupCache.onIngredientVisibilityChanged();
+		Assertions.assertNull(lookupCache.getVisibleCategories(focusKey));
+		Assertions.assertEquals(List.of(RECIPE), lookupCache.getRecipes(focusKey, TestRecipeCategory.TYPE, false));
+
+		lookupCache.onRecipesAdded(TestRecipeCategory.TYPE);
+		Assertions.assertNull(lookupCache.getRecipes(focusKey, TestRecipeCategory.TYPE, false));
+	}
+
+	private IFocusGroup createInputFocus(int inputNumber) {
+		IFocus<TestIngredient> focus = Focus.createFromApi(ingredientManager, RecipeIngredientRole.INPUT, TestIngredient.TYPE, new TestIngredient(inputNumber));
+		return FocusGroup.create(List.of(focus), ingredientManager);
+	}
+}
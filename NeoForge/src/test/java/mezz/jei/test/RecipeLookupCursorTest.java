@@ -0,0 +1,133 @@
+package mezz.jei.test;
+
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.IRecipeLookup;
+import mezz.jei.api.recipe.IRecipeLookupCursor;
+import mezz.jei.library.recipes.RecipeLookupCursor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class RecipeLookupCursorTest {
+	private static final List<String> RECIPES = IntStream.range(0, 10)
+		.mapToObj(i -> "recipe " + i)
+		.toList();
+
+	@Test
+	public void testRecipesAreOnlyFoundAsTheyAreNeeded() {
+		CountingIterator recipes = new CountingIterator(RECIPES.iterator());
+		RecipeLookupCursor<String> cursor = new RecipeLookupCursor<>(recipes);
+		assertFindsRecipesAsNeeded(cursor, recipes::getCount);
+	}
+
+	@Test
+	public void testDefaultCursorUsesTheLookupResults() {
+		AtomicInteger found = new AtomicInteger();
+		IRecipeLookup<String> lookup = new StreamRecipeLookup(() -> RECIPES.stream().peek(r -> found.incrementAndGet()));
+		assertFindsRecipesAsNeeded(lookup.getCursor(), found::get);
+	}
+
+	@Test
+	public void testInvalidRanges() {
+		RecipeLookupCursor<String> cursor = new RecipeLookupCursor<>(RECIPES.iterator());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> cursor.getRecipes(-1, 1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> cursor.getRecipes(0, -1));
+		Assertions.assertEquals(RECIPES, cursor.getRecipes(0, Integer.MAX_VALUE));
+		Assertions.assertEquals(List.of(), cursor.getRecipes(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+		IRecipeLookupCursor<String> defaultCursor = new StreamRecipeLookup(RECIPES::stream).getCursor();
+		Assertions.assertThrows(IllegalArgumentException.class, () -> defaultCursor.getRecipes(-1, 1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> defaultCursor.getRecipes(0, -1));
+		Assertions.assertEquals(RECIPES, defaultCursor.getRecipes(0, Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testOnCompleteIsCalledOnceWithAllTheRecipes() {
+		List<List<String>> completed = new ArrayList<>();
+		RecipeLookupCursor<String> cursor = new RecipeLookupCursor<>(RECIPES.iterator(), completed::add);
+		cursor.getRecipes(0, RECIPES.size() - 1);
+		Assertions.assertEquals(List.of(), completed);
+
+		cursor.getRecipes(0, RECIPES.size());
+		Assertions.assertTrue(cursor.isComplete());
+		cursor.getRecipeCount();
+		Assertions.assertEquals(List.of(RECIPES), completed);
+	}
+
+	private static void assertFindsRecipesAsNeeded(IRecipeLookupCursor<String> cursor, CountSupplier foundFromLookup) {
+		Assertions.assertEquals(0, cursor.getFoundCount());
+		Assertions.assertEquals(0, foundFromLookup.getCount());
+
+		Assertions.assertEquals(RECIPES.subList(0, 3), cursor.getRecipes(0, 3));
+		Assertions.assertEquals(3, cursor.getFoundCount());
+		Assertions.assertEquals(3, foundFromLookup.getCount());
+
+		// going back does not look up anything again
+		Assertions.assertEquals(RECIPES.subList(1, 2), cursor.getRecipes(1, 1));
+		Assertions.assertEquals(3, foundFromLookup.getCount());
+		Assertions.assertFalse(cursor.isComplete());
+
+		Assertions.assertEquals(RECIPES.subList(8, 10), cursor.getRecipes(8, 5));
+		Assertions.assertEquals(List.of(), cursor.getRecipes(20, 5));
+		Assertions.assertTrue(cursor.isComplete());
+		Assertions.assertEquals(RECIPES.size(), cursor.getRecipeCount());
+		Assertions.assertEquals(RECIPES.size(), foundFromLookup.getCount());
+	}
+
+	@FunctionalInterface
+	private interface CountSupplier {
+		int getCount();
+	}
+
+	private static class CountingIterator implements Iterator<String> {
+		private final Iterator<String> iterator;
+		private int count = 0;
+
+		public CountingIterator(Iterator<String> iterator) {
+			this.iterator = iterator;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public String next() {
+			count++;
+			return iterator.next();
+		}
+	}
+
+	/**
+	 * A lookup from before {@link IRecipeLookup#getCursor()} was added, which only implements {@link IRecipeLookup#get()}.
+	 */
+	private record StreamRecipeLookup(Supplier<Stream<String>> recipes) implements IRecipeLookup<String> {
+		@Override
+		public IRecipeLookup<String> limitFocus(Collection<? extends IFocus<?>> focuses) {
+			return this;
+		}
+
+		@Override
+		public IRecipeLookup<String> includeHidden() {
+			return this;
+		}
+
+		@Override
+		public Stream<String> get() {
+			return recipes.get();
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package mezz.jei.test;
+
+import com.google.common.collect.ImmutableListMultimap;
+import mezz.jei.api.constants.ModIds;
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.config.EditModeConfig;
+import mezz.jei.library.config.RecipeCategorySortingConfig;
+import mezz.jei.library.focus.Focus;
+import mezz.jei.library.focus.FocusGroup;
+import mezz.jei.library.ingredients.IngredientBlacklistInternal;
+import mezz.jei.library.ingredients.IngredientVisibility;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.library.recipes.PluginCallLimits;
+import mezz.jei.library.recipes.RecipeManagerInternal;
+import mezz.jei.library.recipes.collect.RecipeTypeData;
+import mezz.jei.test.lib.TestClientToggleState;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import mezz.jei.test.lib.TestRecipe;
+import mezz.jei.test.lib.TestRecipeCategory;
+import net.minecraft.resources.ResourceLocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class RecipeRegistryNameTest {
+	private static final TestRecipe RECIPE_A = createRecipe("a", 0);
+	private static final TestRecipe RECIPE_B = createRecipe("b", 1);
+	private static final TestRecipe RECIPE_C = createRecipe("c", 0);
+	private static final TestRecipe UNNAMED_RECIPE = new TestRecipe(null, new TestIngredient(1));
+
+	@TempDir
+	public Path tempDir;
+
+	private IIngredientManager ingredientManager;
+
+	@Test
+	public void testRecipeTypeDataFindsRecipes() {
+		RecipeTypeData<TestRecipe> recipeTypeData = new RecipeTypeData<>(new TestRecipeCategory(), List.of());
+		recipeTypeData.addRecipes(List.of(RECIPE_A, RECIPE_B, UNNAMED_RECIPE));
+
+		Assertions.assertSame(RECIPE_A, recipeTypeData.getRecipeByRegistryName(RECIPE_A.registryName()));
+		Assertions.assertSame(RECIPE_B, recipeTypeData.getRecipeByRegistryName(RECIPE_B.registryName()));
+		Assertions.assertNull(recipeTypeData.getRecipeByRegistryName(createName("missing")));
+	}
+
+	@Test
+	public void testRecipeTypeDataFindsRecipesAddedAfterIndexing() {
+		RecipeTypeData<TestRecipe> recipeTypeData = new RecipeTypeData<>(new TestRecipeCategory(), List.of());
+		recipeTypeData.addRecipes(List.of(RECIPE_A));
+		// builds the index
+		Assertions.assertNull(recipeTypeData.getRecipeByRegistryName(RECIPE_C.registryName()));
+
+		recipeTypeData.addRecipes(List.of(RECIPE_C));
+		Assertions.assertSame(RECIPE_C, recipeTypeData.getRecipeByRegistryName(RECIPE_C.registryName()));
+		Assertions.assertSame(RECIPE_A, recipeTypeData.getRecipeByRegistryName(RECIPE_A.registryName()));
+	}
+
+	@Test
+	public void testRecipeTypeDataKeepsTheFirstRecipeWithAName() {
+		TestRecipe duplicate = createRecipe("a", 1);
+		RecipeTypeData<TestRecipe> recipeTypeData = new RecipeTypeData<>(new TestRecipeCategory(), List.of());
+		recipeTypeData.addRecipes(List.of(RECIPE_A));
+		Assertions.assertSame(RECIPE_A, recipeTypeData.getRecipeByRegistryName(RECIPE_A.registryName()));
+
+		recipeTypeData.addRecipes(List.of(duplicate));
+		Assertions.assertSame(RECIPE_A, recipeTypeData.getRecipeByRegistryName(RECIPE_A.registryName()));
+	}
+
+	@Test
+	public void testRecipeManagerFindsRecipes() {
+		RecipeManagerInternal recipeManager = createRecipeManager(false);
+		recipeManager.addRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_A, RECIPE_B, UNNAMED_RECIPE));
+
+		Assertions.assertEquals(Optional.of(RECIPE_A), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_A.registryName()));
+		Assertions.assertEquals(Optional.of(RECIPE_B), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_B.registryName()));
+		Assertions.assertEquals(Optional.empty(), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, createName("missing")));
+
+		recipeManager.addRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_C));
+		Assertions.assertEquals(Optional.of(RECIPE_C), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_C.registryName()));
+	}
+
+	@Test
+	public void testRecipeManagerDoesNotFindHiddenRecipes() {
+		RecipeManagerInternal recipeManager = createRecipeManager(false);
+		recipeManager.addRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_A));
+
+		recipeManager.hideRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_A));
+		Assertions.assertEquals(Optional.empty(), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_A.registryName()));
+
+		recipeManager.unhideRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_A));
+		Assertions.assertEquals(Optional.of(RECIPE_A), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_A.registryName()));
+	}
+
+	@Test
+	public void testLazyRecipeManagerFindsRecipesBeforeAndAfterIndexing() {
+		RecipeManagerInternal recipeManager = createRecipeManager(true);
+		recipeManager.addRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_A, UNNAMED_RECIPE));
+
+		// not indexed yet
+		Assertions.assertEquals(Optional.of(RECIPE_A), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_A.registryName()));
+		Assertions.assertEquals(Optional.empty(), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_B.registryName()));
+
+		// indexes the recipes
+		List<TestRecipe> recipes = recipeManager.getRecipesStream(TestRecipeCategory.TYPE, FocusGroup.EMPTY, false).toList();
+		Assertions.assertEquals(List.of(RECIPE_A, UNNAMED_RECIPE), recipes);
+		Assertions.assertEquals(Optional.of(RECIPE_A), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_A.registryName()));
+
+		// added after indexing, pending again until the next lookup
+		recipeManager.addRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_B));
+		Assertions.assertEquals(Optional.of(RECIPE_B), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_B.registryName()));
+		Assertions.assertEquals(3, recipeManager.getRecipesStream(TestRecipeCategory.TYPE, FocusGroup.EMPTY, false).count());
+		Assertions.assertEquals(Optional.of(RECIPE_B), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_B.registryName()));
+		Assertions.assertEquals(Optional.empty(), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, createName("missing")));
+	}
+
+	@Test
+	public void testLazyRecipeManagerOnlyIndexesRecipeTypesWithTheFocus() {
+		RecipeManagerInternal recipeManager = createRecipeManager(true);
+		recipeManager.addRecipes(TestRecipeCategory.TYPE, List.of(RECIPE_A, RECIPE_B));
+
+		IFocusGroup otherFocus = createInputFocus(2);
+		Assertions.assertEquals(List.of(), recipeManager.getRecipeCategoriesForTypes(List.of(), otherFocus, false).toList());
+		// not indexed by a focus that none of the recipes contain
+		Assertions.assertEquals(Optional.of(RECIPE_A), recipeManager.getRecipeByRegistryName(TestRecipeCategory.TYPE, RECIPE_A.registryName()));
+
+		IFocusGroup focus = createInputFocus(1);
+		List<RecipeType<?>> recipeTypes = recipeManager.getRecipeCategoriesForTypes(List.of(), focus, false)
+			.<RecipeType<?>>map(IRecipeCategory::getRecipeType)
+			.toList();
+		Assertions.assertEquals(List.of(TestRecipeCategory.TYPE), recipeTypes);
+		Assertions.assertEquals(List.of(RECIPE_B), recipeManager.getRecipesStream(TestRecipeCategory.TYPE, focus, false).toList());
+	}
+
+	private IFocusGroup createInputFocus(int inputNumber) {
+		IFocus<TestIngredient> focus = Focus.createFromApi(ingredientManager, RecipeIngredientRole.INPUT, TestIngredient.TYPE, new TestIngredient(inputNumber));
+		return FocusGroup.create(List.of(focus), ingredientManager);
+	}
+
+	private RecipeManagerInternal createRecipeManager(boolean lazyRecipeIndexing) {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+
+		EditModeConfig editModeConfig = new EditModeConfig(new NullSerializer(), ingredientManager);
+		IngredientVisibility ingredientVisibility = new IngredientVisibility(new IngredientBlacklistInternal(), new TestClientToggleState(), editModeConfig, ingredientManager);
+
+		List<IRecipeCategory<?>> recipeCategories = List.of(new TestRecipeCategory());
+		return new RecipeManagerInternal(
+			recipeCategories,
+			ImmutableListMultimap.of(),
+			ImmutableListMultimap.of(),
+			ingredientManager,
+			List.of(),
+			new RecipeCategorySortingConfig(tempDir.resolve("recipe-category-sort-order.ini")),
+			ingredientVisibility,
+			false,
+			lazyRecipeIndexing,
+			new PluginCallLimits(Duration.ofSeconds(1), Duration.ZERO, false)
+		);
+	}
+
+	private static TestRecipe createRecipe(String name, int inputNumber) {
+		return new TestRecipe(createName(name), new TestIngredient(inputNumber));
+	}
+
+	private static ResourceLocation createName(String name) {
+		return ResourceLocation.fromNamespaceAndPath(ModIds.JEI_ID, "test_recipe_" + name);
+	}
+
+	private static class NullSerializer implements EditModeConfig.ISerializer {
+		@Override
+		public void initialize(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void save(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void load(EditModeConfig config) {
+
+		}
+	}
+}
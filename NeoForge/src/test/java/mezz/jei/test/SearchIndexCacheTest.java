@@ -0,0 +1,172 @@
+package mezz.jei.test;
+
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.search.ElementPrefixParser;
+import mezz.jei.gui.search.SearchIndexCache;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredientFilterConfig;
+import mezz.jei.test.lib.TestListElementInfo;
+import mezz.jei.test.lib.TestModIdHelper;
+import mezz.jei.test.lib.TestPlugin;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SearchIndexCacheTest {
+	private static final int ELEMENT_COUNT = 100;
+	private static final List<String> GAME_ENVIRONMENT = List.of("jei 1.0", "en_us", "vanilla");
+
+	@TempDir
+	public Path tempDir;
+
+	private IIngredientManager ingredientManager;
+	private ElementPrefixParser elementPrefixParser;
+	private Path path;
+	private Path colorConfigPath;
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		TestColorHelper colorHelper = new TestColorHelper();
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, colorHelper);
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, new TestIngredientFilterConfig(), colorHelper, new TestModIdHelper());
+		this.path = tempDir.resolve("search-index-cache.bin");
+		this.colorConfigPath = tempDir.resolve("jei-colors.ini");
+	}
+
+	@Test
+	public void testKeyDoesNotDependOnOrder() {
+		List<IListElementInfo<?>> infos = createInfos(0, ELEMENT_COUNT);
+		List<IListElementInfo<?>> reversed = new ArrayList<>(createInfos(0, ELEMENT_COUNT));
+		Collections.reverse(reversed);
+
+		SearchIndexCache searchIndexCache = createCache(GAME_ENVIRONMENT);
+		SearchIndexCache.CacheKey key = searchIndexCache.createKey(infos);
+		SearchIndexCache.CacheKey reversedKey = searchIndexCache.createKey(reversed);
+		Assertions.assertEquals(key.fingerprint(), reversedKey.fingerprint());
+		Assertions.assertEquals(getNumbers(key.elements()), getNumbers(reversedKey.elements()));
+	}
+
+	@Test
+	public void testKeyChangesWhenInputsChange() throws IOException {
+		List<IListElementInfo<?>> infos = createInfos(0, ELEMENT_COUNT);
+		SearchIndexCache.CacheKey key = createCache(GAME_ENVIRONMENT).createKey(infos);
+
+		SearchIndexCache.CacheKey otherElements = createCache(GAME_ENVIRONMENT).createKey(createInfos(1, ELEMENT_COUNT));
+		Assertions.assertNotEquals(key.fingerprint(), otherElements.fingerprint());
+
+		SearchIndexCache.CacheKey otherEnvironment = createCache(List.of("jei 1.1", "en_us", "vanilla")).createKey(infos);
+		Assertions.assertNotEquals(key.fingerprint(), otherEnvironment.fingerprint());
+
+		Files.writeString(colorConfigPath, "white=FFFFFF", StandardCharsets.UTF_8);
+		SearchIndexCache.CacheKey otherColors = createCache(GAME_ENVIRONMENT).createKey(infos);
+		Assertions.assertNotEquals(key.fingerprint(), otherColors.fingerprint());
+	}
+
+	@Test
+	public void testSaveAndLoad() {
+		SearchIndexCache searchIndexCache = createCache(GAME_ENVIRONMENT);
+		SearchIndexCache.CacheKey key = searchIndexCache.createKey(createInfos(0, ELEMENT_COUNT));
+		Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> storages = buildStorages(searchIndexCache, key.elements());
+		searchIndexCache.save(key, storages);
+
+		// the next launch has new elements with the same uids
+		SearchIndexCache.CacheKey loadedKey = searchIndexCache.createKey(createInfos(0, ELEMENT_COUNT));
+		Assertions.assertEquals(key.fingerprint(), loadedKey.fingerprint());
+		Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> loaded = searchIndexCache.load(loadedKey, elementPrefixParser.allPrefixInfos());
+		Assertions.assertEquals(storages.keySet(), loaded.keySet());
+
+		for (PrefixInfo<IListElementInfo<?>> prefixInfo : storages.keySet()) {
+			ISearchStorage<IListElementInfo<?>> loadedStorage = loaded.get(prefixInfo);
+			for (String token : List.of("test", "42", "jei_test_mod", "test ingredient 7")) {
+				Assertions.assertEquals(search(storages.get(prefixInfo), token), search(loadedStorage, token), prefixInfo + " " + token);
+			}
+			Set<IListElementInfo<?>> allElements = new HashSet<>();
+			loadedStorage.getAllElements(allElements::addAll);
+			Assertions.assertTrue(loadedKey.elements().containsAll(allElements), prefixInfo.toString());
+		}
+	}
+
+	@Test
+	public void testOutOfDateCacheIsIgnored() {
+		SearchIndexCache searchIndexCache = createCache(GAME_ENVIRONMENT);
+		SearchIndexCache.CacheKey key = searchIndexCache.createKey(createInfos(0, ELEMENT_COUNT));
+		searchIndexCache.save(key, buildStorages(searchIndexCache, key.elements()));
+
+		SearchIndexCache.CacheKey otherKey = searchIndexCache.createKey(createInfos(0, ELEMENT_COUNT + 1));
+		Assertions.assertEquals(Map.of(), searchIndexCache.load(otherKey, elementPrefixParser.allPrefixInfos()));
+	}
+
+	@Test
+	public void testCorruptHeaderIsIgnored() throws IOException {
+		SearchIndexCache searchIndexCache = createCache(GAME_ENVIRONMENT);
+		SearchIndexCache.CacheKey key = searchIndexCache.createKey(createInfos(0, ELEMENT_COUNT));
+
+		Files.writeString(path, "not a search index cache", StandardCharsets.UTF_8);
+		Assertions.assertEquals(Map.of(), searchIndexCache.load(key, elementPrefixParser.allPrefixInfos()));
+
+		Files.write(path, new byte[]{0x4A, 0x45});
+		Assertions.assertEquals(Map.of(), searchIndexCache.load(key, elementPrefixParser.allPrefixInfos()));
+	}
+
+	private SearchIndexCache createCache(List<String> gameEnvironment) {
+		return new SearchIndexCache(path, colorConfigPath, ingredientManager, new TestIngredientFilterConfig(), () -> gameEnvironment);
+	}
+
+	private List<IListElementInfo<?>> createInfos(int start, int count) {
+		return List.copyOf(TestListElementInfo.create(ingredientManager, start, count));
+	}
+
+	private Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> buildStorages(SearchIndexCache searchIndexCache, List<IListElementInfo<?>> elements) {
+		Map<PrefixInfo<IListElementInfo<?>>, ISearchStorage<IListElementInfo<?>>> storages = new IdentityHashMap<>();
+		for (PrefixInfo<IListElementInfo<?>> prefixInfo : elementPrefixParser.allPrefixInfos()) {
+			if (searchIndexCache.isCacheable(prefixInfo)) {
+				ISearchStorage<IListElementInfo<?>> storage = prefixInfo.createStorage();
+				for (IListElementInfo<?> element : elements) {
+					for (String string : prefixInfo.getStrings(element)) {
+						storage.put(string, element);
+					}
+				}
+				storage.compact();
+				storages.put(prefixInfo, storage);
+			}
+		}
+		return storages;
+	}
+
+	private static Set<Integer> search(ISearchStorage<IListElementInfo<?>> storage, String token) {
+		Set<IListElementInfo<?>> results = new HashSet<>();
+		storage.getSearchResults(token, results::addAll);
+		return new HashSet<>(getNumbers(results));
+	}
+
+	private static List<Integer> getNumbers(Collection<IListElementInfo<?>> infos) {
+		List<Integer> numbers = new ArrayList<>();
+		for (IListElementInfo<?> info : infos) {
+			numbers.add(((TestListElementInfo) info).getNumber());
+		}
+		return numbers;
+	}
+}
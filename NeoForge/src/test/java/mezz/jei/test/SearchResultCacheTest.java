@@ -0,0 +1,176 @@
+package mezz.jei.test;
+
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.search.ElementPrefixParser;
+import mezz.jei.gui.search.ElementSearch;
+import mezz.jei.gui.search.IElementSearch;
+import mezz.jei.gui.search.SearchResultCache;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredientFilterConfig;
+import mezz.jei.test.lib.TestListElementInfo;
+import mezz.jei.test.lib.TestModIdHelper;
+import mezz.jei.test.lib.TestPlugin;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class SearchResultCacheTest {
+	private static final int ELEMENT_COUNT = 200;
+	/**
+	 * The number of tokens that {@link SearchResultCache} keeps results for.
+	 */
+	private static final int MAX_CACHED_TOKENS = 128;
+
+	private ElementPrefixParser elementPrefixParser;
+	private RecordingElementSearch elementSearch;
+	private SearchResultCache searchResultCache;
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		TestColorHelper colorHelper = new TestColorHelper();
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, colorHelper);
+		new TestPlugin().registerIngredients(ingredientManagerBuilder);
+		IIngredientManager ingredientManager = ingredientManagerBuilder.build();
+
+		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, new TestIngredientFilterConfig(), colorHelper, new TestModIdHelper());
+		this.elementSearch = new RecordingElementSearch(new ElementSearch(elementPrefixParser));
+		List<TestListElementInfo> infos = TestListElementInfo.create(ingredientManager, 0, ELEMENT_COUNT);
+		for (TestListElementInfo info : infos) {
+			info.setSortedIndex(info.getNumber());
+		}
+		this.elementSearch.addAll(List.copyOf(infos));
+
+		this.searchResultCache = new SearchResultCache(elementPrefixParser);
+		this.searchResultCache.onSortedIndexesChanged(ELEMENT_COUNT);
+	}
+
+	@Test
+	public void testCachedTokensAreNotSearchedAgain() {
+		Assertions.assertEquals(Set.of(199), getTokenResults("&test_ingredient_199"));
+		Assertions.assertEquals(Set.of(199), getTokenResults("&test_ingredient_199"));
+		Assertions.assertEquals(List.of("test_ingredient_199"), elementSearch.searchedTokens);
+	}
+
+	@Test
+	public void testLongerTokensNarrowTheCachedResults() {
+		Set<Integer> shorterResults = getTokenResults("&test_ingredient_1");
+		Assertions.assertEquals(111, shorterResults.size());
+
+		Assertions.assertEquals(Set.of(199), getTokenResults("&test_ingredient_199"));
+		Assertions.assertEquals(shorterResults, elementSearch.lastCandidates);
+
+		// a token with a different prefix can't be narrowed down from these results
+		elementSearch.lastCandidates = null;
+		Assertions.assertEquals(Set.of(199), getTokenResults("test ingredient 199"));
+		Assertions.assertNull(elementSearch.lastCandidates);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedTokensAreEvicted() {
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i <= MAX_CACHED_TOKENS; i++) {
+			tokens.add("&test_ingredient_" + i + "x");
+		}
+		for (int i = 0; i < MAX_CACHED_TOKENS; i++) {
+			getTokenResults(tokens.get(i));
+		}
+		// using the first token makes the second one the least recently used
+		getTokenResults(tokens.getFirst());
+		getTokenResults(tokens.get(MAX_CACHED_TOKENS));
+		Assertions.assertEquals(MAX_CACHED_TOKENS + 1, elementSearch.searchedTokens.size());
+
+		getTokenResults(tokens.getFirst());
+		Assertions.assertEquals(MAX_CACHED_TOKENS + 1, elementSearch.searchedTokens.size());
+
+		getTokenResults(tokens.get(1));
+		Assertions.assertEquals(MAX_CACHED_TOKENS + 2, elementSearch.searchedTokens.size());
+	}
+
+	@Test
+	public void testIntersection() {
+		List<ElementPrefixParser.TokenInfo> tokenInfos = List.of(parseToken("&test_ingredient_1"), parseToken("@jeitestmod"), parseToken("&test_ingredient_199"));
+		BitSet intersection = searchResultCache.getIntersection(elementSearch, tokenInfos);
+		Assertions.assertEquals(Set.of(199), intersection.stream().boxed().collect(Collectors.toSet()));
+
+		searchResultCache.invalidate();
+		elementSearch.searchedTokens.clear();
+		searchResultCache.getIntersection(elementSearch, tokenInfos);
+		Assertions.assertEquals(List.of("test_ingredient_1", "jeitestmod", "test_ingredient_199"), elementSearch.searchedTokens);
+	}
+
+	private ElementPrefixParser.TokenInfo parseToken(String text) {
+		return elementPrefixParser.parseToken(text).orElseThrow();
+	}
+
+	private Set<Integer> getTokenResults(String text) {
+		BitSet results = searchResultCache.getTokenResults(elementSearch, parseToken(text));
+		return results.stream()
+			.boxed()
+			.collect(Collectors.toSet());
+	}
+
+	private static Set<Integer> toNumbers(Collection<IListElementInfo<?>> infos) {
+		return infos.stream()
+			.map(info -> ((TestListElementInfo) info).getNumber())
+			.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Records the tokens that are searched, and the candidates that were given for the last one.
+	 */
+	private static class RecordingElementSearch implements IElementSearch {
+		private final IElementSearch elementSearch;
+		private final List<String> searchedTokens = new ArrayList<>();
+		private @Nullable Set<Integer> lastCandidates;
+
+		public RecordingElementSearch(IElementSearch elementSearch) {
+			this.elementSearch = elementSearch;
+		}
+
+		@Override
+		public void add(IListElementInfo<?> info) {
+			elementSearch.add(info);
+		}
+
+		@Override
+		public void addAll(Collection<IListElementInfo<?>> infos) {
+			elementSearch.addAll(infos);
+		}
+
+		@Override
+		public Collection<IListElementInfo<?>> getAllIngredients() {
+			return elementSearch.getAllIngredients();
+		}
+
+		@Override
+		public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+			searchedTokens.add(tokenInfo.token());
+			return elementSearch.getSearchResults(tokenInfo);
+		}
+
+		@Override
+		public Set<IListElementInfo<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo, Set<IListElementInfo<?>> candidates) {
+			searchedTokens.add(tokenInfo.token());
+			lastCandidates = toNumbers(candidates);
+			return elementSearch.getSearchResults(tokenInfo, candidates);
+		}
+
+		@Override
+		public void logStatistics() {
+			elementSearch.logStatistics();
+		}
+	}
+}
@@ -23,6 +23,41 @@ public class TestClientConfig implements IClientConfig {
 		return lowMemorySlowSearchEnabled;
 	}
 
+	@Override
+	public boolean isAsyncSearchIndexingEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isParallelSearchIndexingEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isSearchIndexCacheEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isParallelRecipeRegistrationEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isConcurrentPluginRecipeRegistrationEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isLazyRecipeIndexingEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isAsyncRecipeLookupEnabled() {
+		return false;
+	}
+
 	@Override
 	public boolean isCatchRenderErrorsEnabled() {
 		return false;
@@ -53,6 +88,16 @@ public class TestClientConfig implements IClientConfig {
 		return GiveMode.INVENTORY;
 	}
 
+	@Override
+	public int getRecipePluginCallBudgetMillis() {
+		return 10;
+	}
+
+	@Override
+	public int getRecipePluginCallTimeoutMillis() {
+		return 0;
+	}
+
 	@Override
 	public int getMaxRecipeGuiHeight() {
 		return 500;
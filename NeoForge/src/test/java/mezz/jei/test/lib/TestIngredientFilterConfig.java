@@ -49,4 +49,9 @@ public class TestIngredientFilterConfig implements IIngredientFilterConfig {
 	public boolean getSearchShortModNames() {
 		return false;
 	}
+
+	@Override
+	public boolean getLazyTooltipIndexing() {
+		return false;
+	}
 }
@@ -0,0 +1,125 @@
+package mezz.jei.test.lib;
+
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.config.IIngredientFilterConfig;
+import mezz.jei.gui.ingredients.IListElement;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.ingredients.ListElement;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * An element of the ingredient list for a {@link TestIngredient}, with simple search strings
+ * that can be checked without rendering anything.
+ * Records the threads that its tooltip strings were read from.
+ */
+public class TestListElementInfo implements IListElementInfo<TestIngredient> {
+	public static final String MOD_NAME = "Jei Test Mod";
+
+	private final IListElement<TestIngredient> element;
+	private final Set<Thread> tooltipThreads = ConcurrentHashMap.newKeySet();
+	private int sortedIndex = Integer.MAX_VALUE;
+
+	/**
+	 * @return elements for the test ingredients numbered from {@code start}, in order.
+	 */
+	public static List<TestListElementInfo> create(IIngredientManager ingredientManager, int start, int count) {
+		List<TestListElementInfo> infos = new ArrayList<>(count);
+		for (int i = start; i < start + count; i++) {
+			ITypedIngredient<TestIngredient> typedIngredient = ingredientManager.createTypedIngredient(TestIngredient.TYPE, new TestIngredient(i))
+				.orElseThrow();
+			infos.add(new TestListElementInfo(new ListElement<>(typedIngredient, i)));
+		}
+		return infos;
+	}
+
+	public TestListElementInfo(IListElement<TestIngredient> element) {
+		this.element = element;
+	}
+
+	public int getNumber() {
+		return element.getTypedIngredient().getIngredient().getNumber();
+	}
+
+	public Set<Thread> getTooltipThreads() {
+		return tooltipThreads;
+	}
+
+	@Override
+	public String getName() {
+		return "test ingredient " + getNumber();
+	}
+
+	@Override
+	public String getModNameForSorting() {
+		return MOD_NAME;
+	}
+
+	@Override
+	public List<String> getModNames() {
+		return List.of(MOD_NAME);
+	}
+
+	@Override
+	public List<String> getModIds() {
+		return List.of("jei_test_mod");
+	}
+
+	@Override
+	public List<String> getTooltipStrings(IIngredientFilterConfig config, IIngredientManager ingredientManager) {
+		tooltipThreads.add(Thread.currentThread());
+		return List.of("tooltip " + getNumber());
+	}
+
+	@Override
+	public Collection<String> getTagStrings(IIngredientManager ingredientManager) {
+		return List.of();
+	}
+
+	@Override
+	public Stream<ResourceLocation> getTagIds(IIngredientManager ingredientManager) {
+		return Stream.empty();
+	}
+
+	@Override
+	public Iterable<Integer> getColors(IIngredientManager ingredientManager) {
+		return List.of();
+	}
+
+	@Override
+	public ResourceLocation getResourceLocation() {
+		return ResourceLocation.fromNamespaceAndPath("jei_test_mod", "test_ingredient_" + getNumber());
+	}
+
+	@Override
+	public IListElement<TestIngredient> getElement() {
+		return element;
+	}
+
+	@Override
+	public ITypedIngredient<TestIngredient> getTypedIngredient() {
+		return element.getTypedIngredient();
+	}
+
+	@Override
+	public void setSortedIndex(int sortIndex) {
+		this.sortedIndex = sortIndex;
+	}
+
+	@Override
+	public int getSortedIndex() {
+		return sortedIndex;
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+}
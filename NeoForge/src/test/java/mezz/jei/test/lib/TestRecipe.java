@@ -0,0 +1,11 @@
+package mezz.jei.test.lib;
+
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A recipe for {@link TestRecipeCategory}, with one input ingredient.
+ *
+ * @param registryName the registry name of the recipe, or null if it has none
+ */
+public record TestRecipe(@Nullable ResourceLocation registryName, TestIngredient input) {}
@@ -0,0 +1,67 @@
+package mezz.jei.test.lib;
+
+import mezz.jei.api.constants.ModIds;
+import mezz.jei.api.gui.builder.IRecipeLayoutBuilder;
+import mezz.jei.api.gui.drawable.IDrawable;
+import mezz.jei.api.recipe.IFocusGroup;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+public class TestRecipeCategory implements IRecipeCategory<TestRecipe> {
+	public static final RecipeType<TestRecipe> TYPE = RecipeType.create(ModIds.JEI_ID, "test", TestRecipe.class);
+
+	private static final IDrawable BACKGROUND = new IDrawable() {
+		@Override
+		public int getWidth() {
+			return 18;
+		}
+
+		@Override
+		public int getHeight() {
+			return 18;
+		}
+
+		@Override
+		public void draw(GuiGraphics guiGraphics, int xOffset, int yOffset) {
+
+		}
+	};
+
+	@Override
+	public RecipeType<TestRecipe> getRecipeType() {
+		return TYPE;
+	}
+
+	@Override
+	public Component getTitle() {
+		return Component.literal("Test");
+	}
+
+	@Override
+	public IDrawable getBackground() {
+		return BACKGROUND;
+	}
+
+	@Override
+	@Nullable
+	public IDrawable getIcon() {
+		return null;
+	}
+
+	@Override
+	public void setRecipe(IRecipeLayoutBuilder builder, TestRecipe recipe, IFocusGroup focuses) {
+		builder.addSlot(RecipeIngredientRole.INPUT, 0, 0)
+			.addIngredient(TestIngredient.TYPE, recipe.input());
+	}
+
+	@Override
+	@Nullable
+	public ResourceLocation getRegistryName(TestRecipe recipe) {
+		return recipe.registryName();
+	}
+}
@@ -7,6 +7,8 @@ plugins {
     id("net.neoforged.gradle.userdev") version("7.0.152") apply(false)
     // https://repo.spongepowered.org/service/rest/repository/browse/maven-public/org/spongepowered/gradle/vanilla/org.spongepowered.gradle.vanilla.gradle.plugin/
     id("org.spongepowered.gradle.vanilla") version("0.2.1-SNAPSHOT") apply(false)
+    // https://plugins.gradle.org/plugin/me.champeau.jmh
+    id("me.champeau.jmh") version("0.7.2") apply(false)
 }
 apply {
 	from("buildtools/ColoredOutput.gradle")